@@ -0,0 +1,110 @@
+package com.example.CodeAnalysis.CodeAnalysis.benchmark;
+
+import com.example.CodeAnalysis.CodeAnalysis.model.ClassInfo;
+import org.openjdk.jmh.annotations.*;
+
+import java.lang.management.ManagementFactory;
+import java.lang.ref.Reference;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Heap retained by the {@link ClassInfo} instances of a 60k-class model, with names
+ * held as per-instance string lists (the former layout, rebuilt here) versus arrays
+ * of names interned through the symbol table. Every name is a fresh string, as the
+ * parser produces them. Retained heap is the secondary "retainedMb" score; aux counters add up over
+ * iterations, hence the single measured one.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.SingleShotTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 1)
+@Measurement(iterations = 1)
+@Fork(value = 1, jvmArgsAppend = "-Xmx4g")
+public class ClassInfoMemoryBenchmark {
+
+    private static final String[] ANNOTATIONS = {"Service", "Autowired", "Transactional", "Component", "Entity",
+            "Table", "RestController", "RequestMapping", "Repository", "Slf4j", "Data"};
+    private static final String[] VERBS = {"get", "set", "find", "save", "update", "delete", "validate", "load"};
+    private static final String[] NOUNS = {"Account", "Customer", "Order", "Balance", "Address", "Status", "Id",
+            "Number", "Email", "Name", "Date", "Amount", "Type", "Code", "Version"};
+
+    @Param({"false", "true"})
+    private boolean interned;
+
+    @Param({"60000"})
+    private int classes;
+
+    @State(Scope.Thread)
+    @AuxCounters(AuxCounters.Type.EVENTS)
+    public static class RetainedCounters {
+        public double retainedMb;
+    }
+
+    @Benchmark
+    public int buildModel(RetainedCounters counters) {
+        long before = usedHeapAfterGc();
+
+        List<Object> model = new ArrayList<>(classes);
+        for (int i = 0; i < classes; i++) {
+            String className = NOUNS[i % NOUNS.length] + "Service" + i;
+            String packageName = fresh("com.synthetic.module" + (i % 200) + ".service");
+            String filePath = "/synthetic/src/main/java/com/synthetic/" + className + ".java";
+            ListClassInfo lists = interned ? null : new ListClassInfo(className, packageName, filePath);
+            ClassInfo classInfo = interned ? new ClassInfo(className, packageName, filePath, "Service") : null;
+
+            for (int a = 0; a < 3; a++) {
+                String annotation = fresh(ANNOTATIONS[(i + a) % ANNOTATIONS.length]);
+                if (interned) classInfo.addAnnotation(annotation); else lists.annotations.add(annotation);
+            }
+            for (int f = 0; f < 10; f++) {
+                String field = fresh(NOUNS[(i + f) % NOUNS.length].toLowerCase() + NOUNS[f % NOUNS.length]);
+                if (interned) classInfo.addField(field); else lists.fields.add(field);
+            }
+            for (int m = 0; m < 15; m++) {
+                String method = fresh(VERBS[(i + m) % VERBS.length] + NOUNS[(i * 7 + m) % NOUNS.length]);
+                if (interned) classInfo.addMethod(method); else lists.methods.add(method);
+            }
+            model.add(interned ? classInfo : lists);
+        }
+
+        counters.retainedMb = (usedHeapAfterGc() - before) / (1024.0 * 1024.0);
+        Reference.reachabilityFence(model);
+        return model.size();
+    }
+
+    private static String fresh(String value) {
+        return new String(value.toCharArray());
+    }
+
+    private static long usedHeapAfterGc() {
+        System.gc();
+        System.gc();
+        return ManagementFactory.getMemoryMXBean().getHeapMemoryUsage().getUsed();
+    }
+
+    /**
+     * The name-holding part of ClassInfo as it was before the symbol table.
+     */
+    private static class ListClassInfo {
+        final String className;
+        final String packageName;
+        final String filePath;
+        final String classType = "Service";
+        final List<String> methods = new ArrayList<>();
+        final List<String> fields = new ArrayList<>();
+        final List<String> annotations = new ArrayList<>();
+        final List<String> apiEndpoints = new ArrayList<>();
+        final List<String> impactPath = new ArrayList<>();
+        String impactReason;
+        int usageCount;
+        int impactDepth;
+
+        ListClassInfo(String className, String packageName, String filePath) {
+            this.className = className;
+            this.packageName = packageName;
+            this.filePath = filePath;
+        }
+    }
+}
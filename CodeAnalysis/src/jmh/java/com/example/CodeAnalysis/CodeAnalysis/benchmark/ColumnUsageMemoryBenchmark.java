@@ -0,0 +1,78 @@
+package com.example.CodeAnalysis.CodeAnalysis.benchmark;
+
+import com.example.CodeAnalysis.CodeAnalysis.model.ColumnUsage;
+import com.example.CodeAnalysis.CodeAnalysis.model.ColumnUsageStore;
+import org.openjdk.jmh.annotations.*;
+
+import java.lang.management.ManagementFactory;
+import java.lang.ref.Reference;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Heap retained by a million column usages, as a list of {@link ColumnUsage} objects
+ * versus the columnar {@link ColumnUsageStore}. Usages are built the way the analyzer
+ * builds them: class and file strings shared per file, contexts concatenated per
+ * usage. Retained heap is the secondary "retainedMb" score; aux counters add up over
+ * iterations, hence the single measured one.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.SingleShotTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 1)
+@Measurement(iterations = 1)
+@Fork(value = 1, jvmArgsAppend = "-Xmx4g")
+public class ColumnUsageMemoryBenchmark {
+
+    private static final String[] TYPES = {"FIELD", "QUERY", "PARAMETER", "METHOD", "METHOD_NAME", "STRING",
+            "COLUMN_ANNOTATION"};
+
+    @Param({"false", "true"})
+    private boolean columnar;
+
+    @Param({"1000000"})
+    private int usages;
+
+    @Param({"5000"})
+    private int files;
+
+    @State(Scope.Thread)
+    @AuxCounters(AuxCounters.Type.EVENTS)
+    public static class RetainedCounters {
+        public double retainedMb;
+    }
+
+    @Benchmark
+    public int buildUsages(RetainedCounters counters) {
+        long before = usedHeapAfterGc();
+
+        List<ColumnUsage> list = columnar ? new ColumnUsageStore() : new ArrayList<>();
+        String className = null;
+        String filePath = null;
+        int usagesPerFile = usages / files;
+        for (int i = 0; i < usages; i++) {
+            if (i % usagesPerFile == 0) {
+                int file = i / usagesPerFile;
+                className = "AccountService" + file;
+                filePath = "/synthetic/src/main/java/com/synthetic/service/" + className + ".java";
+            }
+            String type = TYPES[i % TYPES.length];
+            String methodName = "method" + (i % 40);
+            String context = type.equals("PARAMETER") ? "Method parameter: " + "accountNumber"
+                    : type.equals("FIELD") ? "Field declaration: " + "accountNumber"
+                    : "Method contains column reference";
+            list.add(new ColumnUsage(className, methodName, type, context, i % 900 + 1, filePath));
+        }
+
+        counters.retainedMb = (usedHeapAfterGc() - before) / (1024.0 * 1024.0);
+        Reference.reachabilityFence(list);
+        return list.size();
+    }
+
+    private static long usedHeapAfterGc() {
+        System.gc();
+        System.gc();
+        return ManagementFactory.getMemoryMXBean().getHeapMemoryUsage().getUsed();
+    }
+}
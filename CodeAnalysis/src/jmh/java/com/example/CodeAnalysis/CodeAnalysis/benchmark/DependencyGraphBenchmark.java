@@ -0,0 +1,64 @@
+package com.example.CodeAnalysis.CodeAnalysis.benchmark;
+
+import com.example.CodeAnalysis.CodeAnalysis.model.ClassInfo;
+import com.example.CodeAnalysis.CodeAnalysis.model.SourceFacts;
+import com.example.CodeAnalysis.CodeAnalysis.tracker.DependencyGraph;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Build and traversal time of the class dependency graph on layered synthetic
+ * facts (repositories, services, controllers, components), without parsing.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3)
+@Measurement(iterations = 5)
+@Fork(1)
+public class DependencyGraphBenchmark {
+    private static final String[] LAYERS = {"Repository", "Service", "Controller", "Component"};
+
+    @Param({"60000"})
+    private int classes;
+
+    @Param({"6"})
+    private int referencesPerClass;
+
+    private List<SourceFacts> sources;
+    private DependencyGraph graph;
+    private int[] startNodes;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        Random random = new Random(42L);
+        sources = new ArrayList<>(classes);
+        for (int i = 0; i < classes; i++) {
+            String layer = LAYERS[i % LAYERS.length];
+            SourceFacts facts = new SourceFacts("/synthetic/Class" + i + ".java",
+                    new ClassInfo(layer + i, "com.synthetic", "/synthetic/Class" + i + ".java", layer));
+            // Reference classes of the layer below, as a real Spring project would
+            for (int r = 0; r < referencesPerClass && i >= LAYERS.length; r++) {
+                int target = random.nextInt(i / LAYERS.length) * LAYERS.length + (i % LAYERS.length + 3) % LAYERS.length;
+                facts.getReferencedTypes().add(LAYERS[target % LAYERS.length] + target);
+            }
+            sources.add(facts);
+        }
+        graph = new DependencyGraph(sources);
+        startNodes = new int[]{0, 4, 8, 12};
+    }
+
+    @Benchmark
+    public DependencyGraph build() {
+        return new DependencyGraph(sources);
+    }
+
+    @Benchmark
+    public DependencyGraph.Traversal traverse() {
+        return graph.traverse(startNodes, node -> true);
+    }
+}
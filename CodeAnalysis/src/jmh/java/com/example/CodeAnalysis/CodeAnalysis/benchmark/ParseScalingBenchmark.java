@@ -0,0 +1,51 @@
+package com.example.CodeAnalysis.CodeAnalysis.benchmark;
+
+import com.example.CodeAnalysis.CodeAnalysis.model.AnalysisStats;
+import com.example.CodeAnalysis.CodeAnalysis.parser.JavaFileParser;
+import com.example.CodeAnalysis.CodeAnalysis.parser.ParsedSource;
+import org.openjdk.jmh.annotations.*;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Parse time of a whole project as the parser thread count grows; the
+ * per-thread scores form the scaling curve.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3)
+@Measurement(iterations = 5)
+@Fork(1)
+public class ParseScalingBenchmark {
+
+    @Param({"1", "2", "4", "8", "16", "32"})
+    private int threads;
+
+    @Param({"500"})
+    private int modules;
+
+    private Path projectRoot;
+    private JavaFileParser parser;
+
+    @Setup(Level.Trial)
+    public void setUp() throws IOException {
+        projectRoot = new SyntheticProjectGenerator(modules, 42L).generate();
+        parser = new JavaFileParser();
+        parser.setParallelism(threads);
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() throws IOException {
+        parser.shutdown();
+        SyntheticProjectGenerator.delete(projectRoot);
+    }
+
+    @Benchmark
+    public List<ParsedSource> parseProject() {
+        return parser.parseSources(projectRoot.toString(), new AnalysisStats());
+    }
+}
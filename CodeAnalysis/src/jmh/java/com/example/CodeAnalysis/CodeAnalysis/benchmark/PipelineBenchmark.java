@@ -0,0 +1,134 @@
+package com.example.CodeAnalysis.CodeAnalysis.benchmark;
+
+import com.example.CodeAnalysis.CodeAnalysis.metrics.AnalysisMetrics;
+import com.example.CodeAnalysis.CodeAnalysis.model.AnalysisStats;
+import com.example.CodeAnalysis.CodeAnalysis.model.ClassInfo;
+import com.example.CodeAnalysis.CodeAnalysis.model.ColumnUsage;
+import com.example.CodeAnalysis.CodeAnalysis.model.ImpactResult;
+import com.example.CodeAnalysis.CodeAnalysis.model.SourceFacts;
+import com.example.CodeAnalysis.CodeAnalysis.parser.JavaFileParser;
+import com.example.CodeAnalysis.CodeAnalysis.parser.ParsedSource;
+import com.example.CodeAnalysis.CodeAnalysis.parser.SpringBootAnalyzer;
+import com.example.CodeAnalysis.CodeAnalysis.project.ProjectModel;
+import com.example.CodeAnalysis.CodeAnalysis.report.ExcelReportGenerator;
+import com.example.CodeAnalysis.CodeAnalysis.tracker.ImpactTracker;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.openjdk.jmh.annotations.*;
+import org.slf4j.LoggerFactory;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Throughput of each pipeline stage on its own, over one synthetic project: parsing
+ * a file, matching a column in one file's facts, impact analysis of a resident model
+ * and writing its Excel report. Run with {@code -prof gc} for allocation rates, e.g.
+ * {@code -Djmh.args="PipelineBenchmark -prof gc -p columnDensity=0.1,0.5,1"}.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgsAppend = "-Xmx2g")
+public class PipelineBenchmark {
+
+    @Param({"500"})
+    private int modules;
+
+    @Param({"0.25"})
+    private double columnDensity;
+
+    private Path projectRoot;
+    private JavaFileParser parser;
+    private SpringBootAnalyzer analyzer;
+    private ImpactTracker tracker;
+    private ExcelReportGenerator reportGenerator;
+
+    private List<File> files;
+    private List<SourceFacts> facts;
+    private ProjectModel model;
+    private ImpactResult result;
+    private Path reportFile;
+    private int nextFile;
+
+    @Setup(Level.Trial)
+    public void setUp() throws IOException {
+        // Without a Spring Boot context logback logs everything, including per-run info lines
+        ((ch.qos.logback.classic.Logger) LoggerFactory.getLogger(org.slf4j.Logger.ROOT_LOGGER_NAME))
+                .setLevel(ch.qos.logback.classic.Level.WARN);
+
+        projectRoot = new SyntheticProjectGenerator(modules, 42L, columnDensity).generate();
+        parser = new JavaFileParser();
+        analyzer = new SpringBootAnalyzer();
+        tracker = new ImpactTracker();
+        ReflectionTestUtils.setField(tracker, "springBootAnalyzer", analyzer);
+        ReflectionTestUtils.setField(tracker, "analysisMetrics", new AnalysisMetrics(new SimpleMeterRegistry()));
+        reportGenerator = new ExcelReportGenerator();
+
+        files = new ArrayList<>();
+        facts = new ArrayList<>();
+        AnalysisStats stats = new AnalysisStats();
+        for (Path path : parser.findJavaFiles(projectRoot.toString())) {
+            files.add(path.toFile());
+            ParsedSource source = parser.parseSource(path, stats);
+            facts.add(analyzer.extractFacts(source));
+        }
+        model = new ProjectModel(projectRoot.toString(), facts, stats, 0);
+        result = tracker.analyzeColumnsImpact(model, List.of(SyntheticProjectGenerator.COLUMN))
+                .get(SyntheticProjectGenerator.COLUMN);
+        reportFile = Files.createTempFile("pipeline-benchmark", ".xlsx");
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() throws IOException {
+        parser.shutdown();
+        Files.deleteIfExists(reportFile);
+        SyntheticProjectGenerator.delete(projectRoot);
+    }
+
+    /**
+     * Files parsed per second, cycling through the project.
+     */
+    @Benchmark
+    public ClassInfo parseJavaFile() throws IOException {
+        return parser.parseJavaFile(files.get(nextFile()));
+    }
+
+    /**
+     * Files matched per second against already extracted facts.
+     */
+    @Benchmark
+    public List<ColumnUsage> findColumnUsages() {
+        return analyzer.findColumnUsages(facts.get(nextFile()), SyntheticProjectGenerator.COLUMN);
+    }
+
+    /**
+     * Whole-project column analyses per second: matching plus impact propagation.
+     */
+    @Benchmark
+    public ImpactResult analyzeColumnImpact() {
+        return tracker.analyzeColumnsImpact(model, List.of(SyntheticProjectGenerator.COLUMN))
+                .get(SyntheticProjectGenerator.COLUMN);
+    }
+
+    /**
+     * Reports written per second for the project's analysis result.
+     */
+    @Benchmark
+    public void generateReport() {
+        reportGenerator.generateReport(result, reportFile.toString());
+    }
+
+    private int nextFile() {
+        int file = nextFile;
+        nextFile = file + 1 == files.size() ? 0 : file + 1;
+        return file;
+    }
+}
@@ -0,0 +1,96 @@
+package com.example.CodeAnalysis.CodeAnalysis.benchmark;
+
+import com.example.CodeAnalysis.CodeAnalysis.model.ClassInfo;
+import com.example.CodeAnalysis.CodeAnalysis.model.ColumnUsage;
+import com.example.CodeAnalysis.CodeAnalysis.model.ImpactResult;
+import com.example.CodeAnalysis.CodeAnalysis.report.ExcelReportGenerator;
+import org.openjdk.jmh.annotations.*;
+
+import java.io.IOException;
+import java.lang.management.ManagementFactory;
+import java.lang.management.MemoryPoolMXBean;
+import java.lang.management.MemoryType;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Time and peak heap of writing one report with many usage rows, in-memory versus
+ * streaming. Peak heap is reported as the secondary "peakHeapMb" score; run with
+ * {@code -prof gc} for allocation rates as well.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.SingleShotTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 1)
+@Measurement(iterations = 3)
+@Fork(value = 1, jvmArgsAppend = "-Xmx4g")
+public class ReportWriterBenchmark {
+
+    @Param({"false", "true"})
+    private boolean streaming;
+
+    @Param({"200000"})
+    private int usages;
+
+    private ImpactResult result;
+    private ExcelReportGenerator generator;
+    private Path outputFile;
+
+    @Setup(Level.Trial)
+    public void setUp() throws IOException {
+        result = new ImpactResult("account_number");
+        result.setProjectPath("/synthetic");
+        for (int i = 0; i < usages; i++) {
+            String className = "AccountService" + (i % 2000);
+            if (i < 2000) {
+                ClassInfo classInfo = new ClassInfo(className, "com.synthetic.service",
+                        "/synthetic/src/main/java/com/synthetic/service/" + className + ".java", "Service");
+                classInfo.setImpactReason("Direct usage");
+                result.addService(classInfo);
+            }
+            result.addColumnUsage(new ColumnUsage(className, "method" + (i % 40), "METHOD",
+                    "Method contains column reference", i % 900 + 1,
+                    "/synthetic/src/main/java/com/synthetic/service/" + className + ".java"));
+        }
+
+        generator = new ExcelReportGenerator();
+        generator.setStreamingThreshold(streaming ? 0 : -1);
+        outputFile = Files.createTempFile("report-benchmark", ".xlsx");
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() throws IOException {
+        Files.deleteIfExists(outputFile);
+    }
+
+    @State(Scope.Thread)
+    @AuxCounters(AuxCounters.Type.EVENTS)
+    public static class HeapCounters {
+        public double peakHeapMb;
+
+        @Setup(Level.Iteration)
+        public void resetPeak() {
+            System.gc();
+            for (MemoryPoolMXBean pool : ManagementFactory.getMemoryPoolMXBeans()) {
+                pool.resetPeakUsage();
+            }
+        }
+
+        @TearDown(Level.Iteration)
+        public void recordPeak() {
+            long peak = 0;
+            for (MemoryPoolMXBean pool : ManagementFactory.getMemoryPoolMXBeans()) {
+                if (pool.getType() == MemoryType.HEAP) {
+                    peak += pool.getPeakUsage().getUsed();
+                }
+            }
+            peakHeapMb = peak / (1024.0 * 1024.0);
+        }
+    }
+
+    @Benchmark
+    public void writeReport(HeapCounters counters) {
+        generator.generateReport(result, outputFile.toString());
+    }
+}
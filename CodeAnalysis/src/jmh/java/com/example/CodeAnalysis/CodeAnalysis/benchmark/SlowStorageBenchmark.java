@@ -0,0 +1,65 @@
+package com.example.CodeAnalysis.CodeAnalysis.benchmark;
+
+import com.example.CodeAnalysis.CodeAnalysis.model.AnalysisStats;
+import com.example.CodeAnalysis.CodeAnalysis.parser.JavaFileParser;
+import com.example.CodeAnalysis.CodeAnalysis.parser.ParsedSource;
+import org.openjdk.jmh.annotations.*;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * Parse throughput of a project on slow storage (e.g. an NFS checkout), simulated by
+ * a fixed latency per file read. "serial" is the single-threaded inline path; the
+ * other modes parse on all processors with reads inline, on platform I/O threads or
+ * on virtual threads (platform threads below JDK 21).
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 2)
+@Measurement(iterations = 3)
+@Fork(1)
+public class SlowStorageBenchmark {
+
+    @Param({"serial", "inline", "platform", "virtual"})
+    private String mode;
+
+    @Param({"0", "2000"})
+    private int readLatencyMicros;
+
+    @Param({"125"})
+    private int modules;
+
+    private Path projectRoot;
+    private JavaFileParser parser;
+    private List<Path> files;
+
+    @Setup(Level.Trial)
+    public void setUp() throws IOException {
+        projectRoot = new SyntheticProjectGenerator(modules, 42L).generate();
+        parser = new JavaFileParser();
+        parser.setParallelism("serial".equals(mode) ? 1 : 0);
+        parser.setIoMode("serial".equals(mode) ? JavaFileParser.IoMode.INLINE
+                : JavaFileParser.IoMode.valueOf(mode.toUpperCase()));
+        files = parser.findJavaFiles(projectRoot.toString());
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() throws IOException {
+        parser.shutdown();
+        SyntheticProjectGenerator.delete(projectRoot);
+    }
+
+    @Benchmark
+    public List<ParsedSource> parseProject() {
+        AnalysisStats stats = new AnalysisStats();
+        return parser.processFiles(files, path -> {
+            LockSupport.parkNanos(TimeUnit.MICROSECONDS.toNanos(readLatencyMicros));
+            return parser.readSource(path, stats);
+        }, (path, bytes) -> parser.parseSource(path, bytes, stats), stats);
+    }
+}
@@ -0,0 +1,148 @@
+package com.example.CodeAnalysis.CodeAnalysis.benchmark;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Comparator;
+import java.util.Random;
+import java.util.stream.Stream;
+
+/**
+ * Writes a deterministic Spring Boot style source tree for benchmarks: one
+ * entity, repository, service and controller per module, wired together the
+ * way a real layered application would be. The column density is the share of
+ * modules whose entity, repository and service reference the benchmark column.
+ */
+public class SyntheticProjectGenerator {
+    public static final String COLUMN = "account_number";
+
+    public static final double DEFAULT_COLUMN_DENSITY = 0.25;
+
+    private final int modules;
+    private final long seed;
+    private final double columnDensity;
+
+    public SyntheticProjectGenerator(int modules, long seed) {
+        this(modules, seed, DEFAULT_COLUMN_DENSITY);
+    }
+
+    public SyntheticProjectGenerator(int modules, long seed, double columnDensity) {
+        if (columnDensity < 0 || columnDensity > 1) {
+            throw new IllegalArgumentException("Column density must be between 0 and 1: " + columnDensity);
+        }
+        this.modules = modules;
+        this.seed = seed;
+        this.columnDensity = columnDensity;
+    }
+
+    public Path generate() throws IOException {
+        Path root = Files.createTempDirectory("synthetic-project");
+        generate(root);
+        return root;
+    }
+
+    public void generate(Path root) throws IOException {
+        Random random = new Random(seed);
+        Path base = root.resolve("src/main/java/com/synthetic");
+
+        for (int i = 0; i < modules; i++) {
+            boolean usesColumn = random.nextDouble() < columnDensity;
+            write(base.resolve("entity/Entity" + i + ".java"), entity(i, usesColumn));
+            write(base.resolve("repository/Entity" + i + "Repository.java"), repository(i, usesColumn));
+            write(base.resolve("service/Entity" + i + "Service.java"), service(i, usesColumn));
+            write(base.resolve("controller/Entity" + i + "Controller.java"), controller(i));
+        }
+    }
+
+    public static void delete(Path root) throws IOException {
+        try (Stream<Path> paths = Files.walk(root)) {
+            paths.sorted(Comparator.reverseOrder()).forEach(path -> path.toFile().delete());
+        }
+    }
+
+    private String entity(int i, boolean usesColumn) {
+        StringBuilder sb = new StringBuilder();
+        sb.append("package com.synthetic.entity;\n\n")
+                .append("import jakarta.persistence.*;\n\n")
+                .append("@Entity\n@Table(name = \"entity_").append(i).append("\")\n")
+                .append("public class Entity").append(i).append(" {\n")
+                .append("    @Id\n    private Long id;\n\n")
+                .append("    @Column(name = \"name_").append(i).append("\")\n    private String name;\n\n");
+        if (usesColumn) {
+            sb.append("    @Column(name = \"").append(COLUMN).append("\")\n    private String accountNumber;\n\n")
+                    .append("    public String getAccountNumber() {\n        return accountNumber;\n    }\n\n");
+        }
+        sb.append("    public Long getId() {\n        return id;\n    }\n\n")
+                .append("    public String getName() {\n        return name;\n    }\n")
+                .append("}\n");
+        return sb.toString();
+    }
+
+    private String repository(int i, boolean usesColumn) {
+        StringBuilder sb = new StringBuilder();
+        sb.append("package com.synthetic.repository;\n\n")
+                .append("import com.synthetic.entity.Entity").append(i).append(";\n")
+                .append("import org.springframework.data.jpa.repository.JpaRepository;\n")
+                .append("import org.springframework.data.jpa.repository.Query;\n")
+                .append("import org.springframework.stereotype.Repository;\n\n")
+                .append("@Repository\n")
+                .append("public interface Entity").append(i).append("Repository extends JpaRepository<Entity")
+                .append(i).append(", Long> {\n")
+                .append("    Entity").append(i).append(" findByName(String name);\n");
+        if (usesColumn) {
+            sb.append("\n    Entity").append(i).append(" findByAccountNumber(String accountNumber);\n\n")
+                    .append("    @Query(value = \"select e from Entity").append(i)
+                    .append(" e where e.").append(COLUMN).append(" = ?1\")\n")
+                    .append("    Entity").append(i).append(" lookup(String number);\n");
+        }
+        sb.append("}\n");
+        return sb.toString();
+    }
+
+    private String service(int i, boolean usesColumn) {
+        StringBuilder sb = new StringBuilder();
+        sb.append("package com.synthetic.service;\n\n")
+                .append("import com.synthetic.repository.Entity").append(i).append("Repository;\n")
+                .append("import org.springframework.stereotype.Service;\n\n")
+                .append("@Service\n")
+                .append("public class Entity").append(i).append("Service {\n")
+                .append("    private final Entity").append(i).append("Repository repository;\n\n")
+                .append("    public Entity").append(i).append("Service(Entity").append(i)
+                .append("Repository repository) {\n")
+                .append("        this.repository = repository;\n")
+                .append("    }\n\n")
+                .append("    public Object find(Long id) {\n")
+                .append("        return repository.findById(id).orElse(null);\n")
+                .append("    }\n");
+        if (usesColumn) {
+            sb.append("\n    public Object findByAccount(String accountNumber) {\n")
+                    .append("        return repository.findByAccountNumber(accountNumber);\n")
+                    .append("    }\n");
+        }
+        sb.append("}\n");
+        return sb.toString();
+    }
+
+    private String controller(int i) {
+        return "package com.synthetic.controller;\n\n"
+                + "import com.synthetic.service.Entity" + i + "Service;\n"
+                + "import org.springframework.web.bind.annotation.*;\n\n"
+                + "@RestController\n"
+                + "@RequestMapping(\"/entity" + i + "\")\n"
+                + "public class Entity" + i + "Controller {\n"
+                + "    private final Entity" + i + "Service service;\n\n"
+                + "    public Entity" + i + "Controller(Entity" + i + "Service service) {\n"
+                + "        this.service = service;\n"
+                + "    }\n\n"
+                + "    @GetMapping(value = \"/{id}\")\n"
+                + "    public Object get(@PathVariable Long id) {\n"
+                + "        return service.find(id);\n"
+                + "    }\n"
+                + "}\n";
+    }
+
+    private void write(Path path, String content) throws IOException {
+        Files.createDirectories(path.getParent());
+        Files.writeString(path, content);
+    }
+}
@@ -7,6 +7,10 @@ import org.springframework.boot.SpringApplication;
 import org.springframework.boot.autoconfigure.SpringBootApplication;
 import org.springframework.context.annotation.Bean;
 
+import java.util.Arrays;
+import java.util.List;
+import java.util.stream.Collectors;
+
 @SpringBootApplication
 public class CodeAnalysisApplication {
 
@@ -32,7 +36,26 @@ public class CodeAnalysisApplication {
                 System.out.println("Column Name: " + columnName);
                 System.out.println("Output File: " + outputFile);
 
-                codeImpactAnalyzer.analyzeAndGenerateReport(projectPath, columnName, outputFile);
+                if (columnName.startsWith("regex:")) {
+                    // A regex may hold commas itself, so it is never split
+                    codeImpactAnalyzer.analyzePatternsAndGenerateReport(projectPath, List.of(columnName), outputFile);
+                } else if (columnName.contains("*") || columnName.contains("?") || columnName.startsWith("glob:")) {
+                    // Globs: every matching column in one pass into a combined report
+                    List<String> patterns = Arrays.stream(columnName.split(","))
+                            .map(String::trim)
+                            .filter(pattern -> !pattern.isEmpty())
+                            .collect(Collectors.toList());
+                    codeImpactAnalyzer.analyzePatternsAndGenerateReport(projectPath, patterns, outputFile);
+                } else if (columnName.contains(",")) {
+                    // Several columns: analyze them all in one pass into a combined report
+                    List<String> columnNames = Arrays.stream(columnName.split(","))
+                            .map(String::trim)
+                            .filter(name -> !name.isEmpty())
+                            .collect(Collectors.toList());
+                    codeImpactAnalyzer.analyzeColumnsAndGenerateReport(projectPath, columnNames, outputFile);
+                } else {
+                    codeImpactAnalyzer.analyzeAndGenerateReport(projectPath, columnName, outputFile);
+                }
             } else {
                 // Web mode
                 System.out.println("========================================");
@@ -41,10 +64,14 @@ public class CodeAnalysisApplication {
                 System.out.println("Web interface available at: http://localhost:8080");
                 System.out.println("");
                 System.out.println("Command line usage:");
-                System.out.println("java -jar app.jar <project-path> <column-name> [output-file]");
+                System.out.println("java -jar app.jar <project-path> <column-name>[,<column-name>...] [output-file]");
+                System.out.println("java -jar app.jar <project-path> <glob>[,<glob>...]|regex:<regex> [output-file]");
                 System.out.println("");
                 System.out.println("Example:");
                 System.out.println("java -jar app.jar /path/to/project user_email report.xlsx");
+                System.out.println("java -jar app.jar /path/to/project user_email,account_number migration.xlsx");
+                System.out.println("java -jar app.jar /path/to/project 'acct_*' accounts.xlsx");
+                System.out.println("java -jar app.jar /path/to/project 'regex:.*_number$' numbers.xlsx");
             }
         };
     }
@@ -0,0 +1,225 @@
+package com.example.CodeAnalysis.CodeAnalysis.cache;
+
+import com.example.CodeAnalysis.CodeAnalysis.model.SourceFacts;
+import com.fasterxml.jackson.databind.DeserializationFeature;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.ArrayList;
+import java.util.HexFormat;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.zip.GZIPInputStream;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * Persistent per-project cache of extracted {@link SourceFacts}, keyed by file path
+ * and validated by size, modification time and content hash. One gzipped JSON file
+ * per project is kept under the configured directory.
+ */
+@Slf4j
+@Component
+public class SourceFactsCache {
+    // Bump whenever SourceFacts or the extraction rules change so old caches are discarded
+    static final int FORMAT_VERSION = 6;
+
+    // Files modified this close to when they were hashed may change again within the same mtime tick
+    private static final long RACY_WINDOW_MS = 2000;
+
+    @Value("${code-analysis.cache.enabled:true}")
+    private boolean enabled;
+
+    @Value("${code-analysis.cache.directory:${user.home}/.code-analysis/cache}")
+    private String directory;
+
+    private final ObjectMapper objectMapper = new ObjectMapper()
+            .configure(DeserializationFeature.FAIL_ON_UNKNOWN_PROPERTIES, false);
+
+    private final Map<String, ProjectCache> projects = new ConcurrentHashMap<>();
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    public void setEnabled(boolean enabled) {
+        this.enabled = enabled;
+    }
+
+    public void setDirectory(String directory) {
+        this.directory = directory;
+        projects.clear();
+    }
+
+    /**
+     * Returns the cache for a project, loading it from disk on first use.
+     */
+    public ProjectCache open(String projectPath) {
+        String key = Paths.get(projectPath).toAbsolutePath().normalize().toString();
+        return projects.computeIfAbsent(key, this::load);
+    }
+
+    /**
+     * Drops entries for files that no longer exist and writes the cache back to
+     * disk if anything changed during the scan.
+     */
+    public void save(ProjectCache cache, Set<String> liveFiles) {
+        synchronized (cache) {
+            saveLocked(cache, liveFiles);
+        }
+    }
+
+    private void saveLocked(ProjectCache cache, Set<String> liveFiles) {
+        int evicted = cache.retainAll(liveFiles);
+        if (evicted > 0) {
+            log.info("Evicted {} stale cache entries for {}", evicted, cache.getProjectPath());
+        }
+        if (!cache.isDirty()) {
+            return;
+        }
+
+        Path cacheFile = cacheFileFor(cache.getProjectPath());
+        try {
+            Files.createDirectories(cacheFile.getParent());
+            Path tempFile = Files.createTempFile(cacheFile.getParent(), "cache", ".tmp");
+            try (OutputStream out = new GZIPOutputStream(Files.newOutputStream(tempFile))) {
+                objectMapper.writeValue(out, new CacheFile(FORMAT_VERSION, cache.getProjectPath(),
+                        new ArrayList<>(cache.entries.values())));
+            }
+            Files.move(tempFile, cacheFile, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+            cache.dirty = false;
+            log.info("Saved {} cache entries to {}", cache.size(), cacheFile);
+        } catch (IOException e) {
+            log.warn("Could not save analysis cache {}: {}", cacheFile, e.getMessage());
+        }
+    }
+
+    public static String hash(byte[] bytes) {
+        try {
+            return HexFormat.of().formatHex(MessageDigest.getInstance("SHA-256").digest(bytes));
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 not available", e);
+        }
+    }
+
+    private ProjectCache load(String projectPath) {
+        ProjectCache cache = new ProjectCache(projectPath);
+        Path cacheFile = cacheFileFor(projectPath);
+        if (!Files.exists(cacheFile)) {
+            return cache;
+        }
+
+        try (InputStream in = new GZIPInputStream(Files.newInputStream(cacheFile))) {
+            CacheFile file = objectMapper.readValue(in, CacheFile.class);
+            if (file.getVersion() != FORMAT_VERSION || !projectPath.equals(file.getProjectPath())) {
+                log.info("Discarding analysis cache {} (format or project mismatch)", cacheFile);
+                cache.dirty = true;
+                return cache;
+            }
+            for (CacheEntry entry : file.getEntries()) {
+                cache.entries.put(entry.getPath(), entry);
+            }
+            log.info("Loaded {} cache entries from {}", cache.size(), cacheFile);
+        } catch (IOException e) {
+            log.warn("Ignoring unreadable analysis cache {}: {}", cacheFile, e.getMessage());
+            cache.dirty = true;
+        }
+        return cache;
+    }
+
+    private Path cacheFileFor(String projectPath) {
+        String name = hash(projectPath.getBytes(StandardCharsets.UTF_8)).substring(0, 16) + ".json.gz";
+        return Paths.get(directory).resolve(name);
+    }
+
+    /**
+     * The cached facts of one project. Thread-safe so parallel parsing workers can
+     * look up and store entries concurrently.
+     */
+    public static class ProjectCache {
+        private final String projectPath;
+        private final Map<String, CacheEntry> entries = new ConcurrentHashMap<>();
+        private volatile boolean dirty;
+
+        ProjectCache(String projectPath) {
+            this.projectPath = projectPath;
+        }
+
+        public String getProjectPath() {
+            return projectPath;
+        }
+
+        public CacheEntry get(String filePath) {
+            return entries.get(filePath);
+        }
+
+        public void put(CacheEntry entry) {
+            entries.put(entry.getPath(), entry);
+            dirty = true;
+        }
+
+        /**
+         * True when the file's size and mtime still match and the mtime is old enough
+         * that a same-tick modification after hashing could not have gone unnoticed.
+         */
+        public boolean isUnchanged(CacheEntry entry, long size, long lastModified) {
+            return entry.getSize() == size && entry.getLastModified() == lastModified
+                    && entry.getLastModified() < entry.getVerifiedAt() - RACY_WINDOW_MS;
+        }
+
+        public int size() {
+            return entries.size();
+        }
+
+        boolean isDirty() {
+            return dirty;
+        }
+
+        int retainAll(Set<String> liveFiles) {
+            int before = entries.size();
+            entries.keySet().retainAll(liveFiles);
+            int evicted = before - entries.size();
+            if (evicted > 0) {
+                dirty = true;
+            }
+            return evicted;
+        }
+    }
+
+    @Data
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class CacheEntry {
+        private String path;
+        private long size;
+        private long lastModified;
+        private long verifiedAt;
+        private String hash;
+        private SourceFacts facts; // null for files without a class declaration
+    }
+
+    @Data
+    @NoArgsConstructor
+    @AllArgsConstructor
+    static class CacheFile {
+        private int version;
+        private String projectPath;
+        private List<CacheEntry> entries = new ArrayList<>();
+    }
+}
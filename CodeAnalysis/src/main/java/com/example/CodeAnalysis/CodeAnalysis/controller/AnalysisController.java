@@ -1,19 +1,32 @@
 package com.example.CodeAnalysis.CodeAnalysis.controller;
 
+import com.example.CodeAnalysis.CodeAnalysis.index.IdentifierIndex;
+import com.example.CodeAnalysis.CodeAnalysis.model.AnalysisJob;
 import com.example.CodeAnalysis.CodeAnalysis.model.ImpactResult;
+import com.example.CodeAnalysis.CodeAnalysis.model.ProjectSummary;
+import com.example.CodeAnalysis.CodeAnalysis.project.ProjectModelRegistry;
+import com.example.CodeAnalysis.CodeAnalysis.project.ProjectWatcher;
+import com.example.CodeAnalysis.CodeAnalysis.report.NdjsonResultWriter;
+import com.example.CodeAnalysis.CodeAnalysis.service.AnalysisJobService;
 import com.example.CodeAnalysis.CodeAnalysis.service.CodeImpactAnalyzer;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.core.io.FileSystemResource;
 import org.springframework.core.io.Resource;
 import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
 import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.stereotype.Controller;
 import org.springframework.ui.Model;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
 import java.io.File;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.Map;
 
 @Slf4j
 @Controller
@@ -23,6 +36,21 @@ public class AnalysisController {
     @Autowired
     private CodeImpactAnalyzer codeImpactAnalyzer;
 
+    @Autowired
+    private ProjectModelRegistry projectModelRegistry;
+
+    @Autowired
+    private ProjectWatcher projectWatcher;
+
+    @Autowired
+    private AnalysisJobService analysisJobService;
+
+    @Autowired
+    private NdjsonResultWriter ndjsonResultWriter;
+
+    @Autowired
+    private IdentifierIndex identifierIndex;
+
     @GetMapping
     public String home() {
         return "index";
@@ -70,6 +98,273 @@ public class AnalysisController {
         }
     }
 
+    @PostMapping("/analyze-stream")
+    @ResponseBody
+    public ResponseEntity<StreamingResponseBody> analyzeStream(@RequestParam String projectPath,
+                                           @RequestParam String columnName,
+                                           @RequestParam(required = false) Boolean gzip,
+                                           @RequestHeader(value = HttpHeaders.ACCEPT_ENCODING, required = false)
+                                           String acceptEncoding) {
+        try {
+            codeImpactAnalyzer.validateStream(projectPath, columnName);
+
+            // Explicit gzip parameter wins over what the client advertises
+            boolean compress = gzip != null ? gzip : acceptEncoding != null && acceptEncoding.contains("gzip");
+            // The analysis runs while the body is written, so lines leave as they are found
+            StreamingResponseBody body = out -> {
+                try (NdjsonResultWriter.ResultStream stream =
+                             ndjsonResultWriter.open(out, compress, projectPath, columnName)) {
+                    try {
+                        stream.finish(codeImpactAnalyzer.streamOnly(projectPath, columnName, stream));
+                    } catch (RuntimeException e) {
+                        log.error("Streamed analysis failed", e);
+                        stream.fail("Analysis failed: " + e.getMessage());
+                    }
+                }
+            };
+
+            ResponseEntity.BodyBuilder response = ResponseEntity.ok()
+                    .contentType(MediaType.parseMediaType(NdjsonResultWriter.CONTENT_TYPE));
+            if (compress) {
+                response.header(HttpHeaders.CONTENT_ENCODING, "gzip");
+            }
+            return response.body(body);
+
+        } catch (Exception e) {
+            log.error("Analysis failed", e);
+            String message = "Analysis failed: " + e.getMessage();
+            return ResponseEntity.badRequest()
+                    .contentType(MediaType.TEXT_PLAIN)
+                    .body(out -> out.write(message.getBytes(StandardCharsets.UTF_8)));
+        }
+    }
+
+    @PostMapping("/analyze-batch")
+    @ResponseBody
+    public ResponseEntity<?> analyzeBatch(@RequestParam String projectPath,
+                                          @RequestParam List<String> columnNames,
+                                          @RequestParam(required = false) String outputFile) {
+        try {
+            // Generate default output file name if not provided
+            if (outputFile == null || outputFile.trim().isEmpty()) {
+                outputFile = codeImpactAnalyzer.generateDefaultOutputFileName("batch-" + columnNames.size() + "-columns");
+            }
+
+            // Ensure output file is in a temporary directory
+            String tempDir = System.getProperty("java.io.tmpdir");
+            if (!outputFile.contains(File.separator)) {
+                outputFile = tempDir + File.separator + outputFile;
+            }
+
+            // Perform analysis of all columns in one pass
+            Map<String, ImpactResult> results =
+                    codeImpactAnalyzer.analyzeColumnsAndGenerateReport(projectPath, columnNames, outputFile);
+
+            return ResponseEntity.ok().body(results);
+
+        } catch (Exception e) {
+            log.error("Batch analysis failed", e);
+            return ResponseEntity.badRequest().body("Analysis failed: " + e.getMessage());
+        }
+    }
+
+    @PostMapping("/analyze-pattern")
+    @ResponseBody
+    public ResponseEntity<?> analyzePattern(@RequestParam String projectPath,
+                                            @RequestParam List<String> columnPatterns,
+                                            @RequestParam(required = false) String outputFile) {
+        try {
+            // Generate default output file name if not provided
+            if (outputFile == null || outputFile.trim().isEmpty()) {
+                outputFile = codeImpactAnalyzer.generateDefaultOutputFileName("pattern-columns");
+            }
+
+            // Ensure output file is in a temporary directory
+            String tempDir = System.getProperty("java.io.tmpdir");
+            if (!outputFile.contains(File.separator)) {
+                outputFile = tempDir + File.separator + outputFile;
+            }
+
+            // Expand the patterns, then analyze every matching column in one pass
+            Map<String, ImpactResult> results =
+                    codeImpactAnalyzer.analyzePatternsAndGenerateReport(projectPath, columnPatterns, outputFile);
+
+            return ResponseEntity.ok().body(results);
+
+        } catch (Exception e) {
+            log.error("Pattern analysis failed", e);
+            return ResponseEntity.badRequest().body("Analysis failed: " + e.getMessage());
+        }
+    }
+
+    @GetMapping("/columns")
+    @ResponseBody
+    public ResponseEntity<?> expandColumns(@RequestParam String projectPath,
+                                           @RequestParam List<String> columnPatterns) {
+        try {
+            return ResponseEntity.ok().body(codeImpactAnalyzer.expandColumnPatterns(projectPath, columnPatterns));
+
+        } catch (Exception e) {
+            log.error("Expanding column patterns failed", e);
+            return ResponseEntity.badRequest().body("Expanding column patterns failed: " + e.getMessage());
+        }
+    }
+
+    @PostMapping("/jobs")
+    @ResponseBody
+    public ResponseEntity<?> submitJob(@RequestParam String projectPath,
+                                       @RequestParam List<String> columnNames,
+                                       @RequestParam(required = false) String outputFile) {
+        try {
+            // Runs in the background; poll /jobs/{id} or stream /jobs/{id}/events for progress
+            AnalysisJob job = analysisJobService.submit(projectPath, columnNames, outputFile);
+            return ResponseEntity.accepted().body(job);
+
+        } catch (IllegalStateException e) {
+            return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE).body("Submitting job failed: " + e.getMessage());
+        } catch (Exception e) {
+            log.error("Submitting job failed", e);
+            return ResponseEntity.badRequest().body("Submitting job failed: " + e.getMessage());
+        }
+    }
+
+    @GetMapping("/jobs")
+    @ResponseBody
+    public ResponseEntity<?> listJobs() {
+        return ResponseEntity.ok().body(analysisJobService.list());
+    }
+
+    @GetMapping("/jobs/{id}")
+    @ResponseBody
+    public ResponseEntity<?> getJob(@PathVariable String id) {
+        return analysisJobService.find(id)
+                .<ResponseEntity<?>>map(job -> ResponseEntity.ok().body(job))
+                .orElse(ResponseEntity.notFound().build());
+    }
+
+    @GetMapping(value = "/jobs/{id}/events", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public ResponseEntity<?> streamJobEvents(@PathVariable String id) {
+        // Phases, progress and impacted classes as they are found, then "done"
+        SseEmitter emitter = new SseEmitter(0L);
+        if (!analysisJobService.subscribe(id, emitter)) {
+            return ResponseEntity.notFound().build();
+        }
+        return ResponseEntity.ok().body(emitter);
+    }
+
+    @GetMapping("/jobs/{id}/result")
+    @ResponseBody
+    public ResponseEntity<?> getJobResult(@PathVariable String id) {
+        AnalysisJob job = analysisJobService.find(id).orElse(null);
+        if (job == null) {
+            return ResponseEntity.notFound().build();
+        }
+        if (job.getStatus() != AnalysisJob.Status.COMPLETED) {
+            return ResponseEntity.status(HttpStatus.CONFLICT).body(job);
+        }
+        return ResponseEntity.ok().body(job.getResults());
+    }
+
+    @GetMapping("/jobs/{id}/report")
+    public ResponseEntity<?> downloadJobReport(@PathVariable String id) {
+        AnalysisJob job = analysisJobService.find(id).orElse(null);
+        if (job == null) {
+            return ResponseEntity.notFound().build();
+        }
+        if (job.getStatus() != AnalysisJob.Status.COMPLETED) {
+            return ResponseEntity.status(HttpStatus.CONFLICT).body(job);
+        }
+        File file = new File(job.getOutputFile());
+        if (!file.exists()) {
+            return ResponseEntity.notFound().build();
+        }
+        return ResponseEntity.ok()
+                .header(HttpHeaders.CONTENT_DISPOSITION, "attachment; filename=\"" + file.getName() + "\"")
+                .contentType(MediaType.APPLICATION_OCTET_STREAM)
+                .body(new FileSystemResource(file));
+    }
+
+    @PostMapping("/projects/load")
+    @ResponseBody
+    public ResponseEntity<?> loadProject(@RequestParam String projectPath,
+                                         @RequestParam(required = false) Boolean watch) {
+        try {
+            // Later /analyze requests for this project are answered from memory
+            ProjectSummary summary = projectModelRegistry.load(projectPath);
+
+            // Optionally keep the model current as files change
+            if (watch != null ? watch : projectWatcher.isEnabled()) {
+                projectWatcher.watch(projectPath);
+            }
+            return ResponseEntity.ok().body(summary);
+
+        } catch (Exception e) {
+            log.error("Loading project failed", e);
+            return ResponseEntity.badRequest().body("Loading project failed: " + e.getMessage());
+        }
+    }
+
+    @PostMapping("/projects/refresh")
+    @ResponseBody
+    public ResponseEntity<?> refreshProject(@RequestParam String projectPath) {
+        try {
+            return ResponseEntity.ok().body(projectModelRegistry.refresh(projectPath));
+
+        } catch (Exception e) {
+            log.error("Refreshing project failed", e);
+            return ResponseEntity.badRequest().body("Refreshing project failed: " + e.getMessage());
+        }
+    }
+
+    @PostMapping("/projects/unload")
+    @ResponseBody
+    public ResponseEntity<?> unloadProject(@RequestParam String projectPath) {
+        projectWatcher.unwatch(projectPath);
+        if (!projectModelRegistry.unload(projectPath)) {
+            return ResponseEntity.notFound().build();
+        }
+        return ResponseEntity.ok().body(Map.of("unloaded", projectPath));
+    }
+
+    @GetMapping("/projects")
+    @ResponseBody
+    public ResponseEntity<?> listProjects() {
+        Runtime runtime = Runtime.getRuntime();
+        return ResponseEntity.ok().body(Map.of(
+                "projects", projectModelRegistry.list(),
+                "totalEstimatedBytes", projectModelRegistry.getTotalEstimatedBytes(),
+                "heapUsedBytes", runtime.totalMemory() - runtime.freeMemory(),
+                "heapMaxBytes", runtime.maxMemory()));
+    }
+
+    @PostMapping("/index/update")
+    @ResponseBody
+    public ResponseEntity<?> updateIndex(@RequestParam String projectPath) {
+        try {
+            return ResponseEntity.ok().body(identifierIndex.update(projectPath));
+
+        } catch (Exception e) {
+            log.error("Updating index failed", e);
+            return ResponseEntity.badRequest().body("Updating index failed: " + e.getMessage());
+        }
+    }
+
+    @GetMapping("/index/search")
+    @ResponseBody
+    public ResponseEntity<?> searchIndex(@RequestParam String projectPath,
+                                         @RequestParam String name,
+                                         @RequestParam(required = false) Boolean exact) {
+        try {
+            // Only files changed since the last update are read
+            identifierIndex.update(projectPath);
+            return ResponseEntity.ok().body(identifierIndex.search(projectPath, name, exact != null && exact));
+
+        } catch (Exception e) {
+            log.error("Index search failed", e);
+            return ResponseEntity.badRequest().body("Index search failed: " + e.getMessage());
+        }
+    }
+
     @GetMapping("/download/{fileName}")
     public ResponseEntity<Resource> downloadReport(@PathVariable String fileName) {
         try {
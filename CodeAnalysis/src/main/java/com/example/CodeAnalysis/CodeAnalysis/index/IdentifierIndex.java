@@ -0,0 +1,523 @@
+package com.example.CodeAnalysis.CodeAnalysis.index;
+
+import com.example.CodeAnalysis.CodeAnalysis.cache.SourceFactsCache;
+import com.example.CodeAnalysis.CodeAnalysis.matcher.AhoCorasick;
+import com.example.CodeAnalysis.CodeAnalysis.model.AnalysisStats;
+import com.example.CodeAnalysis.CodeAnalysis.model.IndexHit;
+import com.example.CodeAnalysis.CodeAnalysis.model.IndexSummary;
+import com.example.CodeAnalysis.CodeAnalysis.parser.JavaFileParser;
+import com.fasterxml.jackson.databind.DeserializationFeature;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.annotation.PreDestroy;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.attribute.BasicFileAttributes;
+import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.function.IntConsumer;
+import java.util.stream.Collectors;
+
+/**
+ * Persistent inverted index of the identifier and string-literal tokens of a
+ * project's Java files, one directory per project under the configured directory.
+ * Each update writes only the files whose size or mtime changed, plus deletions, as
+ * a new immutable segment; once there are more than {@code max-segments} of them a
+ * background thread merges them into one. Segments are memory-mapped at query time
+ * and listed by a manifest that is replaced atomically, so the index carries over
+ * between command line runs and server restarts.
+ *
+ * Terms are normalized (see {@link IdentifierTokenizer}), so a name in any case or
+ * underscore variant is one dictionary lookup, and a name within longer identifiers
+ * such as findByAccountNumber is one scan of the dictionary, never of the sources.
+ */
+@Slf4j
+@Component
+public class IdentifierIndex {
+    // Bump whenever the manifest, the segment layout or the tokenization changes
+    static final int FORMAT_VERSION = 1;
+
+    // Files modified this close to when they were read may change again within the same mtime tick
+    private static final long RACY_WINDOW_MS = 2000;
+
+    private static final String MANIFEST = "manifest.json";
+
+    @Value("${code-analysis.index.enabled:false}")
+    private boolean enabled;
+
+    @Value("${code-analysis.index.directory:${user.home}/.code-analysis/index}")
+    private String directory;
+
+    @Value("${code-analysis.index.max-segments:8}")
+    private int maxSegments = 8;
+
+    @Autowired
+    private JavaFileParser javaFileParser;
+
+    private final ObjectMapper objectMapper = new ObjectMapper()
+            .configure(DeserializationFeature.FAIL_ON_UNKNOWN_PROPERTIES, false);
+
+    private final Map<String, ProjectIndex> projects = new ConcurrentHashMap<>();
+
+    private final ExecutorService merger = Executors.newSingleThreadExecutor(runnable -> {
+        Thread thread = new Thread(runnable, "code-analysis-index-merge");
+        thread.setDaemon(true);
+        return thread;
+    });
+
+    /**
+     * Whether analyses use the index to pick the files worth parsing.
+     */
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    /**
+     * Brings a project's index up to date with the files a scan would walk. However
+     * the project path is spelled, a project has one index, which holds absolute,
+     * normalized file paths.
+     */
+    public IndexSummary update(String projectPath) {
+        ProjectIndex index = project(projectPath);
+        int changed = index.update(javaFileParser.findJavaFiles(index.projectPath), true);
+        return index.summarize(changed);
+    }
+
+    /**
+     * Applies paths a watcher saw change to an index that is already open. A deleted
+     * directory drops every file below it. Failures only leave the index behind until
+     * its next update.
+     */
+    public void applyChanges(String projectPath, Collection<Path> changedPaths) {
+        ProjectIndex index = projects.get(key(projectPath));
+        if (index == null) {
+            return;
+        }
+        try {
+            index.update(changedPaths.stream().map(path -> path.toAbsolutePath().normalize())
+                    .collect(Collectors.toList()), false);
+        } catch (RuntimeException e) {
+            log.warn("Could not update identifier index of {}: {}", projectPath, e.getMessage());
+        }
+    }
+
+    /**
+     * The indexed files holding a token that contains any of the names, ignoring case
+     * and underscores; a superset of the files whose text contains one of them. Null
+     * when the index cannot tell: it has not been built in this process, or a name
+     * holds characters that never occur within a token, or non-ASCII ones whose case
+     * folding the index does not mirror. Paths are spelled as a walk of the given
+     * project path would spell them.
+     */
+    public Set<String> filesContaining(String projectPath, Collection<String> names) {
+        ProjectIndex index = projects.get(key(projectPath));
+        List<String> terms = new ArrayList<>(names.size());
+        for (String name : names) {
+            String term = IdentifierTokenizer.normalize(name);
+            if (index == null || term == null || !StandardCharsets.US_ASCII.newEncoder().canEncode(name)) {
+                return null;
+            }
+            terms.add(term);
+        }
+        if (terms.isEmpty()) {
+            return new HashSet<>();
+        }
+
+        AhoCorasick matcher = AhoCorasick.build(terms, new int[terms.size()], false);
+        IndexState state = index.state;
+        Path indexRoot = Paths.get(index.projectPath);
+        Path root = Paths.get(projectPath);
+        Set<String> files = new HashSet<>();
+        for (int segment = 0; segment < state.segments.size(); segment++) {
+            IndexSegment indexSegment = state.segments.get(segment);
+            BitSet found = new BitSet(indexSegment.fileCount());
+            indexSegment.findTermsContaining(matcher,
+                    term -> indexSegment.postings(term, (fileId, position) -> found.set(fileId)));
+            found.and(state.live.get(segment));
+            found.stream().forEach(fileId ->
+                    files.add(root.resolve(indexRoot.relativize(Paths.get(indexSegment.path(fileId)))).toString()));
+        }
+        return files;
+    }
+
+    /**
+     * Every occurrence of a name in the project's current index, in file and line
+     * order. An exact search finds tokens that are the name in any case or underscore
+     * variant; otherwise tokens containing it count too, e.g. getAccountNumber for
+     * account_number.
+     */
+    public List<IndexHit> search(String projectPath, String name, boolean exact) {
+        String term = IdentifierTokenizer.normalize(name);
+        if (term == null) {
+            throw new IllegalArgumentException("Not an identifier: " + name);
+        }
+        AhoCorasick matcher = exact ? null : AhoCorasick.build(List.of(term), new int[1], false);
+        IndexState state = project(projectPath).state;
+        List<IndexHit> hits = new ArrayList<>();
+        for (int segment = 0; segment < state.segments.size(); segment++) {
+            IndexSegment indexSegment = state.segments.get(segment);
+            BitSet live = state.live.get(segment);
+            IntConsumer collect = found -> {
+                String token = indexSegment.term(found);
+                indexSegment.postings(found, (fileId, position) -> {
+                    if (live.get(fileId)) {
+                        hits.add(new IndexHit(indexSegment.path(fileId), TokenKind.line(position),
+                                TokenKind.kind(position).name(), token));
+                    }
+                });
+            };
+            if (exact) {
+                int found = indexSegment.findTerm(term);
+                if (found >= 0) {
+                    collect.accept(found);
+                }
+            } else {
+                indexSegment.findTermsContaining(matcher, collect);
+            }
+        }
+        hits.sort(Comparator.comparing((IndexHit hit) -> Paths.get(hit.getFilePath()))
+                .thenComparingInt(IndexHit::getLineNumber)
+                .thenComparing(IndexHit::getKind));
+        return hits;
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        merger.shutdownNow();
+    }
+
+    private ProjectIndex project(String projectPath) {
+        return projects.computeIfAbsent(key(projectPath), ProjectIndex::new);
+    }
+
+    private static String key(String projectPath) {
+        return Paths.get(projectPath).toAbsolutePath().normalize().toString();
+    }
+
+    /**
+     * Tokens of one file, read for a new segment.
+     */
+    private static class IndexedSource {
+        private String path;
+        private long size;
+        private long lastModified;
+        private long indexedAt;
+        private final Map<String, IntList> positions = new HashMap<>();
+    }
+
+    private static IndexedSource tokenize(Path path) throws IOException {
+        IndexedSource source = new IndexedSource();
+        source.path = path.toString();
+        source.indexedAt = System.currentTimeMillis();
+        BasicFileAttributes attributes = Files.readAttributes(path, BasicFileAttributes.class);
+        source.size = attributes.size();
+        source.lastModified = attributes.lastModifiedTime().toMillis();
+        IdentifierTokenizer.tokenize(Files.readAllBytes(path), (term, line, kind) -> {
+            IntList positions = source.positions.computeIfAbsent(term, key -> new IntList());
+            int position = TokenKind.encode(line, kind);
+            // One posting per term, line and kind
+            if (positions.size() == 0 || positions.get(positions.size() - 1) != position) {
+                positions.add(position);
+            }
+        });
+        return source;
+    }
+
+    /**
+     * What the current segments hold: per segment the files not superseded by a newer
+     * segment, and the indexed state of every live file.
+     */
+    private static class IndexState {
+        private final List<IndexSegment> segments;
+        private final List<BitSet> live = new ArrayList<>();
+        private final Map<String, IndexedFile> files = new HashMap<>();
+
+        IndexState(List<IndexSegment> segments) {
+            this.segments = List.copyOf(segments);
+            Set<String> seen = new HashSet<>();
+            BitSet[] liveFiles = new BitSet[segments.size()];
+            for (int segment = segments.size() - 1; segment >= 0; segment--) {
+                IndexSegment indexSegment = segments.get(segment);
+                liveFiles[segment] = new BitSet(indexSegment.fileCount());
+                for (int fileId = 0; fileId < indexSegment.fileCount(); fileId++) {
+                    String path = indexSegment.path(fileId);
+                    if (seen.add(path) && !indexSegment.isDeleted(fileId)) {
+                        liveFiles[segment].set(fileId);
+                        files.put(path, new IndexedFile(indexSegment.size(fileId), indexSegment.lastModified(fileId),
+                                indexSegment.indexedAt(fileId)));
+                    }
+                }
+            }
+            live.addAll(List.of(liveFiles));
+        }
+
+        long sizeBytes() {
+            return segments.stream().mapToLong(IndexSegment::sizeBytes).sum();
+        }
+    }
+
+    @AllArgsConstructor
+    private static class IndexedFile {
+        private final long size;
+        private final long lastModified;
+        private final long indexedAt;
+
+        boolean isUnchanged(BasicFileAttributes attributes) {
+            long mtime = attributes.lastModifiedTime().toMillis();
+            return size == attributes.size() && lastModified == mtime && mtime < indexedAt - RACY_WINDOW_MS;
+        }
+    }
+
+    @Data
+    @NoArgsConstructor
+    @AllArgsConstructor
+    private static class Manifest {
+        private int version;
+        private String projectPath;
+        private long nextGeneration;
+        private List<String> segments;
+    }
+
+    /**
+     * The index of one project. Updates and merge commits are serialized on the
+     * instance; queries read whichever state was current when they started.
+     */
+    private class ProjectIndex {
+        private final String projectPath;
+        private final Path indexDirectory;
+        private volatile IndexState state;
+        private long nextGeneration;
+        private boolean mergeQueued;
+
+        ProjectIndex(String projectPath) {
+            this.projectPath = projectPath; // Absolute and normalized
+            String name = SourceFactsCache.hash(projectPath.getBytes(StandardCharsets.UTF_8)).substring(0, 16);
+            this.indexDirectory = Paths.get(directory, name);
+            this.state = load();
+        }
+
+        synchronized int update(List<Path> paths, boolean complete) {
+            IndexState current = state;
+            List<Path> changed = new ArrayList<>();
+            Set<String> deleted = new HashSet<>();
+            Set<String> seen = new HashSet<>();
+            for (Path path : paths) {
+                String key = path.toString();
+                seen.add(key);
+                IndexedFile indexed = current.files.get(key);
+                try {
+                    BasicFileAttributes attributes = Files.readAttributes(path, BasicFileAttributes.class);
+                    if (attributes.isRegularFile() && key.endsWith(".java")
+                            && (indexed == null || !indexed.isUnchanged(attributes))) {
+                        changed.add(path);
+                    }
+                } catch (IOException e) {
+                    // Gone: the file, or a directory with every indexed file below it
+                    String prefix = key + File.separator;
+                    current.files.keySet().stream()
+                            .filter(file -> file.equals(key) || file.startsWith(prefix))
+                            .forEach(deleted::add);
+                }
+            }
+            if (complete) {
+                current.files.keySet().stream().filter(file -> !seen.contains(file)).forEach(deleted::add);
+            }
+            if (changed.isEmpty() && deleted.isEmpty()) {
+                return 0;
+            }
+
+            long startTime = System.currentTimeMillis();
+            List<IndexedSource> sources = javaFileParser.processFiles(changed, IdentifierIndex::tokenize,
+                    new AnalysisStats());
+            SegmentWriter writer = new SegmentWriter();
+            for (IndexedSource source : sources) {
+                int fileId = writer.addFile(source.path, source.size, source.lastModified, source.indexedAt);
+                source.positions.forEach((term, positions) -> {
+                    for (int i = 0; i < positions.size(); i++) {
+                        writer.addPosting(term, fileId, positions.get(i));
+                    }
+                });
+            }
+            deleted.stream().sorted().forEach(writer::addDeleted);
+
+            List<IndexSegment> segments = new ArrayList<>(current.segments);
+            segments.add(writeSegment(writer));
+            commit(segments);
+            log.info("Indexed {} changed and {} deleted file(s) of {} in {}ms ({} segments)", sources.size(),
+                    deleted.size(), projectPath, System.currentTimeMillis() - startTime, segments.size());
+
+            if (segments.size() > maxSegments && !mergeQueued) {
+                mergeQueued = true;
+                merger.execute(this::merge);
+            }
+            return sources.size() + deleted.size();
+        }
+
+        /**
+         * Rewrites the live files of all current segments as one segment, dropping
+         * superseded files and deletions. Updates committed meanwhile stay on top.
+         */
+        private void merge() {
+            IndexState snapshot;
+            synchronized (this) {
+                mergeQueued = false;
+                snapshot = state;
+            }
+            if (snapshot.segments.size() < 2) {
+                return;
+            }
+            long startTime = System.currentTimeMillis();
+            try {
+                SegmentWriter writer = new SegmentWriter();
+                List<int[]> fileIds = new ArrayList<>();
+                for (int segment = 0; segment < snapshot.segments.size(); segment++) {
+                    IndexSegment indexSegment = snapshot.segments.get(segment);
+                    int[] ids = new int[indexSegment.fileCount()];
+                    for (int fileId = 0; fileId < ids.length; fileId++) {
+                        ids[fileId] = !snapshot.live.get(segment).get(fileId) ? -1
+                                : writer.addFile(indexSegment.path(fileId), indexSegment.size(fileId),
+                                indexSegment.lastModified(fileId), indexSegment.indexedAt(fileId));
+                    }
+                    fileIds.add(ids);
+                }
+                // Segment by segment, so every postings list stays sorted by the new file ids
+                for (int segment = 0; segment < snapshot.segments.size(); segment++) {
+                    IndexSegment indexSegment = snapshot.segments.get(segment);
+                    int[] ids = fileIds.get(segment);
+                    for (int term = 0; term < indexSegment.termCount(); term++) {
+                        String termText = indexSegment.term(term);
+                        indexSegment.postings(term, (fileId, position) -> {
+                            if (ids[fileId] >= 0) {
+                                writer.addPosting(termText, ids[fileId], position);
+                            }
+                        });
+                    }
+                }
+                IndexSegment merged = writeSegment(writer);
+
+                synchronized (this) {
+                    List<IndexSegment> segments = new ArrayList<>();
+                    segments.add(merged);
+                    segments.addAll(state.segments.subList(snapshot.segments.size(), state.segments.size()));
+                    commit(segments);
+                }
+                snapshot.segments.forEach(segment -> deleteQuietly(segment.getFile()));
+                log.info("Merged {} index segments of {} into one in {}ms", snapshot.segments.size(), projectPath,
+                        System.currentTimeMillis() - startTime);
+            } catch (RuntimeException e) {
+                log.warn("Could not merge identifier index of {}: {}", projectPath, e.getMessage());
+            }
+        }
+
+        private IndexSegment writeSegment(SegmentWriter writer) {
+            Path file;
+            synchronized (this) {
+                file = indexDirectory.resolve(String.format("segment-%08d.idx", nextGeneration++));
+            }
+            try {
+                Files.createDirectories(indexDirectory);
+                writer.write(file, System.currentTimeMillis());
+                return IndexSegment.open(file);
+            } catch (IOException e) {
+                throw new IllegalStateException("Could not write index segment " + file, e);
+            }
+        }
+
+        /**
+         * Makes a segment list current, on disk first: the manifest is replaced
+         * atomically, so a crash leaves either the old or the new list.
+         */
+        private void commit(List<IndexSegment> segments) {
+            Manifest manifest = new Manifest(FORMAT_VERSION, projectPath, nextGeneration, segments.stream()
+                    .map(segment -> segment.getFile().getFileName().toString())
+                    .collect(Collectors.toList()));
+            try {
+                Path tempFile = Files.createTempFile(indexDirectory, "manifest", ".tmp");
+                objectMapper.writeValue(tempFile.toFile(), manifest);
+                Files.move(tempFile, indexDirectory.resolve(MANIFEST), StandardCopyOption.REPLACE_EXISTING,
+                        StandardCopyOption.ATOMIC_MOVE);
+            } catch (IOException e) {
+                throw new IllegalStateException("Could not save index manifest of " + projectPath, e);
+            }
+            state = new IndexState(segments);
+        }
+
+        /**
+         * Opens the segments of the saved manifest, and removes files it does not list:
+         * leftovers of interrupted writes and merges.
+         */
+        private IndexState load() {
+            List<IndexSegment> segments = new ArrayList<>();
+            Path manifestFile = indexDirectory.resolve(MANIFEST);
+            if (Files.exists(manifestFile)) {
+                try {
+                    Manifest manifest = objectMapper.readValue(manifestFile.toFile(), Manifest.class);
+                    if (manifest.getVersion() == FORMAT_VERSION && projectPath.equals(manifest.getProjectPath())) {
+                        for (String segment : manifest.getSegments()) {
+                            segments.add(IndexSegment.open(indexDirectory.resolve(segment)));
+                        }
+                        nextGeneration = manifest.getNextGeneration();
+                        log.info("Opened identifier index of {} ({} segments)", projectPath, segments.size());
+                    } else {
+                        log.info("Discarding identifier index {} (format or project mismatch)", indexDirectory);
+                    }
+                } catch (IOException | RuntimeException e) {
+                    log.warn("Ignoring unreadable identifier index {}: {}", indexDirectory, e.getMessage());
+                    segments.clear();
+                }
+            }
+
+            if (Files.isDirectory(indexDirectory)) {
+                Set<Path> listed = segments.stream().map(IndexSegment::getFile).collect(Collectors.toSet());
+                try (DirectoryStream<Path> files = Files.newDirectoryStream(indexDirectory)) {
+                    for (Path file : files) {
+                        if (!listed.contains(file) && !file.getFileName().toString().equals(MANIFEST)) {
+                            deleteQuietly(file);
+                        }
+                    }
+                } catch (IOException e) {
+                    log.debug("Could not clean identifier index {}: {}", indexDirectory, e.getMessage());
+                }
+            }
+            return new IndexState(segments);
+        }
+
+        IndexSummary summarize(int changedFiles) {
+            IndexState current = state;
+            return new IndexSummary(projectPath, current.files.size(), changedFiles, current.segments.size(),
+                    current.sizeBytes());
+        }
+    }
+
+    private static void deleteQuietly(Path file) {
+        try {
+            Files.deleteIfExists(file);
+        } catch (IOException e) {
+            // Still mapped on some platforms; removed as a leftover when the index is next opened
+            log.debug("Could not delete {}: {}", file, e.getMessage());
+        }
+    }
+}
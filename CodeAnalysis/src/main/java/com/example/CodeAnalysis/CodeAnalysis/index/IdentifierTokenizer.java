@@ -0,0 +1,154 @@
+package com.example.CodeAnalysis.CodeAnalysis.index;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+
+/**
+ * Splits Java source bytes into the tokens the identifier index keeps: maximal runs
+ * of identifier bytes (ASCII letters, digits, _ and $, and any non-ASCII byte) in
+ * code, string and char literals, text blocks and comments. Tokens are normalized
+ * by folding ASCII upper case and dropping underscores, so every case and
+ * underscore variant of a column name becomes the same term. Numbers in code are
+ * not tokens.
+ *
+ * The raw UTF-8 bytes are scanned without decoding. A term is held as a string with
+ * one char per byte, which orders and compares like the bytes themselves. Lines end
+ * at \n, \r\n or \r.
+ */
+final class IdentifierTokenizer {
+    private static final int CODE = 0;
+    private static final int LINE_COMMENT = 1;
+    private static final int BLOCK_COMMENT = 2;
+    private static final int STRING = 3;
+    private static final int TEXT_BLOCK = 4;
+    private static final int CHAR = 5;
+
+    @FunctionalInterface
+    interface TokenSink {
+        void token(String term, int line, TokenKind kind);
+    }
+
+    private IdentifierTokenizer() {
+    }
+
+    static void tokenize(byte[] source, TokenSink sink) {
+        byte[] term = new byte[64];
+        int state = CODE;
+        int line = 1;
+        int i = 0;
+        while (i < source.length) {
+            byte b = source[i];
+            if (isTokenByte(b)) {
+                int length = 0;
+                boolean number = state == CODE && b >= '0' && b <= '9';
+                for (; i < source.length && isTokenByte(source[i]); i++) {
+                    byte folded = source[i];
+                    if (folded == '_') continue;
+                    if (folded >= 'A' && folded <= 'Z') folded += 'a' - 'A';
+                    if (length == term.length) term = Arrays.copyOf(term, length * 2);
+                    term[length++] = folded;
+                }
+                if (length > 0 && !number) {
+                    sink.token(new String(term, 0, length, StandardCharsets.ISO_8859_1), line, kindOf(state));
+                }
+                continue;
+            }
+
+            if (b == '\n' || b == '\r') {
+                if (b == '\n' || i + 1 == source.length || source[i + 1] != '\n') line++;
+                // Literals and line comments never span lines; text blocks and block comments do
+                if (state != TEXT_BLOCK && state != BLOCK_COMMENT) state = CODE;
+                i++;
+                continue;
+            }
+
+            switch (state) {
+                case CODE:
+                    if (b == '/' && next(source, i) == '/') {
+                        state = LINE_COMMENT;
+                        i++;
+                    } else if (b == '/' && next(source, i) == '*') {
+                        state = BLOCK_COMMENT;
+                        i++;
+                    } else if (b == '"' && next(source, i) == '"' && next(source, i + 1) == '"') {
+                        state = TEXT_BLOCK;
+                        i += 2;
+                    } else if (b == '"') {
+                        state = STRING;
+                    } else if (b == '\'') {
+                        state = CHAR;
+                    }
+                    break;
+                case BLOCK_COMMENT:
+                    if (b == '*' && next(source, i) == '/') {
+                        state = CODE;
+                        i++;
+                    }
+                    break;
+                case STRING:
+                case CHAR:
+                    if (b == '\\' && !isLineEnd(next(source, i))) {
+                        i++; // The escaped char, e.g. the n of \n, is not part of a token
+                    } else if (b == (state == STRING ? '"' : '\'')) {
+                        state = CODE;
+                    }
+                    break;
+                case TEXT_BLOCK:
+                    if (b == '\\' && (next(source, i) == '"' || next(source, i) == '\\')) {
+                        i++;
+                    } else if (b == '"' && next(source, i) == '"' && next(source, i + 1) == '"') {
+                        state = CODE;
+                        i += 2;
+                    }
+                    break;
+                default:
+                    break;
+            }
+            i++;
+        }
+    }
+
+    /**
+     * The term a column or class name is looked up by, or null when the name holds
+     * bytes that never occur within a token and so cannot be found in the index.
+     */
+    static String normalize(String name) {
+        byte[] bytes = name.getBytes(StandardCharsets.UTF_8);
+        StringBuilder term = new StringBuilder(bytes.length);
+        for (byte b : bytes) {
+            if (!isTokenByte(b)) return null;
+            if (b == '_') continue;
+            term.append((char) ((b >= 'A' && b <= 'Z' ? b + ('a' - 'A') : b) & 0xFF));
+        }
+        return term.length() > 0 ? term.toString() : null;
+    }
+
+    private static TokenKind kindOf(int state) {
+        switch (state) {
+            case LINE_COMMENT:
+            case BLOCK_COMMENT:
+                return TokenKind.COMMENT;
+            case STRING:
+            case TEXT_BLOCK:
+            case CHAR:
+                return TokenKind.STRING;
+            default:
+                return TokenKind.IDENTIFIER;
+        }
+    }
+
+    private static boolean isTokenByte(byte b) {
+        return b < 0 || b >= 'a' && b <= 'z' || b >= 'A' && b <= 'Z' || b >= '0' && b <= '9' || b == '_' || b == '$';
+    }
+
+    private static boolean isLineEnd(int b) {
+        return b == '\n' || b == '\r' || b == -1;
+    }
+
+    /**
+     * The byte after the index as an unsigned value, or -1 at the end.
+     */
+    private static int next(byte[] source, int index) {
+        return index + 1 < source.length ? source[index + 1] & 0xFF : -1;
+    }
+}
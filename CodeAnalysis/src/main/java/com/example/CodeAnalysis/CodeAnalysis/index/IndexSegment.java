@@ -0,0 +1,198 @@
+package com.example.CodeAnalysis.CodeAnalysis.index;
+
+import com.example.CodeAnalysis.CodeAnalysis.matcher.AhoCorasick;
+import com.example.CodeAnalysis.CodeAnalysis.matcher.ByteChars;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.function.IntConsumer;
+
+/**
+ * One immutable, memory-mapped file of the identifier index: the files it covers,
+ * a sorted term dictionary, and per term a postings list of (file, line and kind).
+ * Nothing but the file paths is copied onto the heap. The layout, all big-endian:
+ * <pre>
+ *   header    magic, version, createdAt (long), file, term and posting counts,
+ *             path and term byte lengths
+ *   files     size (long, -1 when deleted), lastModified (long), indexedAt (long),
+ *             path offset, path length
+ *   terms     term offset, term length, first posting, posting count
+ *   postings  file id, position (line &lt;&lt; 2 | kind)
+ *   paths     UTF-8 bytes of all paths
+ *   terms     bytes of all terms, in sorted order
+ * </pre>
+ */
+final class IndexSegment {
+    static final int MAGIC = 0x43414958; // "CAIX"
+    static final int VERSION = 1;
+    static final long DELETED = -1;
+
+    static final int HEADER_BYTES = 36;
+    static final int FILE_BYTES = 32;
+    static final int TERM_BYTES = 16;
+    static final int POSTING_BYTES = 8;
+
+    @FunctionalInterface
+    interface PostingConsumer {
+        void accept(int fileId, int position);
+    }
+
+    private final Path file;
+    private final ByteBuffer buffer;
+    private final String[] paths;
+    private final int termCount;
+    private final int termsStart;
+    private final int postingsStart;
+    private final int termBytesStart;
+
+    private IndexSegment(Path file, ByteBuffer buffer) throws IOException {
+        this.file = file;
+        this.buffer = buffer;
+        if (buffer.limit() < HEADER_BYTES || buffer.getInt(0) != MAGIC || buffer.getInt(4) != VERSION) {
+            throw new IOException("Not an index segment of version " + VERSION + ": " + file);
+        }
+        int fileCount = buffer.getInt(16);
+        this.termCount = buffer.getInt(20);
+        int postingCount = buffer.getInt(24);
+        int pathBytesLength = buffer.getInt(28);
+        int termBytesLength = buffer.getInt(32);
+
+        this.termsStart = HEADER_BYTES + fileCount * FILE_BYTES;
+        this.postingsStart = termsStart + termCount * TERM_BYTES;
+        int pathBytesStart = postingsStart + postingCount * POSTING_BYTES;
+        this.termBytesStart = pathBytesStart + pathBytesLength;
+        if (termBytesStart + termBytesLength != buffer.limit()) {
+            throw new IOException("Truncated index segment: " + file);
+        }
+
+        this.paths = new String[fileCount];
+        for (int id = 0; id < fileCount; id++) {
+            byte[] bytes = new byte[buffer.getInt(fileEntry(id) + 28)];
+            buffer.get(pathBytesStart + buffer.getInt(fileEntry(id) + 24), bytes);
+            paths[id] = new String(bytes, StandardCharsets.UTF_8);
+        }
+    }
+
+    static IndexSegment open(Path file) throws IOException {
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+            // The mapping stays valid after the channel is closed
+            return new IndexSegment(file, channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size()));
+        }
+    }
+
+    Path getFile() {
+        return file;
+    }
+
+    long sizeBytes() {
+        return buffer.limit();
+    }
+
+    int fileCount() {
+        return paths.length;
+    }
+
+    String path(int fileId) {
+        return paths[fileId];
+    }
+
+    long size(int fileId) {
+        return buffer.getLong(fileEntry(fileId));
+    }
+
+    long lastModified(int fileId) {
+        return buffer.getLong(fileEntry(fileId) + 8);
+    }
+
+    /**
+     * When the file was read for indexing; a file modified shortly before may have
+     * changed again without its size or mtime showing it.
+     */
+    long indexedAt(int fileId) {
+        return buffer.getLong(fileEntry(fileId) + 16);
+    }
+
+    boolean isDeleted(int fileId) {
+        return size(fileId) == DELETED;
+    }
+
+    int termCount() {
+        return termCount;
+    }
+
+    String term(int term) {
+        byte[] bytes = new byte[termLength(term)];
+        buffer.get(termBytesStart + termOffset(term), bytes);
+        return new String(bytes, StandardCharsets.ISO_8859_1);
+    }
+
+    /**
+     * Binary search of the dictionary for a normalized term; -1 when absent.
+     */
+    int findTerm(String term) {
+        int low = 0;
+        int high = termCount - 1;
+        while (low <= high) {
+            int middle = (low + high) >>> 1;
+            int comparison = compare(middle, term);
+            if (comparison < 0) {
+                low = middle + 1;
+            } else if (comparison > 0) {
+                high = middle - 1;
+            } else {
+                return middle;
+            }
+        }
+        return -1;
+    }
+
+    /**
+     * Every term that contains one of the matcher's patterns, in one pass over the
+     * dictionary bytes.
+     */
+    void findTermsContaining(AhoCorasick matcher, IntConsumer terms) {
+        for (int term = 0; term < termCount; term++) {
+            if (matcher.containsAny(new ByteChars(buffer, termBytesStart + termOffset(term), termLength(term)))) {
+                terms.accept(term);
+            }
+        }
+    }
+
+    void postings(int term, PostingConsumer consumer) {
+        int entry = termsStart + term * TERM_BYTES;
+        int start = postingsStart + buffer.getInt(entry + 8) * POSTING_BYTES;
+        int end = start + buffer.getInt(entry + 12) * POSTING_BYTES;
+        for (int posting = start; posting < end; posting += POSTING_BYTES) {
+            consumer.accept(buffer.getInt(posting), buffer.getInt(posting + 4));
+        }
+    }
+
+    private int compare(int term, String other) {
+        int offset = termBytesStart + termOffset(term);
+        int length = termLength(term);
+        int common = Math.min(length, other.length());
+        for (int i = 0; i < common; i++) {
+            int difference = (buffer.get(offset + i) & 0xFF) - other.charAt(i);
+            if (difference != 0) {
+                return difference;
+            }
+        }
+        return length - other.length();
+    }
+
+    private int fileEntry(int fileId) {
+        return HEADER_BYTES + fileId * FILE_BYTES;
+    }
+
+    private int termOffset(int term) {
+        return buffer.getInt(termsStart + term * TERM_BYTES);
+    }
+
+    private int termLength(int term) {
+        return buffer.getInt(termsStart + term * TERM_BYTES + 4);
+    }
+}
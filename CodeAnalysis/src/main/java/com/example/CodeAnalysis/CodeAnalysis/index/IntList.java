@@ -0,0 +1,26 @@
+package com.example.CodeAnalysis.CodeAnalysis.index;
+
+import java.util.Arrays;
+
+/**
+ * A growable list of ints without boxing.
+ */
+final class IntList {
+    private int[] values = new int[4];
+    private int size;
+
+    void add(int value) {
+        if (size == values.length) {
+            values = Arrays.copyOf(values, size * 2);
+        }
+        values[size++] = value;
+    }
+
+    int get(int index) {
+        return values[index];
+    }
+
+    int size() {
+        return size;
+    }
+}
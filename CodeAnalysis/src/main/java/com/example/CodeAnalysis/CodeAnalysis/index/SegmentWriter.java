@@ -0,0 +1,126 @@
+package com.example.CodeAnalysis.CodeAnalysis.index;
+
+import java.io.BufferedOutputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Collects the files and postings of one segment in memory and writes them in the
+ * layout {@link IndexSegment} maps. Files must be added in the order their postings
+ * should be listed, which keeps every postings list sorted by file and line.
+ */
+final class SegmentWriter {
+    private final List<String> paths = new ArrayList<>();
+    private final List<long[]> attributes = new ArrayList<>(); // size, lastModified, indexedAt
+    private final Map<String, IntList> postings = new HashMap<>(); // fileId, position pairs per term
+    private int postingCount;
+
+    int addFile(String path, long size, long lastModified, long indexedAt) {
+        paths.add(path);
+        attributes.add(new long[]{size, lastModified, indexedAt});
+        return paths.size() - 1;
+    }
+
+    /**
+     * Records that a file indexed by an older segment no longer exists.
+     */
+    void addDeleted(String path) {
+        addFile(path, IndexSegment.DELETED, 0, 0);
+    }
+
+    void addPosting(String term, int fileId, int position) {
+        IntList termPostings = postings.computeIfAbsent(term, key -> new IntList());
+        termPostings.add(fileId);
+        termPostings.add(position);
+        postingCount++;
+    }
+
+    int fileCount() {
+        return paths.size();
+    }
+
+    /**
+     * Writes the segment next to its target and moves it into place, so a segment
+     * file is either complete or absent.
+     */
+    void write(Path target, long createdAt) throws IOException {
+        List<String> terms = new ArrayList<>(postings.keySet());
+        terms.sort(null); // One char per byte: the same order as the unsigned bytes
+
+        List<byte[]> pathBytes = new ArrayList<>(paths.size());
+        long pathBytesLength = 0;
+        for (String path : paths) {
+            byte[] bytes = path.getBytes(StandardCharsets.UTF_8);
+            pathBytes.add(bytes);
+            pathBytesLength += bytes.length;
+        }
+        long termBytesLength = 0;
+        for (String term : terms) {
+            termBytesLength += term.length();
+        }
+        long totalBytes = IndexSegment.HEADER_BYTES + (long) paths.size() * IndexSegment.FILE_BYTES
+                + (long) terms.size() * IndexSegment.TERM_BYTES + (long) postingCount * IndexSegment.POSTING_BYTES
+                + pathBytesLength + termBytesLength;
+        if (totalBytes > Integer.MAX_VALUE) {
+            throw new IllegalStateException("Index segment would exceed 2 GB: " + target);
+        }
+
+        Path tempFile = Files.createTempFile(target.getParent(), "segment", ".tmp");
+        try (DataOutputStream out = new DataOutputStream(new BufferedOutputStream(Files.newOutputStream(tempFile),
+                1 << 16))) {
+            out.writeInt(IndexSegment.MAGIC);
+            out.writeInt(IndexSegment.VERSION);
+            out.writeLong(createdAt);
+            out.writeInt(paths.size());
+            out.writeInt(terms.size());
+            out.writeInt(postingCount);
+            out.writeInt((int) pathBytesLength);
+            out.writeInt((int) termBytesLength);
+
+            int pathOffset = 0;
+            for (int file = 0; file < paths.size(); file++) {
+                for (long attribute : attributes.get(file)) {
+                    out.writeLong(attribute);
+                }
+                out.writeInt(pathOffset);
+                out.writeInt(pathBytes.get(file).length);
+                pathOffset += pathBytes.get(file).length;
+            }
+            int termOffset = 0;
+            int firstPosting = 0;
+            for (String term : terms) {
+                int count = postings.get(term).size() / 2;
+                out.writeInt(termOffset);
+                out.writeInt(term.length());
+                out.writeInt(firstPosting);
+                out.writeInt(count);
+                termOffset += term.length();
+                firstPosting += count;
+            }
+            for (String term : terms) {
+                IntList termPostings = postings.get(term);
+                for (int i = 0; i < termPostings.size(); i++) {
+                    out.writeInt(termPostings.get(i));
+                }
+            }
+            for (byte[] bytes : pathBytes) {
+                out.write(bytes);
+            }
+            for (String term : terms) {
+                out.write(term.getBytes(StandardCharsets.ISO_8859_1));
+            }
+        } catch (IOException | RuntimeException e) {
+            Files.deleteIfExists(tempFile);
+            throw e;
+        }
+        Files.move(tempFile, target, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+    }
+}
@@ -0,0 +1,25 @@
+package com.example.CodeAnalysis.CodeAnalysis.index;
+
+/**
+ * Where in the source an indexed token occurs.
+ */
+public enum TokenKind {
+    IDENTIFIER, STRING, COMMENT;
+
+    private static final TokenKind[] VALUES = values();
+
+    /**
+     * A posting's line and kind packed into one int.
+     */
+    static int encode(int line, TokenKind kind) {
+        return line << 2 | kind.ordinal();
+    }
+
+    static int line(int position) {
+        return position >>> 2;
+    }
+
+    static TokenKind kind(int position) {
+        return VALUES[position & 3];
+    }
+}
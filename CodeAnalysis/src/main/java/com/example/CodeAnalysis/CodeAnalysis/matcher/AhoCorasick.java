@@ -0,0 +1,174 @@
+package com.example.CodeAnalysis.CodeAnalysis.matcher;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Queue;
+
+/**
+ * Multi-pattern substring matcher (Aho-Corasick) compiled into a dense DFA.
+ * Each pattern carries an int value; a scan reports the values of every pattern
+ * found in the text in a single left-to-right pass without allocating.
+ *
+ * The alphabet is compressed to the characters that occur in the patterns, so the
+ * transition table stays small; every other character maps to class 0.
+ */
+public final class AhoCorasick {
+    private final boolean ignoreCase;
+    private final int[] asciiClass = new int[128];
+    private final Map<Character, Integer> otherClass = new HashMap<>();
+    private final int alphabetSize;
+    private final int[] transitions; // state * alphabetSize + charClass -> next state
+    private final int[][] outputs;   // values of all patterns ending in each state
+    private final int valueCount;
+
+    private AhoCorasick(List<String> patterns, int[] values, boolean ignoreCase) {
+        this.ignoreCase = ignoreCase;
+
+        // Character classes, 0 is reserved for characters outside every pattern
+        int nextClass = 1;
+        for (String pattern : patterns) {
+            for (int i = 0; i < pattern.length(); i++) {
+                char c = fold(pattern.charAt(i));
+                if (c < 128) {
+                    if (asciiClass[c] == 0) asciiClass[c] = nextClass++;
+                } else if (!otherClass.containsKey(c)) {
+                    otherClass.put(c, nextClass++);
+                }
+            }
+        }
+        this.alphabetSize = nextClass;
+
+        // Trie
+        List<int[]> gotoTable = new ArrayList<>();
+        List<List<Integer>> stateOutputs = new ArrayList<>();
+        gotoTable.add(newRow());
+        stateOutputs.add(new ArrayList<>());
+        for (int p = 0; p < patterns.size(); p++) {
+            String pattern = patterns.get(p);
+            if (pattern.isEmpty()) continue;
+            int state = 0;
+            for (int i = 0; i < pattern.length(); i++) {
+                int charClass = classOf(pattern.charAt(i));
+                int next = gotoTable.get(state)[charClass];
+                if (next < 0) {
+                    next = gotoTable.size();
+                    gotoTable.get(state)[charClass] = next;
+                    gotoTable.add(newRow());
+                    stateOutputs.add(new ArrayList<>());
+                }
+                state = next;
+            }
+            stateOutputs.get(state).add(values[p]);
+        }
+
+        // Failure links, folded into a complete DFA breadth-first
+        int stateCount = gotoTable.size();
+        this.transitions = new int[stateCount * alphabetSize];
+        this.outputs = new int[stateCount][];
+        int[] failure = new int[stateCount];
+        Queue<Integer> queue = new ArrayDeque<>();
+
+        for (int charClass = 0; charClass < alphabetSize; charClass++) {
+            int next = gotoTable.get(0)[charClass];
+            if (next < 0 || charClass == 0) {
+                transitions[charClass] = 0;
+            } else {
+                transitions[charClass] = next;
+                failure[next] = 0;
+                queue.add(next);
+            }
+        }
+        outputs[0] = toArray(stateOutputs.get(0));
+
+        while (!queue.isEmpty()) {
+            int state = queue.poll();
+            List<Integer> merged = new ArrayList<>(stateOutputs.get(state));
+            merged.addAll(stateOutputs.get(failure[state]));
+            stateOutputs.set(state, merged);
+            outputs[state] = toArray(merged);
+
+            for (int charClass = 0; charClass < alphabetSize; charClass++) {
+                int next = charClass == 0 ? -1 : gotoTable.get(state)[charClass];
+                int fallback = transitions[failure[state] * alphabetSize + charClass];
+                if (next < 0) {
+                    transitions[state * alphabetSize + charClass] = fallback;
+                } else {
+                    transitions[state * alphabetSize + charClass] = next;
+                    failure[next] = fallback;
+                    queue.add(next);
+                }
+            }
+        }
+
+        this.valueCount = (int) Arrays.stream(values).distinct().count();
+    }
+
+    public static AhoCorasick build(List<String> patterns, int[] values, boolean ignoreCase) {
+        if (patterns.size() != values.length) {
+            throw new IllegalArgumentException("Every pattern needs exactly one value");
+        }
+        return new AhoCorasick(patterns, values, ignoreCase);
+    }
+
+    /**
+     * Sets the value of every pattern that occurs in the text. Stops early once all
+     * distinct values have been seen.
+     */
+    public void findAll(CharSequence text, BitSet found) {
+        if (text == null) return;
+        int seen = 0;
+        int state = 0;
+        for (int i = 0, n = text.length(); i < n; i++) {
+            state = transitions[state * alphabetSize + classOf(text.charAt(i))];
+            int[] values = outputs[state];
+            for (int value : values) {
+                if (!found.get(value)) {
+                    found.set(value);
+                    if (++seen == valueCount) return;
+                }
+            }
+        }
+    }
+
+    /**
+     * True as soon as any pattern occurs in the text.
+     */
+    public boolean containsAny(CharSequence text) {
+        if (text == null) return false;
+        int state = 0;
+        for (int i = 0, n = text.length(); i < n; i++) {
+            state = transitions[state * alphabetSize + classOf(text.charAt(i))];
+            if (outputs[state].length > 0) return true;
+        }
+        return false;
+    }
+
+    private int classOf(char c) {
+        c = fold(c);
+        if (c < 128) return asciiClass[c];
+        if (otherClass.isEmpty()) return 0;
+        Integer charClass = otherClass.get(c);
+        return charClass != null ? charClass : 0;
+    }
+
+    private char fold(char c) {
+        if (!ignoreCase) return c;
+        if (c < 128) return (c >= 'A' && c <= 'Z') ? (char) (c + 32) : c;
+        return Character.toLowerCase(c);
+    }
+
+    private int[] newRow() {
+        int[] row = new int[alphabetSize];
+        Arrays.fill(row, -1);
+        return row;
+    }
+
+    private static int[] toArray(List<Integer> values) {
+        return values.stream().distinct().mapToInt(Integer::intValue).toArray();
+    }
+}
@@ -0,0 +1,38 @@
+package com.example.CodeAnalysis.CodeAnalysis.matcher;
+
+import java.nio.ByteBuffer;
+
+/**
+ * A range of bytes read as ISO-8859-1 chars, so an {@link AhoCorasick} DFA can scan
+ * raw UTF-8 without decoding it: ASCII stays itself and no other byte folds into it.
+ */
+public final class ByteChars implements CharSequence {
+    private final ByteBuffer bytes;
+    private final int offset;
+    private final int length;
+
+    public ByteChars(ByteBuffer bytes) {
+        this(bytes, 0, bytes.limit());
+    }
+
+    public ByteChars(ByteBuffer bytes, int offset, int length) {
+        this.bytes = bytes;
+        this.offset = offset;
+        this.length = length;
+    }
+
+    @Override
+    public int length() {
+        return length;
+    }
+
+    @Override
+    public char charAt(int index) {
+        return (char) (bytes.get(offset + index) & 0xFF);
+    }
+
+    @Override
+    public CharSequence subSequence(int start, int end) {
+        return new ByteChars(bytes, offset + start, end - start);
+    }
+}
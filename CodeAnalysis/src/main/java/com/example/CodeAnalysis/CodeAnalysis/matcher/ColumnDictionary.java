@@ -0,0 +1,154 @@
+package com.example.CodeAnalysis.CodeAnalysis.matcher;
+
+import com.example.CodeAnalysis.CodeAnalysis.model.SourceFacts;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Locale;
+import java.util.Set;
+import java.util.TreeSet;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+import java.util.regex.PatternSyntaxException;
+
+/**
+ * The column names a project mentions, in lower snake_case and sorted: {@code @Column}
+ * names, entity field names, and the identifiers of query strings other than SQL/JPQL
+ * keywords and one-letter aliases. Column patterns are expanded against it, e.g.
+ * {@code acct_*} or {@code regex:.*_number$}.
+ *
+ * A pattern is a glob unless prefixed with {@code regex:}; {@code glob:} may be given
+ * explicitly. Globs must match the whole name, with * for any run of characters and
+ * ? for one; a regex only has to be found in the name, so anchor it with ^ and $ as
+ * needed. Both ignore case. The literal prefix of a pattern (everything before the
+ * first wildcard, or after a leading ^) narrows the search to one range of the
+ * sorted names before any name is matched.
+ */
+public final class ColumnDictionary {
+    private static final Pattern IDENTIFIER = Pattern.compile("[A-Za-z_][A-Za-z0-9_]*");
+    private static final Set<String> QUERY_KEYWORDS = Set.of("select", "from", "where", "and", "or", "not", "in",
+            "is", "null", "like", "between", "join", "left", "right", "inner", "outer", "cross", "on", "as", "order",
+            "by", "group", "having", "asc", "desc", "distinct", "insert", "into", "values", "update", "set", "delete",
+            "count", "sum", "avg", "min", "max", "case", "when", "then", "else", "end", "exists", "limit", "offset",
+            "union", "all", "any", "true", "false", "new", "fetch", "upper", "lower", "member", "of", "escape");
+
+    private final String[] names;
+
+    private ColumnDictionary(String[] names) {
+        this.names = names;
+    }
+
+    public static ColumnDictionary build(List<SourceFacts> sources) {
+        Set<String> names = new TreeSet<>();
+        for (SourceFacts facts : sources) {
+            // Other classes' fields are mostly injected beans and constants, not columns
+            boolean entity = "Entity".equals(facts.getClassInfo().getClassType());
+            for (SourceFacts.FieldFact field : facts.getFields()) {
+                field.getColumnNames().forEach(name -> add(names, name));
+                if (entity) {
+                    field.getVariableNames().forEach(name -> add(names, name));
+                }
+            }
+            for (SourceFacts.QueryFact query : facts.getQueries()) {
+                Matcher identifiers = IDENTIFIER.matcher(query.getQuery());
+                while (identifiers.find()) {
+                    String token = identifiers.group();
+                    if (token.length() > 1 && !QUERY_KEYWORDS.contains(token.toLowerCase(Locale.ROOT))) {
+                        add(names, token);
+                    }
+                }
+            }
+        }
+        return new ColumnDictionary(names.toArray(new String[0]));
+    }
+
+    public int size() {
+        return names.length;
+    }
+
+    /**
+     * The names matching a pattern, in sorted order.
+     */
+    public List<String> expand(String pattern) {
+        String prefix;
+        Pattern compiled;
+        boolean wholeName;
+        try {
+            if (pattern.startsWith("regex:")) {
+                String regex = pattern.substring("regex:".length());
+                prefix = regexPrefix(regex);
+                compiled = Pattern.compile(regex, Pattern.CASE_INSENSITIVE);
+                wholeName = false;
+            } else {
+                String glob = pattern.startsWith("glob:") ? pattern.substring("glob:".length()) : pattern;
+                prefix = globPrefix(glob);
+                compiled = Pattern.compile(globToRegex(glob), Pattern.CASE_INSENSITIVE);
+                wholeName = true;
+            }
+        } catch (PatternSyntaxException e) {
+            throw new IllegalArgumentException("Invalid column pattern " + pattern + ": " + e.getDescription(), e);
+        }
+
+        List<String> matches = new ArrayList<>();
+        int start = Arrays.binarySearch(names, prefix);
+        for (int i = start >= 0 ? start : -start - 1; i < names.length && names[i].startsWith(prefix); i++) {
+            Matcher matcher = compiled.matcher(names[i]);
+            if (wholeName ? matcher.matches() : matcher.find()) {
+                matches.add(names[i]);
+            }
+        }
+        return matches;
+    }
+
+    private static void add(Set<String> names, String name) {
+        if (name != null && !name.isBlank()) {
+            names.add(ColumnMatcher.toSnakeCase(name.trim()));
+        }
+    }
+
+    private static String globPrefix(String glob) {
+        int end = 0;
+        while (end < glob.length() && glob.charAt(end) != '*' && glob.charAt(end) != '?') {
+            end++;
+        }
+        return glob.substring(0, end).toLowerCase(Locale.ROOT);
+    }
+
+    private static String globToRegex(String glob) {
+        StringBuilder regex = new StringBuilder();
+        for (int i = 0; i < glob.length(); i++) {
+            char c = glob.charAt(i);
+            if (c == '*') {
+                regex.append(".*");
+            } else if (c == '?') {
+                regex.append('.');
+            } else {
+                regex.append(Pattern.quote(String.valueOf(c)));
+            }
+        }
+        return regex.toString();
+    }
+
+    /**
+     * The name characters following a leading ^, short of one a quantifier makes
+     * optional; empty for an unanchored regex or one with alternatives.
+     */
+    private static String regexPrefix(String regex) {
+        if (!regex.startsWith("^") || regex.indexOf('|') >= 0) {
+            return "";
+        }
+        int end = 1;
+        while (end < regex.length() && isNameChar(regex.charAt(end))) {
+            end++;
+        }
+        if (end < regex.length() && "?*{".indexOf(regex.charAt(end)) >= 0) {
+            end--;
+        }
+        return end > 1 ? regex.substring(1, end).toLowerCase(Locale.ROOT) : "";
+    }
+
+    private static boolean isNameChar(char c) {
+        return c >= 'a' && c <= 'z' || c >= 'A' && c <= 'Z' || c >= '0' && c <= '9' || c == '_';
+    }
+}
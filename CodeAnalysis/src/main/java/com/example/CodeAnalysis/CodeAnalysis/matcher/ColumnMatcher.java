@@ -0,0 +1,138 @@
+package com.example.CodeAnalysis.CodeAnalysis.matcher;
+
+import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+
+/**
+ * The name variants of one or more columns (snake, camel, Pascal and upper case,
+ * plus the Spring Data method-name forms) compiled once per analysis. Columns are
+ * identified by their index in the list given to the constructor.
+ */
+public class ColumnMatcher {
+    private final List<String> columnNames;
+    private final AhoCorasick textMatcher;       // case-insensitive, any variant inside free text
+    private final AhoCorasick methodNameMatcher; // case-sensitive camel/Pascal inside method names
+    private final Map<String, BitSet> exactVariants = new HashMap<>();
+    private final Map<String, BitSet> exactSnakeNames = new HashMap<>();
+
+    public ColumnMatcher(List<String> columnNames) {
+        this.columnNames = Collections.unmodifiableList(new ArrayList<>(columnNames));
+
+        List<String> textPatterns = new ArrayList<>();
+        List<Integer> textValues = new ArrayList<>();
+        List<String> methodPatterns = new ArrayList<>();
+        List<Integer> methodValues = new ArrayList<>();
+
+        for (int column = 0; column < columnNames.size(); column++) {
+            String columnName = columnNames.get(column);
+            String camelCase = toCamelCase(columnName);
+            String pascalCase = toPascalCase(columnName);
+
+            // Upper and Pascal case fold onto these two under case-insensitive matching
+            for (String variant : List.of(columnName.toLowerCase(Locale.ROOT), camelCase.toLowerCase(Locale.ROOT))) {
+                textPatterns.add(variant);
+                textValues.add(column);
+                exactVariants.computeIfAbsent(variant, key -> new BitSet()).set(column);
+            }
+            exactSnakeNames.computeIfAbsent(columnName.toLowerCase(Locale.ROOT), key -> new BitSet()).set(column);
+
+            // findByUserEmail, existsByUserEmail, userEmailChanged...
+            for (String variant : List.of(camelCase, pascalCase)) {
+                methodPatterns.add(variant);
+                methodValues.add(column);
+            }
+        }
+
+        this.textMatcher = AhoCorasick.build(textPatterns, toArray(textValues), true);
+        this.methodNameMatcher = AhoCorasick.build(methodPatterns, toArray(methodValues), false);
+    }
+
+    public int getColumnCount() {
+        return columnNames.size();
+    }
+
+    public String getColumnName(int column) {
+        return columnNames.get(column);
+    }
+
+    /**
+     * Columns any of whose variants occur anywhere in the text, ignoring case.
+     */
+    public void findInText(CharSequence text, BitSet columns) {
+        textMatcher.findAll(text, columns);
+    }
+
+    /**
+     * Columns whose camel or Pascal form occurs in a method name, respecting case.
+     */
+    public void findInMethodName(CharSequence methodName, BitSet columns) {
+        methodNameMatcher.findAll(methodName, columns);
+    }
+
+    /**
+     * Columns an identifier names exactly: the column itself or its camel/Pascal form
+     * ignoring case, or an identifier whose snake_case form is the column.
+     */
+    public void findExact(String identifier, BitSet columns) {
+        if (identifier == null) return;
+        BitSet matches = exactVariants.get(identifier.toLowerCase(Locale.ROOT));
+        if (matches != null) columns.or(matches);
+        BitSet snakeMatches = exactSnakeNames.get(toSnakeCase(identifier));
+        if (snakeMatches != null) columns.or(snakeMatches);
+    }
+
+    public static String toCamelCase(String snakeCase) {
+        if (snakeCase == null || snakeCase.isEmpty()) return "";
+
+        StringBuilder result = new StringBuilder();
+        boolean nextIsUpper = false;
+
+        for (char c : snakeCase.toCharArray()) {
+            if (c == '_') {
+                nextIsUpper = true;
+            } else if (nextIsUpper) {
+                result.append(Character.toUpperCase(c));
+                nextIsUpper = false;
+            } else {
+                result.append(Character.toLowerCase(c));
+            }
+        }
+
+        return result.toString();
+    }
+
+    public static String toPascalCase(String snakeCase) {
+        String camelCase = toCamelCase(snakeCase);
+        if (camelCase.isEmpty()) return "";
+        return Character.toUpperCase(camelCase.charAt(0)) + camelCase.substring(1);
+    }
+
+    /**
+     * Lower snake_case of a camelCase identifier: an underscore goes between every
+     * ASCII lower-case letter and the upper-case letter following it.
+     */
+    public static String toSnakeCase(String camelCase) {
+        if (camelCase == null) return "";
+        StringBuilder result = new StringBuilder(camelCase.length() + 4);
+        for (int i = 0; i < camelCase.length(); i++) {
+            char c = camelCase.charAt(i);
+            if (i > 0 && c >= 'A' && c <= 'Z') {
+                char previous = camelCase.charAt(i - 1);
+                if (previous >= 'a' && previous <= 'z') {
+                    result.append('_');
+                }
+            }
+            result.append(c);
+        }
+        return result.toString().toLowerCase(Locale.ROOT);
+    }
+
+    private static int[] toArray(List<Integer> values) {
+        return values.stream().mapToInt(Integer::intValue).toArray();
+    }
+}
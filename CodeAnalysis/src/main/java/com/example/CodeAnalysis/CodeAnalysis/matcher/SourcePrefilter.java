@@ -0,0 +1,140 @@
+package com.example.CodeAnalysis.CodeAnalysis.matcher;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Set;
+
+/**
+ * Byte-level test of whether a source file can matter to a query, run before it is
+ * parsed. The raw UTF-8 bytes are scanned by one {@link AhoCorasick} DFA, each byte
+ * standing for one char, so no file is decoded; large files are memory-mapped
+ * instead of copied onto the heap.
+ *
+ * A column prefilter accepts every file in which the {@link ColumnMatcher} could find
+ * the column: any spelling of it ignoring ASCII case and the underscores between its
+ * words. A name prefilter accepts files containing any of the given names exactly.
+ * Unicode escapes in the source and non-ASCII case folding are not mirrored.
+ *
+ * A file prefilter accepts a known set of files by path, without reading them, e.g.
+ * the candidates an up-to-date identifier index found.
+ */
+public final class SourcePrefilter {
+    // Files at least this large are mapped rather than read; small mappings cost more than a read
+    public static final long MAP_THRESHOLD = 64 * 1024;
+
+    // A column with more word gaps than this has too many spellings; its files are never skipped
+    private static final int MAX_WORD_GAPS = 8;
+
+    private static final SourcePrefilter ALL = new SourcePrefilter(null, true);
+    private static final SourcePrefilter NONE = new SourcePrefilter(null, false);
+
+    private final AhoCorasick matcher; // null: every file gets the default answer
+    private final boolean acceptByDefault;
+    private final Set<String> files; // non-null: decided by path alone
+
+    private SourcePrefilter(AhoCorasick matcher, boolean acceptByDefault) {
+        this(matcher, acceptByDefault, null);
+    }
+
+    private SourcePrefilter(AhoCorasick matcher, boolean acceptByDefault, Set<String> files) {
+        this.matcher = matcher;
+        this.acceptByDefault = acceptByDefault;
+        this.files = files;
+    }
+
+    public static SourcePrefilter forColumns(List<String> columnNames) {
+        Set<String> patterns = new LinkedHashSet<>();
+        for (String columnName : columnNames) {
+            String lowerCase = columnName.toLowerCase(Locale.ROOT);
+            String[] words = lowerCase.split("_", -1);
+            if (!isAscii(lowerCase) || words.length - 1 > MAX_WORD_GAPS) {
+                return ALL;
+            }
+            // account_number, accountnumber; a_b_c also needs a_bc and ab_c
+            for (int gaps = 0; gaps < 1 << (words.length - 1); gaps++) {
+                StringBuilder pattern = new StringBuilder(words[0]);
+                for (int word = 1; word < words.length; word++) {
+                    if ((gaps & 1 << (word - 1)) != 0) pattern.append('_');
+                    pattern.append(words[word]);
+                }
+                if (pattern.length() > 0) patterns.add(pattern.toString());
+            }
+        }
+        return patterns.isEmpty() ? ALL : build(new ArrayList<>(patterns), true);
+    }
+
+    public static SourcePrefilter forNames(Collection<String> names) {
+        List<String> patterns = new ArrayList<>(names.size());
+        for (String name : names) {
+            // The UTF-8 bytes of the name, one char per byte like the scanned text
+            patterns.add(new String(name.getBytes(StandardCharsets.UTF_8), StandardCharsets.ISO_8859_1));
+        }
+        return patterns.isEmpty() ? NONE : build(patterns, false);
+    }
+
+    public static SourcePrefilter forFiles(Set<String> filePaths) {
+        return new SourcePrefilter(null, false, filePaths);
+    }
+
+    public boolean acceptsAll() {
+        return matcher == null && files == null && acceptByDefault;
+    }
+
+    /**
+     * Whether a file's bytes are needed to decide on it.
+     */
+    public boolean readsContent() {
+        return matcher != null;
+    }
+
+    /**
+     * Decides by path alone; null when the content decides.
+     */
+    public Boolean matchesPath(Path file) {
+        if (files != null) {
+            return files.contains(file.toString());
+        }
+        return matcher == null ? acceptByDefault : null;
+    }
+
+    public boolean matches(byte[] bytes) {
+        return matcher == null ? acceptByDefault : matcher.containsAny(new ByteChars(ByteBuffer.wrap(bytes)));
+    }
+
+    /**
+     * Tests content already in memory or mapped, e.g. held over from an earlier round.
+     */
+    public boolean matches(ByteBuffer content) {
+        return matcher == null ? acceptByDefault : matcher.containsAny(new ByteChars(content));
+    }
+
+    /**
+     * Maps a large file instead of reading it onto the heap; the mapping stays valid
+     * after the channel is closed.
+     */
+    public static ByteBuffer map(Path file) throws IOException {
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+            return channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size());
+        }
+    }
+
+    private static SourcePrefilter build(List<String> patterns, boolean ignoreCase) {
+        return new SourcePrefilter(AhoCorasick.build(patterns, new int[patterns.size()], ignoreCase), true);
+    }
+
+    private static boolean isAscii(String value) {
+        for (int i = 0; i < value.length(); i++) {
+            if (value.charAt(i) >= 128) return false;
+        }
+        return true;
+    }
+}
@@ -0,0 +1,111 @@
+package com.example.CodeAnalysis.CodeAnalysis.metrics;
+
+import com.example.CodeAnalysis.CodeAnalysis.model.AnalysisStats;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.springframework.stereotype.Component;
+
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Micrometer meters of the analysis pipeline, exposed through /actuator/metrics and
+ * /actuator/prometheus:
+ * <ul>
+ *     <li>{@code code.analysis.phase} timer, tagged index, walk, parse, expand, match, propagate or report</li>
+ *     <li>{@code code.analysis.files.*}, {@code code.analysis.bytes.read} and
+ *     {@code code.analysis.parse.failures} counters, plus the per-scan
+ *     {@code code.analysis.scan.rate} in files per second</li>
+ *     <li>{@code code.analysis.cache.gets} counter tagged result=hit|miss, for the hit rate</li>
+ *     <li>{@code code.analysis.usages} counter tagged with the usage type</li>
+ *     <li>{@code code.analysis.prefilter.files} counter tagged result=skipped|scanned and the
+ *     per-scan {@code code.analysis.prefilter.skip.ratio}</li>
+ * </ul>
+ */
+@Component
+public class AnalysisMetrics {
+    private static final String PREFIX = "code.analysis.";
+
+    private final MeterRegistry registry;
+    private final Counter filesScanned;
+    private final Counter filesRead;
+    private final Counter filesParsed;
+    private final Counter parseFailures;
+    private final Counter bytesRead;
+    private final Counter cacheHits;
+    private final Counter cacheMisses;
+    private final DistributionSummary scanRate;
+    private final Counter prefilterSkipped;
+    private final Counter prefilterScanned;
+    private final DistributionSummary prefilterSkipRatio;
+
+    public AnalysisMetrics(MeterRegistry registry) {
+        this.registry = registry;
+        this.filesScanned = Counter.builder(PREFIX + "files.scanned")
+                .description("Java files whose facts were extracted or served from the cache")
+                .register(registry);
+        this.filesRead = Counter.builder(PREFIX + "files.read")
+                .description("Java files read from disk").register(registry);
+        this.filesParsed = Counter.builder(PREFIX + "files.parsed")
+                .description("Java files parsed").register(registry);
+        this.parseFailures = Counter.builder(PREFIX + "parse.failures")
+                .description("Java files that could not be parsed").register(registry);
+        this.bytesRead = Counter.builder(PREFIX + "bytes.read")
+                .description("Source bytes read from disk").baseUnit("bytes").register(registry);
+        this.cacheHits = Counter.builder(PREFIX + "cache.gets").tag("result", "hit")
+                .description("Lookups in the facts cache").register(registry);
+        this.cacheMisses = Counter.builder(PREFIX + "cache.gets").tag("result", "miss")
+                .description("Lookups in the facts cache").register(registry);
+        this.scanRate = DistributionSummary.builder(PREFIX + "scan.rate")
+                .description("Files scanned per second, per scan").baseUnit("files.per.second").register(registry);
+        this.prefilterSkipped = Counter.builder(PREFIX + "prefilter.files").tag("result", "skipped")
+                .description("Files of prefiltered scans, by whether they were parsed").register(registry);
+        this.prefilterScanned = Counter.builder(PREFIX + "prefilter.files").tag("result", "scanned")
+                .description("Files of prefiltered scans, by whether they were parsed").register(registry);
+        this.prefilterSkipRatio = DistributionSummary.builder(PREFIX + "prefilter.skip.ratio")
+                .description("Share of files a prefiltered scan never parsed").register(registry);
+    }
+
+    public void recordPhase(String phase, long nanos) {
+        Timer.builder(PREFIX + "phase")
+                .description("Time spent in one phase of an analysis")
+                .tag("phase", phase)
+                .register(registry)
+                .record(nanos, TimeUnit.NANOSECONDS);
+    }
+
+    /**
+     * Adds the counters of one finished scan; {@code nanos} is the time spent reading
+     * and parsing, which gives the scan's files per second.
+     */
+    public void recordScan(AnalysisStats stats, long nanos) {
+        filesScanned.increment(stats.getFilesProcessed());
+        filesRead.increment(stats.getFilesRead());
+        filesParsed.increment(stats.getFilesParsed());
+        parseFailures.increment(stats.getParseFailures());
+        bytesRead.increment(stats.getBytesRead());
+        cacheHits.increment(stats.getCacheHits());
+        cacheMisses.increment(stats.getCacheMisses());
+        if (nanos > 0 && stats.getFilesProcessed() > 0) {
+            scanRate.record(stats.getFilesProcessed() * 1e9 / nanos);
+        }
+    }
+
+    public void recordPrefilter(int files, int skipped) {
+        prefilterSkipped.increment(skipped);
+        prefilterScanned.increment(files - skipped);
+        if (files > 0) {
+            prefilterSkipRatio.record((double) skipped / files);
+        }
+    }
+
+    public void recordUsages(Map<String, Integer> usagesByType) {
+        usagesByType.forEach((usageType, count) -> Counter.builder(PREFIX + "usages")
+                .description("Column usages found, by usage type")
+                .tag("type", usageType)
+                .register(registry)
+                .increment(count));
+    }
+}
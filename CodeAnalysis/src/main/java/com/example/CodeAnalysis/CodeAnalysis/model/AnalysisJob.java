@@ -0,0 +1,59 @@
+package com.example.CodeAnalysis.CodeAnalysis.model;
+
+import com.fasterxml.jackson.annotation.JsonIgnore;
+import lombok.Data;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * An analysis submitted to run in the background: its request, where it stands and,
+ * once completed, its results and report.
+ */
+@Data
+public class AnalysisJob {
+
+    public enum Status {
+        QUEUED, RUNNING, COMPLETED, FAILED
+    }
+
+    private String id;
+    private String projectPath;
+    private List<String> columnNames;
+    private volatile Status status = Status.QUEUED;
+    private LocalDateTime submittedAt;
+    private volatile LocalDateTime startedAt;
+    private volatile LocalDateTime finishedAt;
+    private volatile String error;
+    private volatile String phase;
+    private final AtomicLong usagesFound = new AtomicLong();
+    private String reportFileName;
+    private AnalysisStats stats = new AnalysisStats();
+
+    @JsonIgnore
+    private String outputFile;
+
+    @JsonIgnore
+    private volatile Map<String, ImpactResult> results;
+
+    public boolean isDone() {
+        return status == Status.COMPLETED || status == Status.FAILED;
+    }
+
+    /**
+     * Percentage of the project's files scanned so far; a project answered from its
+     * resident model has nothing to scan and jumps from 0 to 100.
+     */
+    public int getProgress() {
+        if (status == Status.COMPLETED) {
+            return 100;
+        }
+        long total = stats.getFilesTotal();
+        if (total == 0) {
+            return 0;
+        }
+        return (int) Math.min(99, stats.getFilesProcessed() * 100 / total);
+    }
+}
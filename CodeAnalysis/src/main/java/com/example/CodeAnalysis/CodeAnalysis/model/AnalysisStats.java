@@ -0,0 +1,145 @@
+package com.example.CodeAnalysis.CodeAnalysis.model;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Per-run I/O and parsing counters. A healthy run reads and parses every
+ * discovered file at most once; files served from the cache are not parsed at all.
+ * Every discovered file is either read or counted unread, and every read file is
+ * either parsed or counted unparsed, so a file read or parsed twice shows up.
+ */
+public class AnalysisStats {
+    private final AtomicLong filesTotal = new AtomicLong();
+    private final AtomicLong filesProcessed = new AtomicLong();
+    private final AtomicLong filesDiscovered = new AtomicLong();
+    private final AtomicLong filesRead = new AtomicLong();
+    private final AtomicLong filesParsed = new AtomicLong();
+    private final AtomicLong parseFailures = new AtomicLong();
+    private final AtomicLong bytesRead = new AtomicLong();
+    private final AtomicLong cacheHits = new AtomicLong();
+    private final AtomicLong cacheMisses = new AtomicLong();
+    private final AtomicLong filesSkipped = new AtomicLong();
+    private final AtomicLong filesUnread = new AtomicLong();
+    private final AtomicLong filesUnparsed = new AtomicLong();
+
+    /**
+     * Files queued for processing; together with {@link #getFilesProcessed()} this
+     * gives the progress of a running analysis.
+     */
+    public void recordFilesQueued(int count) {
+        filesTotal.addAndGet(count);
+    }
+
+    public void recordFileProcessed() {
+        filesProcessed.incrementAndGet();
+    }
+
+    public void recordFileDiscovered() {
+        filesDiscovered.incrementAndGet();
+    }
+
+    public void recordFileRead(long bytes) {
+        filesRead.incrementAndGet();
+        bytesRead.addAndGet(bytes);
+    }
+
+    public void recordFileParsed() {
+        filesParsed.incrementAndGet();
+    }
+
+    public void recordParseFailure() {
+        parseFailures.incrementAndGet();
+    }
+
+    public void recordCacheHit() {
+        cacheHits.incrementAndGet();
+    }
+
+    public void recordCacheMiss() {
+        cacheMisses.incrementAndGet();
+    }
+
+    /**
+     * Files the byte-level prefilter ruled out, so they were never parsed.
+     */
+    public void recordFilesSkipped(int count) {
+        filesSkipped.addAndGet(count);
+    }
+
+    /**
+     * A discovered file whose content was never needed: unchanged since it was
+     * cached, or ruled out by a prefilter without reading it.
+     */
+    public void recordFileUnread() {
+        filesUnread.incrementAndGet();
+    }
+
+    /**
+     * A read file that needed no parsing: identical to its cached content, or ruled
+     * out by a prefilter.
+     */
+    public void recordFileUnparsed() {
+        filesUnparsed.incrementAndGet();
+    }
+
+    public long getFilesTotal() {
+        return filesTotal.get();
+    }
+
+    public long getFilesProcessed() {
+        return filesProcessed.get();
+    }
+
+    public long getFilesDiscovered() {
+        return filesDiscovered.get();
+    }
+
+    public long getFilesRead() {
+        return filesRead.get();
+    }
+
+    public long getFilesParsed() {
+        return filesParsed.get();
+    }
+
+    public long getParseFailures() {
+        return parseFailures.get();
+    }
+
+    public long getBytesRead() {
+        return bytesRead.get();
+    }
+
+    public long getCacheHits() {
+        return cacheHits.get();
+    }
+
+    public long getCacheMisses() {
+        return cacheMisses.get();
+    }
+
+    public long getFilesSkipped() {
+        return filesSkipped.get();
+    }
+
+    public long getFilesUnread() {
+        return filesUnread.get();
+    }
+
+    public long getFilesUnparsed() {
+        return filesUnparsed.get();
+    }
+
+    public boolean isSinglePass() {
+        return filesRead.get() + filesUnread.get() == filesDiscovered.get()
+                && filesParsed.get() + filesUnparsed.get() == filesRead.get();
+    }
+
+    @Override
+    public String toString() {
+        return String.format("processed=%d/%d, discovered=%d, read=%d, parsed=%d, failures=%d, bytes=%d, cacheHits=%d, cacheMisses=%d, skipped=%d, unread=%d, unparsed=%d",
+                getFilesProcessed(), getFilesTotal(), getFilesDiscovered(), getFilesRead(), getFilesParsed(),
+                getParseFailures(), getBytesRead(), getCacheHits(), getCacheMisses(), getFilesSkipped(),
+                getFilesUnread(), getFilesUnparsed());
+    }
+}
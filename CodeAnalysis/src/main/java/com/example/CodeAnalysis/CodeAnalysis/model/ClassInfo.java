@@ -1,51 +1,125 @@
 package com.example.CodeAnalysis.CodeAnalysis.model;
 
+import com.fasterxml.jackson.annotation.JsonPropertyOrder;
+import lombok.AccessLevel;
 import lombok.Data;
+import lombok.Getter;
 import lombok.NoArgsConstructor;
-import lombok.AllArgsConstructor;
+import lombok.Setter;
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.List;
 
+/**
+ * A parsed class. Package, method, field and annotation names are interned through
+ * the {@link SymbolTable} and held as arrays; the getters return read-only lists.
+ */
 @Data
 @NoArgsConstructor
-@AllArgsConstructor
+@JsonPropertyOrder({"className", "packageName", "filePath", "classType", "methods", "fields", "annotations",
+        "impactReason", "apiEndpoints", "usageCount", "impactDepth", "impactPath"})
 public class ClassInfo {
+    private static final String[] NO_NAMES = new String[0];
+
     private String className;
     private String packageName;
     private String filePath;
-    private String classType; // Repository, Entity, Service, Controller
-    private List<String> methods = new ArrayList<>();
-    private List<String> fields = new ArrayList<>();
-    private List<String> annotations = new ArrayList<>();
+    private String classType; // Repository, Entity, Service, Controller, Component, Configuration
+    @Getter(AccessLevel.NONE) @Setter(AccessLevel.NONE)
+    private String[] methods = NO_NAMES;
+    @Getter(AccessLevel.NONE) @Setter(AccessLevel.NONE)
+    private String[] fields = NO_NAMES;
+    @Getter(AccessLevel.NONE) @Setter(AccessLevel.NONE)
+    private String[] annotations = NO_NAMES;
     private String impactReason; // Why this class is impacted
-    private List<String> apiEndpoints = new ArrayList<>(); // For controllers
+    @Getter(AccessLevel.NONE) @Setter(AccessLevel.NONE)
+    private String[] apiEndpoints = NO_NAMES; // For controllers
     private int usageCount = 0; // Number of times column is used in this class
+    private int impactDepth = 0; // Dependency hops from the nearest directly impacted class
+    private List<String> impactPath = new ArrayList<>(); // Classes the impact travelled through, ending here
 
     public ClassInfo(String className, String packageName, String filePath, String classType) {
         this.className = className;
-        this.packageName = packageName;
+        setPackageName(packageName);
         this.filePath = filePath;
         this.classType = classType;
     }
 
+    public void setPackageName(String packageName) {
+        this.packageName = SymbolTable.GLOBAL.intern(packageName);
+    }
+
+    public List<String> getMethods() {
+        return SymbolTable.names(methods);
+    }
+
+    public void setMethods(List<String> methods) {
+        this.methods = SymbolTable.GLOBAL.internAll(methods);
+    }
+
+    public List<String> getFields() {
+        return SymbolTable.names(fields);
+    }
+
+    public void setFields(List<String> fields) {
+        this.fields = SymbolTable.GLOBAL.internAll(fields);
+    }
+
+    public List<String> getAnnotations() {
+        return SymbolTable.names(annotations);
+    }
+
+    public void setAnnotations(List<String> annotations) {
+        this.annotations = SymbolTable.GLOBAL.internAll(annotations);
+    }
+
+    public List<String> getApiEndpoints() {
+        return SymbolTable.names(apiEndpoints);
+    }
+
+    public void setApiEndpoints(List<String> apiEndpoints) {
+        // Endpoints are mostly unique per class, so they are kept as they are
+        this.apiEndpoints = apiEndpoints == null || apiEndpoints.isEmpty() ? NO_NAMES
+                : apiEndpoints.toArray(new String[0]);
+    }
+
     public void addMethod(String method) {
-        if (methods == null) methods = new ArrayList<>();
-        this.methods.add(method);
+        this.methods = SymbolTable.GLOBAL.append(methods, method);
     }
 
     public void addField(String field) {
-        if (fields == null) fields = new ArrayList<>();
-        this.fields.add(field);
+        this.fields = SymbolTable.GLOBAL.append(fields, field);
     }
 
     public void addAnnotation(String annotation) {
-        if (annotations == null) annotations = new ArrayList<>();
-        this.annotations.add(annotation);
+        this.annotations = SymbolTable.GLOBAL.append(annotations, annotation);
     }
 
     public void addApiEndpoint(String endpoint) {
-        if (apiEndpoints == null) apiEndpoints = new ArrayList<>();
-        this.apiEndpoints.add(endpoint);
+        String[] grown = Arrays.copyOf(apiEndpoints, apiEndpoints.length + 1);
+        grown[apiEndpoints.length] = endpoint;
+        this.apiEndpoints = grown;
+    }
+
+    /**
+     * Copy carrying its own impact state, so cached instances are never mutated by a
+     * run. The extracted name arrays are shared since analysis never modifies them.
+     */
+    public ClassInfo copy() {
+        ClassInfo copy = new ClassInfo();
+        copy.className = className;
+        copy.packageName = packageName;
+        copy.filePath = filePath;
+        copy.classType = classType;
+        copy.methods = methods;
+        copy.fields = fields;
+        copy.annotations = annotations;
+        copy.impactReason = impactReason;
+        copy.apiEndpoints = apiEndpoints;
+        copy.usageCount = usageCount;
+        copy.impactDepth = impactDepth;
+        copy.impactPath = impactPath;
+        return copy;
     }
 
     public void incrementUsageCount() {
@@ -53,6 +127,7 @@ public class ClassInfo {
     }
 
     public String getFullClassName() {
+        String packageName = getPackageName();
         return packageName.isEmpty() ? className : packageName + "." + className;
     }
 
@@ -0,0 +1,118 @@
+package com.example.CodeAnalysis.CodeAnalysis.model;
+
+import java.util.AbstractList;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Column usages stored column-wise: class, method, context and file are ids into a
+ * shared string dictionary, the usage type is a byte and line numbers a plain int
+ * array, so a row costs 21 bytes however many usages repeat the same strings.
+ * Reading an element renders a {@link ColumnUsage}, so the store can be used, and
+ * serialized, wherever a list of usages is expected.
+ */
+public class ColumnUsageStore extends AbstractList<ColumnUsage> {
+    private static final int NULL_ID = -1;
+
+    private final List<String> strings = new ArrayList<>();
+    private final Map<String, Integer> stringIds = new HashMap<>();
+    private final List<String> usageTypes = new ArrayList<>();
+
+    private int size;
+    private int[] classIds = new int[16];
+    private int[] methodIds = new int[16];
+    private int[] contextIds = new int[16];
+    private int[] fileIds = new int[16];
+    private int[] lineNumbers = new int[16];
+    private byte[] usageTypeIds = new byte[16];
+
+    @Override
+    public boolean add(ColumnUsage usage) {
+        if (size == lineNumbers.length) {
+            grow();
+        }
+        classIds[size] = idOf(usage.getClassName());
+        methodIds[size] = idOf(usage.getMethodName());
+        contextIds[size] = idOf(usage.getContext());
+        fileIds[size] = idOf(usage.getFilePath());
+        lineNumbers[size] = usage.getLineNumber();
+        usageTypeIds[size] = usageTypeIdOf(usage.getUsageType());
+        size++;
+        modCount++;
+        return true;
+    }
+
+    @Override
+    public ColumnUsage get(int index) {
+        if (index < 0 || index >= size) {
+            throw new IndexOutOfBoundsException("Index " + index + " out of bounds for length " + size);
+        }
+        int usageType = usageTypeIds[index];
+        return new ColumnUsage(string(classIds[index]), string(methodIds[index]),
+                usageType == NULL_ID ? null : usageTypes.get(usageType), string(contextIds[index]),
+                lineNumbers[index], string(fileIds[index]));
+    }
+
+    @Override
+    public int size() {
+        return size;
+    }
+
+    @Override
+    public void clear() {
+        size = 0;
+        modCount++;
+    }
+
+    /**
+     * Distinct strings held for all rows.
+     */
+    public int getDictionarySize() {
+        return strings.size();
+    }
+
+    private int idOf(String value) {
+        if (value == null) {
+            return NULL_ID;
+        }
+        Integer id = stringIds.get(value);
+        if (id == null) {
+            id = strings.size();
+            strings.add(value);
+            stringIds.put(value, id);
+        }
+        return id;
+    }
+
+    private byte usageTypeIdOf(String usageType) {
+        if (usageType == null) {
+            return NULL_ID;
+        }
+        int id = usageTypes.indexOf(usageType);
+        if (id < 0) {
+            if (usageTypes.size() == Byte.MAX_VALUE) {
+                throw new IllegalStateException("Too many distinct usage types: " + usageType);
+            }
+            id = usageTypes.size();
+            usageTypes.add(usageType);
+        }
+        return (byte) id;
+    }
+
+    private String string(int id) {
+        return id == NULL_ID ? null : strings.get(id);
+    }
+
+    private void grow() {
+        int capacity = lineNumbers.length + (lineNumbers.length >> 1);
+        classIds = Arrays.copyOf(classIds, capacity);
+        methodIds = Arrays.copyOf(methodIds, capacity);
+        contextIds = Arrays.copyOf(contextIds, capacity);
+        fileIds = Arrays.copyOf(fileIds, capacity);
+        lineNumbers = Arrays.copyOf(lineNumbers, capacity);
+        usageTypeIds = Arrays.copyOf(usageTypeIds, capacity);
+    }
+}
@@ -15,9 +15,11 @@ public class ImpactResult {
     private List<ClassInfo> entities = new ArrayList<>();
     private List<ClassInfo> services = new ArrayList<>();
     private List<ClassInfo> controllers = new ArrayList<>();
-    private List<ColumnUsage> columnUsages = new ArrayList<>();
+    private List<ClassInfo> components = new ArrayList<>(); // Components, listeners, schedulers, configuration
+    private ColumnUsageStore columnUsages = new ColumnUsageStore(); // Columnar; reads render ColumnUsage views
     private long analysisTimeMs;
     private LocalDateTime analysisDate;
+    private AnalysisStats stats = new AnalysisStats();
 
     public ImpactResult(String columnName) {
         this.columnName = columnName;
@@ -41,12 +43,16 @@ public class ImpactResult {
         this.controllers.add(classInfo);
     }
 
+    public void addComponent(ClassInfo classInfo) {
+        this.components.add(classInfo);
+    }
+
     public void addColumnUsage(ColumnUsage usage) {
         this.columnUsages.add(usage);
     }
 
     public int getTotalImpactedClasses() {
-        return repositories.size() + entities.size() + services.size() + controllers.size();
+        return repositories.size() + entities.size() + services.size() + controllers.size() + components.size();
     }
 
     public int getTotalUsages() {
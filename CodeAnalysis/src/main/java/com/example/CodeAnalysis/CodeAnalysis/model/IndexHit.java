@@ -0,0 +1,18 @@
+package com.example.CodeAnalysis.CodeAnalysis.model;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * One occurrence of a token found through the identifier index.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class IndexHit {
+    private String filePath;
+    private int lineNumber;
+    private String kind; // IDENTIFIER, STRING, COMMENT
+    private String token; // Normalized: lower case, without underscores
+}
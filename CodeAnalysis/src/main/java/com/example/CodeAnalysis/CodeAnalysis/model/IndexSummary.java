@@ -0,0 +1,19 @@
+package com.example.CodeAnalysis.CodeAnalysis.model;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * The state of a project's identifier index after an update.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class IndexSummary {
+    private String projectPath;
+    private int indexedFiles;
+    private int changedFiles;
+    private int segments;
+    private long sizeBytes;
+}
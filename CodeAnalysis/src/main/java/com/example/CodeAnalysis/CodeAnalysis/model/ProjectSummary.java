@@ -0,0 +1,23 @@
+package com.example.CodeAnalysis.CodeAnalysis.model;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+/**
+ * What is known about a project held in memory: size, load cost and footprint.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class ProjectSummary {
+    private String projectPath;
+    private int classCount;
+    private int dependencyCount;
+    private LocalDateTime loadedAt;
+    private long loadTimeMs;
+    private long estimatedBytes;
+    private AnalysisStats loadStats;
+}
@@ -0,0 +1,69 @@
+package com.example.CodeAnalysis.CodeAnalysis.model;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.ArrayList;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * Column-independent facts extracted from one parsed Java file: everything the
+ * column matchers and indirect-impact checks need, without the AST.
+ */
+@Data
+@NoArgsConstructor
+public class SourceFacts {
+    private String filePath;
+    private ClassInfo classInfo;
+    private List<FieldFact> fields = new ArrayList<>();
+    private List<QueryFact> queries = new ArrayList<>();
+    private List<MethodFact> methods = new ArrayList<>();
+    private List<StringLineFact> stringLines = new ArrayList<>();
+    private Set<String> referencedTypes = new LinkedHashSet<>(); // Simple names of types used by fields, constructors and methods
+    private Set<String> supertypes = new LinkedHashSet<>(); // Simple names of extended and implemented types
+
+    public SourceFacts(String filePath, ClassInfo classInfo) {
+        this.filePath = filePath;
+        this.classInfo = classInfo;
+    }
+
+    @Data
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class FieldFact {
+        private int lineNumber;
+        private List<String> columnNames = new ArrayList<>(); // @Column(name = ...) values
+        private List<String> variableNames = new ArrayList<>();
+    }
+
+    @Data
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class QueryFact {
+        private int lineNumber;
+        private String query;
+    }
+
+    @Data
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class MethodFact {
+        private String name;
+        private int lineNumber;
+        // Distinct runs of letters, digits, _ and $ in the declaration and its comment, one per line.
+        // A column variant consists of such characters, so it is found in a token exactly when it is in the text
+        private String tokens;
+        private List<String> parameterNames = new ArrayList<>();
+    }
+
+    @Data
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class StringLineFact {
+        private int lineNumber;
+        private String text;
+    }
+}
@@ -0,0 +1,112 @@
+package com.example.CodeAnalysis.CodeAnalysis.model;
+
+import java.lang.ref.WeakReference;
+import java.util.AbstractList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.RandomAccess;
+import java.util.WeakHashMap;
+
+/**
+ * Interns identifiers (method, field, annotation and package names) so a name
+ * repeated across thousands of classes is held once; {@link ClassInfo} keeps arrays
+ * of the canonical strings. Entries are weak: a name no live model or cached fact
+ * refers to any more is collected and leaves the table, so renames, reparses and
+ * unloaded projects do not accumulate in a long-running server. Thread-safe:
+ * parsing workers intern concurrently, striped by hash to keep contention low.
+ */
+public final class SymbolTable {
+    public static final SymbolTable GLOBAL = new SymbolTable();
+
+    private static final String[] NO_NAMES = new String[0];
+    private static final int STRIPES = 32; // Power of two
+
+    private final Map<String, WeakReference<String>>[] stripes;
+
+    @SuppressWarnings("unchecked")
+    public SymbolTable() {
+        stripes = new Map[STRIPES];
+        for (int stripe = 0; stripe < STRIPES; stripe++) {
+            stripes[stripe] = new WeakHashMap<>();
+        }
+    }
+
+    /**
+     * The canonical instance of a name: the first one interned that is still alive.
+     */
+    public String intern(String name) {
+        if (name == null) {
+            return null;
+        }
+        int hash = name.hashCode();
+        Map<String, WeakReference<String>> stripe = stripes[(hash ^ hash >>> 16) & (STRIPES - 1)];
+        synchronized (stripe) {
+            WeakReference<String> reference = stripe.get(name);
+            String canonical = reference != null ? reference.get() : null;
+            if (canonical == null) {
+                stripe.put(name, new WeakReference<>(name));
+                canonical = name;
+            }
+            return canonical;
+        }
+    }
+
+    /**
+     * Number of names still referenced from outside the table.
+     */
+    public int size() {
+        int size = 0;
+        for (Map<String, WeakReference<String>> stripe : stripes) {
+            synchronized (stripe) {
+                size += stripe.size();
+            }
+        }
+        return size;
+    }
+
+    public String[] internAll(List<String> names) {
+        if (names == null || names.isEmpty()) {
+            return NO_NAMES;
+        }
+        String[] result = new String[names.size()];
+        for (int i = 0; i < result.length; i++) {
+            result[i] = intern(names.get(i));
+        }
+        return result;
+    }
+
+    /**
+     * Appends one interned name to a name array, returning the grown copy.
+     */
+    public String[] append(String[] names, String name) {
+        String[] result = Arrays.copyOf(names, names.length + 1);
+        result[names.length] = intern(name);
+        return result;
+    }
+
+    /**
+     * Read-only list view of a name array.
+     */
+    public static List<String> names(String[] names) {
+        return new NameList(names);
+    }
+
+    private static final class NameList extends AbstractList<String> implements RandomAccess {
+        private final String[] names;
+
+        NameList(String[] names) {
+            this.names = names;
+        }
+
+        @Override
+        public String get(int index) {
+            return names[index];
+        }
+
+        @Override
+        public int size() {
+            return names.length;
+        }
+    }
+}
@@ -1,5 +1,6 @@
 package com.example.CodeAnalysis.CodeAnalysis.parser;
 
+import com.example.CodeAnalysis.CodeAnalysis.model.AnalysisStats;
 import com.example.CodeAnalysis.CodeAnalysis.model.ClassInfo;
 import com.github.javaparser.JavaParser;
 import com.github.javaparser.ast.CompilationUnit;
@@ -9,112 +10,586 @@ import com.github.javaparser.ast.expr.AnnotationExpr;
 import com.github.javaparser.ast.expr.MemberValuePair;
 import com.github.javaparser.ast.expr.NormalAnnotationExpr;
 import com.github.javaparser.ast.expr.StringLiteralExpr;
+import jakarta.annotation.PreDestroy;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Component;
 
 import java.io.File;
-import java.io.FileInputStream;
 import java.io.IOException;
+import java.nio.file.DirectoryStream;
 import java.nio.file.Files;
+import java.nio.file.LinkOption;
 import java.nio.file.Path;
 import java.nio.file.Paths;
+import java.nio.file.attribute.BasicFileAttributes;
 import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
 import java.util.List;
+import java.util.Locale;
+import java.util.Objects;
 import java.util.Optional;
-import java.util.stream.Stream;
+import java.util.Queue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Consumer;
+import java.util.stream.Collectors;
 
 @Slf4j
 @Component
 public class JavaFileParser {
-    private final JavaParser javaParser;
+    // JavaParser instances are not thread-safe, so every parsing thread gets its own
+    private final ThreadLocal<JavaParser> javaParser = ThreadLocal.withInitial(JavaParser::new);
 
-    public JavaFileParser() {
-        this.javaParser = new JavaParser();
+    // Queued after the last file a walk finds
+    private static final Path END_OF_WALK = Paths.get("");
+
+    @Value("${code-analysis.parser.parallelism:0}")
+    private int parallelism;
+
+    @Value("${code-analysis.io.mode:inline}")
+    private String ioMode = "inline";
+
+    @Value("${code-analysis.io.threads:64}")
+    private int ioThreads = 64;
+
+    @Value("${code-analysis.walk.gitignore:true}")
+    private boolean walkGitignore = true;
+
+    @Value("${code-analysis.walk.skip-build-output:true}")
+    private boolean walkSkipBuildOutput = true;
+
+    @Value("${code-analysis.walk.include:}")
+    private String walkInclude = "";
+
+    @Value("${code-analysis.walk.exclude:}")
+    private String walkExclude = "";
+
+    private ForkJoinPool parsePool;
+    private ExecutorService ioExecutor;
+
+    /**
+     * Where blocking file I/O (directory walk and file reads) runs: INLINE on the
+     * parsing threads as part of each file's task, PLATFORM on a separate pool of
+     * {@code io.threads} threads, or VIRTUAL on one virtual thread per read (JDK 21+,
+     * otherwise PLATFORM). With separate I/O the parse pool only ever does CPU work.
+     */
+    public enum IoMode {
+        INLINE, PLATFORM, VIRTUAL
+    }
+
+    /**
+     * Number of threads used to parse files; 1 parses serially on the caller's
+     * thread and 0 or less uses every available processor.
+     */
+    public synchronized void setParallelism(int parallelism) {
+        this.parallelism = parallelism;
+        shutdown();
+    }
+
+    public int getEffectiveParallelism() {
+        return parallelism > 0 ? parallelism : Runtime.getRuntime().availableProcessors();
+    }
+
+    public synchronized void setIoMode(IoMode ioMode) {
+        this.ioMode = ioMode.name();
+        shutdown();
+    }
+
+    public IoMode getIoMode() {
+        return IoMode.valueOf(ioMode.trim().toUpperCase(Locale.ROOT));
+    }
+
+    /**
+     * Platform I/O threads, and with virtual threads the most reads in flight at once.
+     */
+    public synchronized void setIoThreads(int ioThreads) {
+        this.ioThreads = ioThreads;
+        shutdown();
+    }
+
+    @PreDestroy
+    public synchronized void shutdown() {
+        if (parsePool != null) {
+            parsePool.shutdown();
+            parsePool = null;
+        }
+        if (ioExecutor != null) {
+            ioExecutor.shutdown();
+            ioExecutor = null;
+        }
     }
 
     public List<ClassInfo> parseJavaFiles(String directoryPath) {
         List<ClassInfo> classInfoList = new ArrayList<>();
+        for (ParsedSource source : parseSources(directoryPath, new AnalysisStats())) {
+            classInfoList.add(source.getClassInfo());
+        }
+        return classInfoList;
+    }
+
+    public List<ParsedSource> parseSources(String directoryPath, AnalysisStats stats) {
+        List<ParsedSource> sources = processJavaFiles(directoryPath, path -> readSource(path, stats),
+                (path, bytes) -> parseSource(path, bytes, stats), stats).getResults();
+        log.info("Parsed {} Java files with {} thread(s), {} I/O ({})", sources.size(), getEffectiveParallelism(),
+                getIoMode(), stats);
+        return sources;
+    }
+
+    /**
+     * The walk rules of a project rooted at the given directory, as configured.
+     */
+    public SourceFilter sourceFilter(Path root) {
+        return new SourceFilter(root, walkGitignore, walkSkipBuildOutput, walkInclude, walkExclude);
+    }
+
+    /**
+     * Lists the Java files under a directory, sorted so that results come back in
+     * the same order regardless of thread count.
+     */
+    public List<Path> findJavaFiles(String directoryPath) {
         Path startPath = Paths.get(directoryPath);
 
         if (!Files.exists(startPath) || !Files.isDirectory(startPath)) {
             log.error("Invalid directory path: {}", directoryPath);
-            return classInfoList;
-        }
-
-        try (Stream<Path> paths = Files.walk(startPath)) {
-            paths.filter(path -> path.toString().endsWith(".java"))
-                    .forEach(path -> {
-                        try {
-                            ClassInfo classInfo = parseJavaFile(path.toFile());
-                            if (classInfo != null) {
-                                classInfoList.add(classInfo);
-                            }
-                        } catch (Exception e) {
-                            log.error("Error parsing file: {}", path, e);
-                        }
-                    });
-        } catch (IOException e) {
-            log.error("Error walking directory: {}", directoryPath, e);
+            return new ArrayList<>();
         }
 
-        log.info("Parsed {} Java files", classInfoList.size());
-        return classInfoList;
+        List<Path> javaFiles;
+        if (getIoMode() == IoMode.INLINE && getEffectiveParallelism() <= 1) {
+            javaFiles = new ArrayList<>();
+            walkSerially(startPath, sourceFilter(startPath), javaFiles);
+        } else {
+            Queue<Path> found = new ConcurrentLinkedQueue<>();
+            awaitWalk(new DirectoryWalk(sourceFilter(startPath), getWalkExecutor(), found::add).start(startPath));
+            javaFiles = new ArrayList<>(found);
+        }
+        javaFiles.sort(null);
+        return javaFiles;
     }
 
-    public ClassInfo parseJavaFile(File file) throws IOException {
-        try (FileInputStream fileInputStream = new FileInputStream(file)) {
-            Optional<CompilationUnit> compilationUnit = javaParser.parse(fileInputStream).getResult();
+    /**
+     * Walks a directory and runs a two-stage task (see {@link #processFiles(List, FileTask,
+     * StageTask, AnalysisStats)}) on every Java file as soon as the walk finds it, so
+     * reading and parsing overlap the listing of the rest of the tree. The files come
+     * back sorted, with the non-null results in the same order.
+     */
+    public <I, T> ProcessedFiles<T> processJavaFiles(String directoryPath, FileTask<I> read,
+                                                     StageTask<I, T> compute, AnalysisStats stats) {
+        long walkStart = System.nanoTime();
+        if (getIoMode() == IoMode.INLINE && getEffectiveParallelism() <= 1) {
+            List<Path> files = findJavaFiles(directoryPath);
+            long walkNanos = System.nanoTime() - walkStart;
+            return new ProcessedFiles<>(files, processFiles(files, read, compute, stats), walkNanos);
+        }
 
-            if (!compilationUnit.isPresent()) {
-                log.warn("Could not parse file: {}", file.getPath());
-                return null;
+        Path startPath = Paths.get(directoryPath);
+        if (!Files.exists(startPath) || !Files.isDirectory(startPath)) {
+            log.error("Invalid directory path: {}", directoryPath);
+            return new ProcessedFiles<>(new ArrayList<>(), new ArrayList<>(), 0);
+        }
+
+        BlockingQueue<Path> found = new LinkedBlockingQueue<>();
+        CompletableFuture<Void> walk = new DirectoryWalk(sourceFilter(startPath), getWalkExecutor(), found::add)
+                .start(startPath);
+        walk.whenComplete((ignored, error) -> found.add(END_OF_WALK));
+
+        Semaphore inFlight = new Semaphore(Math.max(1, ioThreads));
+        List<Path> files = new ArrayList<>();
+        List<CompletableFuture<T>> futures = new ArrayList<>();
+        long walkNanos;
+        try {
+            for (Path path = found.take(); path != END_OF_WALK; path = found.take()) {
+                stats.recordFilesQueued(1);
+                files.add(path);
+                futures.add(submit(path, read, compute, inFlight, stats));
             }
+            walkNanos = System.nanoTime() - walkStart;
+            awaitWalk(walk);
 
-            CompilationUnit cu = compilationUnit.get();
+            // Found in walk order, returned in the sorted order of findJavaFiles
+            Integer[] order = new Integer[files.size()];
+            for (int i = 0; i < order.length; i++) {
+                order[i] = i;
+            }
+            Arrays.sort(order, Comparator.comparing(files::get));
+            List<Path> sortedFiles = new ArrayList<>(order.length);
+            List<T> results = new ArrayList<>(order.length);
+            for (int index : order) {
+                sortedFiles.add(files.get(index));
+                T result = futures.get(index).get();
+                if (result != null) {
+                    results.add(result);
+                }
+            }
+            return new ProcessedFiles<>(sortedFiles, results, walkNanos);
+        } catch (InterruptedException e) {
+            futures.forEach(future -> future.cancel(true));
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted while parsing Java files", e);
+        } catch (ExecutionException e) {
+            throw new IllegalStateException("Parallel parsing failed", e.getCause());
+        }
+    }
 
-            // Get package name
-            String packageName = cu.getPackageDeclaration()
-                    .map(pd -> pd.getNameAsString())
-                    .orElse("");
+    private void walkSerially(Path directory, SourceFilter filter, List<Path> javaFiles) {
+        List<Path> directories = new ArrayList<>();
+        listDirectory(directory, filter, directories::add, javaFiles::add);
+        for (Path subdirectory : directories) {
+            walkSerially(subdirectory, filter, javaFiles);
+        }
+    }
 
-            // Find the main class
-            Optional<ClassOrInterfaceDeclaration> mainClass = cu.findFirst(ClassOrInterfaceDeclaration.class);
+    private void listDirectory(Path directory, SourceFilter filter, Consumer<Path> directories,
+                               Consumer<Path> javaFiles) {
+        try (DirectoryStream<Path> entries = Files.newDirectoryStream(directory)) {
+            for (Path entry : entries) {
+                // Like Files.walk, symbolic links to directories are not followed
+                BasicFileAttributes attributes = Files.readAttributes(entry, BasicFileAttributes.class,
+                        LinkOption.NOFOLLOW_LINKS);
+                if (attributes.isDirectory()) {
+                    if (filter.acceptsDirectory(entry)) {
+                        directories.accept(entry);
+                    }
+                } else if (filter.acceptsFile(entry)) {
+                    javaFiles.accept(entry);
+                }
+            }
+        } catch (IOException e) {
+            log.error("Error walking directory: {}", directory, e);
+        }
+    }
+
+    /**
+     * Directory walks run where file I/O runs: on the parse pool when INLINE, where a
+     * subdirectory forked by a worker goes onto that worker's own deque and idle
+     * workers steal whole subtrees, otherwise on the I/O executor.
+     */
+    private Executor getWalkExecutor() {
+        return getIoMode() == IoMode.INLINE ? getParsePool() : getIoExecutor();
+    }
+
+    private void awaitWalk(CompletableFuture<Void> walk) {
+        try {
+            walk.get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted while listing Java files", e);
+        } catch (ExecutionException e) {
+            throw new IllegalStateException("Listing Java files failed", e.getCause());
+        }
+    }
 
-            if (!mainClass.isPresent()) {
-                return null;
+    /**
+     * A tree walk with one task per directory. Each task hands the accepted Java files
+     * of its directory to the sink and submits a task for every accepted subdirectory;
+     * the walk is done when the last directory has been listed.
+     */
+    private class DirectoryWalk {
+        private final SourceFilter filter;
+        private final Executor executor;
+        private final Consumer<Path> sink;
+        private final AtomicInteger pending = new AtomicInteger();
+        private final CompletableFuture<Void> done = new CompletableFuture<>();
+
+        DirectoryWalk(SourceFilter filter, Executor executor, Consumer<Path> sink) {
+            this.filter = filter;
+            this.executor = executor;
+            this.sink = sink;
+        }
+
+        CompletableFuture<Void> start(Path root) {
+            fork(root);
+            return done;
+        }
+
+        private void fork(Path directory) {
+            pending.incrementAndGet();
+            try {
+                executor.execute(() -> list(directory));
+            } catch (RuntimeException e) {
+                done.completeExceptionally(e);
             }
+        }
 
-            ClassOrInterfaceDeclaration classDecl = mainClass.get();
-            String className = classDecl.getNameAsString();
-            String classType = determineClassType(classDecl, packageName, file.getName());
+        private void list(Path directory) {
+            try {
+                listDirectory(directory, filter, this::fork, sink);
+            } catch (RuntimeException e) {
+                done.completeExceptionally(e);
+            } finally {
+                if (pending.decrementAndGet() == 0) {
+                    done.complete(null);
+                }
+            }
+        }
+    }
 
-            ClassInfo classInfo = new ClassInfo(className, packageName, file.getPath(), classType);
+    /**
+     * The files a walk found, sorted, and the non-null results of processing them in
+     * file order. {@code walkNanos} is how long the walk took; processing overlaps it.
+     */
+    @Getter
+    @AllArgsConstructor
+    public static class ProcessedFiles<T> {
+        private final List<Path> files;
+        private final List<T> results;
+        private final long walkNanos;
+    }
 
-            // Extract annotations
-            for (AnnotationExpr annotation : classDecl.getAnnotations()) {
-                classInfo.addAnnotation(annotation.getNameAsString());
+    /**
+     * Runs a per-file task over the files, in parallel when configured, and returns
+     * the non-null results in file order. Failures are logged and skipped per file.
+     */
+    public <T> List<T> processFiles(List<Path> files, FileTask<T> task, AnalysisStats stats) {
+        stats.recordFilesQueued(files.size());
+        if (getEffectiveParallelism() <= 1 || files.size() <= 1) {
+            List<T> results = new ArrayList<>();
+            for (Path path : files) {
+                T result = runQuietly(path, task, stats);
+                if (result != null) {
+                    results.add(result);
+                }
             }
+            return results;
+        }
+
+        try {
+            // An ordered parallel stream keeps the encounter order of the sorted file list
+            return getParsePool().submit(() -> files.parallelStream()
+                    .map(path -> runQuietly(path, task, stats))
+                    .filter(Objects::nonNull)
+                    .collect(Collectors.toList())).get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted while parsing Java files", e);
+        } catch (ExecutionException e) {
+            throw new IllegalStateException("Parallel parsing failed", e.getCause());
+        }
+    }
+
+    /**
+     * Runs a per-file task in two stages: {@code read} does the blocking I/O and
+     * {@code compute} the CPU work on what was read (a null read skips the file).
+     * Unless the I/O mode is INLINE, reads run on the I/O executor and computation on
+     * the parse pool, with at most {@code io.threads} files in flight between them.
+     */
+    public <I, T> List<T> processFiles(List<Path> files, FileTask<I> read, StageTask<I, T> compute,
+                                       AnalysisStats stats) {
+        if (getIoMode() == IoMode.INLINE) {
+            return processFiles(files, path -> {
+                I input = read.apply(path);
+                return input != null ? compute.apply(path, input) : null;
+            }, stats);
+        }
 
-            // Extract fields
-            classDecl.getFields().forEach(field -> {
-                field.getVariables().forEach(variable -> {
-                    classInfo.addField(variable.getNameAsString());
+        stats.recordFilesQueued(files.size());
+        Semaphore inFlight = new Semaphore(Math.max(1, ioThreads));
+        List<CompletableFuture<T>> futures = new ArrayList<>(files.size());
+        try {
+            for (Path path : files) {
+                futures.add(submit(path, read, compute, inFlight, stats));
+            }
+
+            List<T> results = new ArrayList<>(files.size());
+            for (CompletableFuture<T> future : futures) {
+                T result = future.get();
+                if (result != null) {
+                    results.add(result);
+                }
+            }
+            return results;
+        } catch (InterruptedException e) {
+            futures.forEach(future -> future.cancel(true));
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted while parsing Java files", e);
+        } catch (ExecutionException e) {
+            throw new IllegalStateException("Parallel parsing failed", e.getCause());
+        }
+    }
+
+    /**
+     * Starts the two stages of one file. INLINE runs both as one task on the parse
+     * pool; otherwise the read runs on the I/O executor and the computation on the
+     * parse pool, with at most {@code io.threads} files in flight between them.
+     */
+    private <I, T> CompletableFuture<T> submit(Path path, FileTask<I> read, StageTask<I, T> compute,
+                                               Semaphore inFlight, AnalysisStats stats) throws InterruptedException {
+        if (getIoMode() == IoMode.INLINE) {
+            return CompletableFuture.supplyAsync(() -> runQuietly(path, file -> {
+                I input = read.apply(file);
+                return input != null ? compute.apply(file, input) : null;
+            }, stats), getParsePool());
+        }
+
+        // Bounds open files and the bytes waiting to be parsed
+        inFlight.acquire();
+        return CompletableFuture
+                .supplyAsync(() -> {
+                    stats.recordFileDiscovered();
+                    return callQuietly(path, () -> read.apply(path));
+                }, getIoExecutor())
+                .thenApplyAsync(input -> input != null
+                        ? callQuietly(path, () -> compute.apply(path, input)) : null, getParsePool())
+                .whenComplete((result, error) -> {
+                    stats.recordFileProcessed();
+                    inFlight.release();
                 });
-            });
+    }
+
+    private <T> T callQuietly(Path path, Callable<T> call) {
+        try {
+            return call.call();
+        } catch (Exception e) {
+            log.error("Error parsing file: {}", path, e);
+            return null;
+        }
+    }
+
+    private <T> T runQuietly(Path path, FileTask<T> task, AnalysisStats stats) {
+        stats.recordFileDiscovered();
+        try {
+            return task.apply(path);
+        } catch (Exception e) {
+            log.error("Error parsing file: {}", path, e);
+            return null;
+        } finally {
+            stats.recordFileProcessed();
+        }
+    }
 
-            // Extract methods and API endpoints
-            classDecl.getMethods().forEach(method -> {
-                String methodName = method.getNameAsString();
-                classInfo.addMethod(methodName);
+    private synchronized ForkJoinPool getParsePool() {
+        if (parsePool == null) {
+            parsePool = new ForkJoinPool(getEffectiveParallelism());
+        }
+        return parsePool;
+    }
 
-                // Extract API endpoints for controllers
-                if ("Controller".equals(classType)) {
-                    extractApiEndpoints(method, classInfo);
+    private synchronized ExecutorService getIoExecutor() {
+        if (ioExecutor == null) {
+            if (getIoMode() == IoMode.VIRTUAL && VirtualThreads.isAvailable()) {
+                ioExecutor = VirtualThreads.newPerTaskExecutor("code-analysis-io-");
+            } else {
+                if (getIoMode() == IoMode.VIRTUAL) {
+                    log.warn("Virtual threads need JDK 21 or later (running {}), using {} platform I/O threads",
+                            Runtime.version(), ioThreads);
                 }
-            });
+                AtomicInteger threadCount = new AtomicInteger();
+                ioExecutor = Executors.newFixedThreadPool(Math.max(1, ioThreads), runnable -> {
+                    Thread thread = new Thread(runnable, "code-analysis-io-" + threadCount.getAndIncrement());
+                    thread.setDaemon(true);
+                    return thread;
+                });
+            }
+        }
+        return ioExecutor;
+    }
 
-            return classInfo;
+    public ClassInfo parseJavaFile(File file) throws IOException {
+        ParsedSource source = parseSource(file.toPath(), new AnalysisStats());
+        return source != null ? source.getClassInfo() : null;
+    }
+
+    /**
+     * Reads the file into memory once and parses that buffer once. The returned
+     * source carries both the text and the AST for the downstream analyzers.
+     */
+    public ParsedSource parseSource(Path path, AnalysisStats stats) throws IOException {
+        return parseSource(path, readSource(path, stats), stats);
+    }
+
+    public byte[] readSource(Path path, AnalysisStats stats) throws IOException {
+        byte[] bytes = Files.readAllBytes(path);
+        stats.recordFileRead(bytes.length);
+        return bytes;
+    }
+
+    /**
+     * Parses a file whose bytes the caller has already read.
+     */
+    public ParsedSource parseSource(Path path, byte[] bytes, AnalysisStats stats) {
+        SourceBuffer buffer = SourceBuffer.decode(bytes);
+
+        Optional<CompilationUnit> compilationUnit = javaParser.get().parse(buffer.getText()).getResult();
+        stats.recordFileParsed();
+
+        if (!compilationUnit.isPresent()) {
+            stats.recordParseFailure();
+            log.warn("Could not parse file: {}", path);
+            return null;
+        }
+
+        CompilationUnit cu = compilationUnit.get();
+        ClassInfo classInfo = extractClassInfo(cu, path.toString(), path.getFileName().toString());
+        return classInfo != null ? new ParsedSource(path.toString(), buffer, cu, classInfo) : null;
+    }
+
+    @FunctionalInterface
+    public interface FileTask<T> {
+        T apply(Path path) throws IOException;
+    }
+
+    @FunctionalInterface
+    public interface StageTask<I, T> {
+        T apply(Path path, I input) throws IOException;
+    }
+
+    private ClassInfo extractClassInfo(CompilationUnit cu, String filePath, String fileName) {
+        // Get package name
+        String packageName = cu.getPackageDeclaration()
+                .map(pd -> pd.getNameAsString())
+                .orElse("");
+
+        // Find the main class
+        Optional<ClassOrInterfaceDeclaration> mainClass = cu.findFirst(ClassOrInterfaceDeclaration.class);
+
+        if (!mainClass.isPresent()) {
+            return null;
+        }
+
+        ClassOrInterfaceDeclaration classDecl = mainClass.get();
+        String className = classDecl.getNameAsString();
+        String classType = determineClassType(classDecl, packageName, fileName);
+
+        ClassInfo classInfo = new ClassInfo(className, packageName, filePath, classType);
+
+        // Extract annotations
+        for (AnnotationExpr annotation : classDecl.getAnnotations()) {
+            classInfo.addAnnotation(annotation.getNameAsString());
         }
+
+        // Extract fields
+        classDecl.getFields().forEach(field -> {
+            field.getVariables().forEach(variable -> {
+                classInfo.addField(variable.getNameAsString());
+            });
+        });
+
+        // Extract methods and API endpoints
+        classDecl.getMethods().forEach(method -> {
+            String methodName = method.getNameAsString();
+            classInfo.addMethod(methodName);
+
+            // Extract API endpoints for controllers
+            if ("Controller".equals(classType)) {
+                extractApiEndpoints(method, classInfo);
+            }
+        });
+
+        return classInfo;
     }
 
     private void extractApiEndpoints(MethodDeclaration method, ClassInfo classInfo) {
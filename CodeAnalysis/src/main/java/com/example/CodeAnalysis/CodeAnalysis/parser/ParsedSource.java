@@ -0,0 +1,24 @@
+package com.example.CodeAnalysis.CodeAnalysis.parser;
+
+import com.example.CodeAnalysis.CodeAnalysis.model.ClassInfo;
+import com.github.javaparser.ast.CompilationUnit;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+/**
+ * A Java file that has been read and parsed once. The source text with its line
+ * index and the AST are shared by every stage of the analysis so no stage has to
+ * go back to disk.
+ */
+@Getter
+@AllArgsConstructor
+public class ParsedSource {
+    private final String filePath;
+    private final SourceBuffer buffer;
+    private final CompilationUnit compilationUnit;
+    private final ClassInfo classInfo;
+
+    public String getContent() {
+        return buffer.getText();
+    }
+}
@@ -0,0 +1,375 @@
+package com.example.CodeAnalysis.CodeAnalysis.parser;
+
+import com.example.CodeAnalysis.CodeAnalysis.cache.SourceFactsCache;
+import com.example.CodeAnalysis.CodeAnalysis.matcher.SourcePrefilter;
+import com.example.CodeAnalysis.CodeAnalysis.metrics.AnalysisMetrics;
+import com.example.CodeAnalysis.CodeAnalysis.model.AnalysisStats;
+import com.example.CodeAnalysis.CodeAnalysis.model.SourceFacts;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.attribute.BasicFileAttributes;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * Produces the {@link SourceFacts} of every Java file in a project, serving
+ * unchanged files from the persistent cache and parsing only the rest.
+ */
+@Slf4j
+@Component
+public class ProjectScanner {
+
+    @Autowired
+    private JavaFileParser javaFileParser;
+
+    @Autowired
+    private SpringBootAnalyzer springBootAnalyzer;
+
+    @Autowired
+    private SourceFactsCache sourceFactsCache;
+
+    @Autowired
+    private AnalysisMetrics analysisMetrics;
+
+    @Value("${code-analysis.prefilter.held-bytes:67108864}")
+    private long heldBytesBudget;
+
+    /**
+     * Scans the project while it is walked: each file is read and parsed as soon as
+     * the walker finds it, so the walk phase overlaps the parse phase.
+     */
+    public List<SourceFacts> scan(String projectPath, AnalysisStats stats) {
+        long parseStart = System.nanoTime();
+        List<SourceFacts> facts = sourceFactsCache.isEnabled()
+                ? scanCached(projectPath, stats) : extractFacts(projectPath, stats);
+        recordParse(stats, System.nanoTime() - parseStart);
+        return facts;
+    }
+
+    private List<SourceFacts> scanCached(String projectPath, AnalysisStats stats) {
+        SourceFactsCache.ProjectCache cache = sourceFactsCache.open(projectPath);
+        JavaFileParser.ProcessedFiles<SourceFacts> scanned = javaFileParser.processJavaFiles(projectPath,
+                path -> readSource(path, cache, stats), (path, read) -> extractFacts(read, cache, stats), stats);
+        analysisMetrics.recordPhase("walk", scanned.getWalkNanos());
+        sourceFactsCache.save(cache, liveFiles(scanned.getFiles()));
+
+        log.info("Scanned {} Java files ({})", scanned.getFiles().size(), stats);
+        return scanned.getResults();
+    }
+
+    /**
+     * Re-extracts the facts of just the given files, e.g. ones a watcher saw change.
+     * {@code liveFiles} are all files still in the project, so the cache can drop the rest.
+     */
+    public List<SourceFacts> rescan(String projectPath, List<Path> files, Set<String> liveFiles, AnalysisStats stats) {
+        long parseStart = System.nanoTime();
+        List<SourceFacts> facts;
+        if (sourceFactsCache.isEnabled()) {
+            SourceFactsCache.ProjectCache cache = sourceFactsCache.open(projectPath);
+            facts = javaFileParser.processFiles(files, path -> readSource(path, cache, stats),
+                    (path, read) -> extractFacts(read, cache, stats), stats);
+            sourceFactsCache.save(cache, liveFiles);
+        } else {
+            facts = extractFacts(files, stats);
+        }
+        recordParse(stats, System.nanoTime() - parseStart);
+        return facts;
+    }
+
+    /**
+     * Scans only the files a byte-level prefilter cannot rule out, in rounds. Files
+     * the cache serves without reading are always kept; any other file is parsed once
+     * its bytes match the current round's prefilter. After each round {@code expand}
+     * gets all facts so far and returns the prefilter of the next round, or null to
+     * stop. Facts are returned in file order; the rest counts as skipped.
+     *
+     * Each file is walked and counted once: files a round rules out keep their bytes
+     * while those fit the held-bytes budget, and later rounds only test them against
+     * the names they add. Files over the budget, and large files tested mapped, are
+     * read or mapped again by the next round.
+     */
+    public List<SourceFacts> scanPrefiltered(String projectPath, SourcePrefilter prefilter,
+                                             Function<List<SourceFacts>, SourcePrefilter> expand,
+                                             AnalysisStats stats) {
+        long parseStart = System.nanoTime();
+        SourceFactsCache.ProjectCache cache = sourceFactsCache.isEnabled() ? sourceFactsCache.open(projectPath) : null;
+        Map<Path, SourceFacts> factsByPath = new ConcurrentHashMap<>();
+        JavaFileParser.StageTask<SourceRead, SourceFacts> extract = (path, read) -> {
+            SourceFacts facts = cache != null ? extractFacts(read, cache, stats) : parse(path, read.bytes, stats);
+            if (facts != null) {
+                factsByPath.put(path, facts);
+            }
+            return facts;
+        };
+
+        // The first round runs while the project is walked, later ones over the files it ruled out
+        RuledOut ruledOut = new RuledOut(heldBytesBudget);
+        SourcePrefilter firstPrefilter = prefilter;
+        JavaFileParser.ProcessedFiles<SourceFacts> walked = javaFileParser.processJavaFiles(projectPath,
+                path -> readPrefiltered(path, firstPrefilter, cache, ruledOut, stats), extract, stats);
+        analysisMetrics.recordPhase("walk", walked.getWalkNanos());
+        List<Path> files = walked.getFiles();
+        prefilter = ruledOut.reads.isEmpty() ? null : expand.apply(inFileOrder(files, factsByPath));
+        while (prefilter != null && !ruledOut.reads.isEmpty()) {
+            SourcePrefilter roundPrefilter = prefilter;
+            // Already queued and discovered in the first round; only reads and parses count again
+            javaFileParser.processFiles(heldInFileOrder(files, ruledOut),
+                    path -> rematch(ruledOut, path, roundPrefilter, stats), extract, new AnalysisStats());
+            prefilter = ruledOut.reads.isEmpty() ? null : expand.apply(inFileOrder(files, factsByPath));
+        }
+        if (ruledOut.rereads.get() > 0) {
+            log.info("Read {} ruled-out files again, they did not fit the held-bytes budget", ruledOut.rereads);
+        }
+        for (SourceRead read : ruledOut.reads.values()) {
+            if (read.counted) {
+                stats.recordFileUnparsed();
+            } else {
+                stats.recordFileUnread();
+            }
+        }
+        if (cache != null) {
+            // Skipped files keep their entries, they are still part of the project
+            sourceFactsCache.save(cache, liveFiles(files));
+        }
+
+        List<SourceFacts> facts = inFileOrder(files, factsByPath);
+        analysisMetrics.recordPrefilter(files.size(), files.size() - facts.size());
+        stats.recordFilesSkipped(files.size() - facts.size());
+        recordParse(stats, System.nanoTime() - parseStart);
+        log.info("Scanned {} of {} Java files after prefiltering ({})", facts.size(), files.size(), stats);
+        return facts;
+    }
+
+    private void recordParse(AnalysisStats stats, long nanos) {
+        analysisMetrics.recordPhase("parse", nanos);
+        analysisMetrics.recordScan(stats, nanos);
+    }
+
+    private List<SourceFacts> extractFacts(List<Path> files, AnalysisStats stats) {
+        return javaFileParser.processFiles(files, path -> javaFileParser.readSource(path, stats),
+                (path, bytes) -> parse(path, bytes, stats), stats);
+    }
+
+    private List<SourceFacts> extractFacts(String projectPath, AnalysisStats stats) {
+        JavaFileParser.ProcessedFiles<SourceFacts> scanned = javaFileParser.processJavaFiles(projectPath,
+                path -> javaFileParser.readSource(path, stats), (path, bytes) -> parse(path, bytes, stats), stats);
+        analysisMetrics.recordPhase("walk", scanned.getWalkNanos());
+        return scanned.getResults();
+    }
+
+    /**
+     * The I/O half of a cached scan: file attributes, and the content unless size and
+     * mtime show the file unchanged.
+     */
+    private SourceRead readSource(Path path, SourceFactsCache.ProjectCache cache, AnalysisStats stats) throws IOException {
+        SourceRead read = new SourceRead();
+        read.path = path;
+        BasicFileAttributes attributes = Files.readAttributes(path, BasicFileAttributes.class);
+        read.size = attributes.size();
+        read.lastModified = attributes.lastModifiedTime().toMillis();
+        read.entry = cache.get(path.toString());
+
+        // Unchanged size and mtime: no I/O and no parsing at all
+        if (read.entry == null || !cache.isUnchanged(read.entry, read.size, read.lastModified)) {
+            read.bytes = Files.readAllBytes(path);
+            stats.recordFileRead(read.bytes.length);
+        } else {
+            stats.recordFileUnread();
+        }
+        return read;
+    }
+
+    /**
+     * The I/O half of a prefiltered scan: null when the prefilter rules the file out,
+     * which then goes into {@code ruledOut} for later rounds.
+     */
+    private SourceRead readPrefiltered(Path path, SourcePrefilter prefilter, SourceFactsCache.ProjectCache cache,
+                                       RuledOut ruledOut, AnalysisStats stats) throws IOException {
+        SourceRead read = new SourceRead();
+        read.path = path;
+        BasicFileAttributes attributes = Files.readAttributes(path, BasicFileAttributes.class);
+        read.size = attributes.size();
+        read.lastModified = attributes.lastModifiedTime().toMillis();
+        if (cache != null) {
+            read.entry = cache.get(path.toString());
+            if (read.entry != null && cache.isUnchanged(read.entry, read.size, read.lastModified)) {
+                stats.recordFileUnread();
+                return read;
+            }
+        }
+
+        if (select(read, prefilter, ruledOut, stats)) {
+            return read;
+        }
+        ruledOut.hold(read);
+        return null;
+    }
+
+    /**
+     * Tests a file an earlier round ruled out against a later round's prefilter,
+     * taking it out of {@code ruledOut} when it matches.
+     */
+    private SourceRead rematch(RuledOut ruledOut, Path path, SourcePrefilter prefilter,
+                               AnalysisStats stats) throws IOException {
+        SourceRead read = ruledOut.reads.get(path);
+        if (!select(read, prefilter, ruledOut, stats)) {
+            ruledOut.hold(read);
+            return null;
+        }
+        ruledOut.release(read);
+        return read;
+    }
+
+    /**
+     * Whether the prefilter accepts a file, reading it in full if so. Small files are
+     * read, large ones tested memory-mapped and read only when they match, and files
+     * decided by path are not touched at all.
+     */
+    private boolean select(SourceRead read, SourcePrefilter prefilter, RuledOut ruledOut,
+                           AnalysisStats stats) throws IOException {
+        Boolean matches = prefilter.matchesPath(read.path);
+        if (matches == null) {
+            if (read.bytes == null) {
+                if (read.size < SourcePrefilter.MAP_THRESHOLD) {
+                    readContent(read, ruledOut, stats);
+                } else {
+                    read.mapped = SourcePrefilter.map(read.path);
+                }
+            }
+            matches = read.bytes != null ? prefilter.matches(read.bytes) : prefilter.matches(read.mapped);
+            read.mapped = null;
+        }
+        if (matches && read.bytes == null) {
+            readContent(read, ruledOut, stats);
+        }
+        return matches;
+    }
+
+    /**
+     * Reads a file's bytes, counting the read only the first time: a file dropped from
+     * the held bytes is read again without being counted twice.
+     */
+    private static void readContent(SourceRead read, RuledOut ruledOut, AnalysisStats stats) throws IOException {
+        read.bytes = Files.readAllBytes(read.path);
+        if (read.counted) {
+            ruledOut.rereads.incrementAndGet();
+        } else {
+            read.counted = true;
+            stats.recordFileRead(read.bytes.length);
+        }
+    }
+
+    private SourceFacts parse(Path path, byte[] bytes, AnalysisStats stats) {
+        ParsedSource source = javaFileParser.parseSource(path, bytes, stats);
+        return source != null ? springBootAnalyzer.extractFacts(source) : null;
+    }
+
+    private static List<Path> heldInFileOrder(List<Path> files, RuledOut ruledOut) {
+        return files.stream().filter(ruledOut.reads::containsKey).collect(Collectors.toList());
+    }
+
+    private static Set<String> liveFiles(List<Path> files) {
+        return files.stream().map(Path::toString).collect(Collectors.toSet());
+    }
+
+    private static List<SourceFacts> inFileOrder(List<Path> files, Map<Path, SourceFacts> factsByPath) {
+        List<SourceFacts> facts = new ArrayList<>(factsByPath.size());
+        for (Path path : files) {
+            SourceFacts fileFacts = factsByPath.get(path);
+            if (fileFacts != null) {
+                facts.add(fileFacts);
+            }
+        }
+        return facts;
+    }
+
+    /**
+     * The CPU half: hashing, and parsing only when the content really changed.
+     */
+    private SourceFacts extractFacts(SourceRead read, SourceFactsCache.ProjectCache cache, AnalysisStats stats) {
+        String key = read.path.toString();
+        SourceFactsCache.CacheEntry entry = read.entry;
+        if (read.bytes == null) {
+            stats.recordCacheHit();
+            return entry.getFacts();
+        }
+
+        String hash = SourceFactsCache.hash(read.bytes);
+
+        // Touched but identical content: refresh the metadata, skip parsing
+        if (entry != null && hash.equals(entry.getHash())) {
+            stats.recordCacheHit();
+            stats.recordFileUnparsed();
+            cache.put(new SourceFactsCache.CacheEntry(key, read.size, read.lastModified, System.currentTimeMillis(),
+                    hash, entry.getFacts()));
+            return entry.getFacts();
+        }
+
+        stats.recordCacheMiss();
+        ParsedSource source = javaFileParser.parseSource(read.path, read.bytes, stats);
+        SourceFacts facts = source != null ? springBootAnalyzer.extractFacts(source) : null;
+        cache.put(new SourceFactsCache.CacheEntry(key, read.size, read.lastModified, System.currentTimeMillis(),
+                hash, facts));
+        return facts;
+    }
+
+    private static class SourceRead {
+        private Path path;
+        private long size;
+        private long lastModified;
+        private SourceFactsCache.CacheEntry entry;
+        private byte[] bytes;
+        private ByteBuffer mapped; // Large files tested without reading, only during one test
+        private boolean counted; // Read once already, so recorded in the stats
+        private boolean held; // Bytes kept between rounds, within the budget
+    }
+
+    /**
+     * Files ruled out so far, keeping their bytes for later rounds up to a total budget.
+     * Those over it keep only their attributes and are read again when tested.
+     */
+    private static class RuledOut {
+        private final Map<Path, SourceRead> reads = new ConcurrentHashMap<>();
+        private final AtomicLong heldBytes = new AtomicLong();
+        private final AtomicLong rereads = new AtomicLong();
+        private final long budget;
+
+        RuledOut(long budget) {
+            this.budget = budget;
+        }
+
+        void hold(SourceRead read) {
+            reads.put(read.path, read);
+            if (read.bytes == null || read.held) {
+                return;
+            }
+            if (heldBytes.addAndGet(read.bytes.length) <= budget) {
+                read.held = true;
+            } else {
+                heldBytes.addAndGet(-read.bytes.length);
+                read.bytes = null;
+            }
+        }
+
+        void release(SourceRead read) {
+            reads.remove(read.path);
+            if (read.held) {
+                heldBytes.addAndGet(-read.bytes.length);
+                read.held = false;
+            }
+        }
+    }
+}
@@ -0,0 +1,89 @@
+package com.example.CodeAnalysis.CodeAnalysis.parser;
+
+import java.nio.CharBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+
+/**
+ * The text of one source file with the offset of every line start, indexed in a
+ * single pass. Lines and ranges are served as {@link CharSequence} views into the
+ * text without copying, and an offset maps to its line by binary search. Lines end
+ * at \n, \r\n or \r, as in the parser's positions. Line and column numbers are 1-based.
+ */
+public final class SourceBuffer {
+    private final String text;
+    private final int[] lineStarts;
+
+    public SourceBuffer(String text) {
+        this.text = text;
+        this.lineStarts = indexLines(text);
+    }
+
+    public static SourceBuffer decode(byte[] bytes) {
+        return new SourceBuffer(new String(bytes, StandardCharsets.UTF_8));
+    }
+
+    public String getText() {
+        return text;
+    }
+
+    public int lineCount() {
+        return lineStarts.length;
+    }
+
+    public int lineStart(int line) {
+        return lineStarts[line - 1];
+    }
+
+    /**
+     * Offset just past the last character of the line, before its terminator.
+     */
+    public int lineEnd(int line) {
+        if (line == lineStarts.length) {
+            return text.length();
+        }
+        int end = lineStarts[line] - 1;
+        if (text.charAt(end) == '\n' && end > lineStarts[line - 1] && text.charAt(end - 1) == '\r') {
+            end--;
+        }
+        return end;
+    }
+
+    public CharSequence line(int line) {
+        return view(lineStart(line), lineEnd(line));
+    }
+
+    public CharSequence view(int start, int end) {
+        return CharBuffer.wrap(text, start, end);
+    }
+
+    /**
+     * The line an offset falls on.
+     */
+    public int lineOf(int offset) {
+        int index = Arrays.binarySearch(lineStarts, offset);
+        return index >= 0 ? index + 1 : -index - 1;
+    }
+
+    public int offsetOf(int line, int column) {
+        return lineStarts[line - 1] + column - 1;
+    }
+
+    private static int[] indexLines(String text) {
+        int[] starts = new int[16];
+        int count = 1;
+        for (int i = 0; i < text.length(); i++) {
+            char c = text.charAt(i);
+            if (c == '\r' && i + 1 < text.length() && text.charAt(i + 1) == '\n') {
+                i++;
+            } else if (c != '\r' && c != '\n') {
+                continue;
+            }
+            if (count == starts.length) {
+                starts = Arrays.copyOf(starts, count * 2);
+            }
+            starts[count++] = i + 1;
+        }
+        return Arrays.copyOf(starts, count);
+    }
+}
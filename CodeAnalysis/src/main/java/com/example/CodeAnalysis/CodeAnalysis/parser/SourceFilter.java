@@ -0,0 +1,325 @@
+package com.example.CodeAnalysis.CodeAnalysis.parser;
+
+import lombok.extern.slf4j.Slf4j;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.DirectoryStream;
+import java.nio.file.FileSystems;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.PathMatcher;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.regex.Pattern;
+
+/**
+ * Decides which directories and Java files under a project root belong to its
+ * sources. A path is left out when it is ignored by a .gitignore file (the root's,
+ * those below it, and those above it up to the enclosing git work tree, plus
+ * .git/info/exclude), when it is build output, or when it matches an exclude glob;
+ * with include globs a file must match one of them. Globs are matched against the
+ * path relative to the root, with / as separator.
+ *
+ * Build output is VCS and IDE metadata, node_modules, and any target, build, out or
+ * bin directory next to a build or IDE project file, which is what keeps a package
+ * named "build" in the sources. Directories are decided before they are listed, so
+ * nothing under an excluded directory is ever visited.
+ */
+@Slf4j
+public final class SourceFilter {
+    private static final Set<String> METADATA_DIRECTORIES = Set.of(".git", ".hg", ".svn", ".idea", ".gradle",
+            ".mvn", "node_modules");
+    private static final Set<String> OUTPUT_DIRECTORIES = Set.of("target", "build", "out", "bin");
+    private static final List<String> PROJECT_FILES = List.of("pom.xml", "build.gradle", "build.gradle.kts",
+            "build.xml", ".project");
+
+    private final Path root;
+    private final boolean gitignore;
+    private final boolean skipBuildOutput;
+    private final List<PathMatcher> includes;
+    private final List<PathMatcher> excludes;
+    // .gitignore files of the work tree above the root, outermost first
+    private final List<Path> outerDirectories = new ArrayList<>();
+    private final Map<Path, List<IgnoreRule>> rulesByDirectory = new ConcurrentHashMap<>();
+
+    public SourceFilter(Path root, boolean gitignore, boolean skipBuildOutput, String includes, String excludes) {
+        this.root = root;
+        this.gitignore = gitignore;
+        this.skipBuildOutput = skipBuildOutput;
+        this.includes = globs(includes);
+        this.excludes = globs(excludes);
+        if (gitignore) {
+            findWorkTree();
+        }
+    }
+
+    public Path getRoot() {
+        return root;
+    }
+
+    /**
+     * Whether a directory is walked, given that its ancestors are.
+     */
+    public boolean acceptsDirectory(Path directory) {
+        if (directory.equals(root)) {
+            return true;
+        }
+        String name = directory.getFileName().toString();
+        if (skipBuildOutput && (METADATA_DIRECTORIES.contains(name)
+                || OUTPUT_DIRECTORIES.contains(name) && isProjectDirectory(directory.getParent()))) {
+            return false;
+        }
+        String relative = relative(directory);
+        return !matchesAny(excludes, relative) && !isIgnored(directory, true);
+    }
+
+    /**
+     * Whether a file is a source, given that its directory is walked.
+     */
+    public boolean acceptsFile(Path file) {
+        if (!file.toString().endsWith(".java")) {
+            return false;
+        }
+        String relative = relative(file);
+        return (includes.isEmpty() || matchesAny(includes, relative)) && !matchesAny(excludes, relative)
+                && !isIgnored(file, false);
+    }
+
+    /**
+     * Whether a file anywhere under the root is a source, checking every directory
+     * on the way to it, e.g. for paths reported by a file watcher.
+     */
+    public boolean includes(Path file) {
+        return acceptsAncestors(file) && acceptsFile(file);
+    }
+
+    public boolean includesDirectory(Path directory) {
+        return directory.equals(root) || acceptsAncestors(directory) && acceptsDirectory(directory);
+    }
+
+    private boolean acceptsAncestors(Path path) {
+        if (!path.startsWith(root) || path.equals(root)) {
+            return false;
+        }
+        Path relative = root.relativize(path);
+        Path directory = root;
+        for (int name = 0; name < relative.getNameCount() - 1; name++) {
+            directory = directory.resolve(relative.getName(name));
+            if (!acceptsDirectory(directory)) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private boolean isIgnored(Path path, boolean directory) {
+        if (!gitignore) {
+            return false;
+        }
+        // Deeper and later rules override earlier ones, so the last match decides
+        Boolean ignored = null;
+        if (!outerDirectories.isEmpty()) {
+            Path absolute = path.toAbsolutePath().normalize();
+            for (Path outer : outerDirectories) {
+                ignored = match(outer, absolute, directory, ignored);
+            }
+        }
+        ignored = matchFromRoot(path.getParent(), path, directory, ignored);
+        return ignored != null && ignored;
+    }
+
+    private Boolean matchFromRoot(Path base, Path path, boolean directory, Boolean ignored) {
+        if (!base.equals(root)) {
+            ignored = matchFromRoot(base.getParent(), path, directory, ignored);
+        }
+        return match(base, path, directory, ignored);
+    }
+
+    private Boolean match(Path base, Path path, boolean directory, Boolean ignored) {
+        List<IgnoreRule> rules = rulesByDirectory.computeIfAbsent(base, this::loadRules);
+        if (rules.isEmpty()) {
+            return ignored;
+        }
+        String relative = base.relativize(path).toString().replace('\\', '/');
+        for (IgnoreRule rule : rules) {
+            if ((directory || !rule.directoryOnly) && rule.pattern.matcher(relative).matches()) {
+                ignored = !rule.negated;
+            }
+        }
+        return ignored;
+    }
+
+    private List<IgnoreRule> loadRules(Path directory) {
+        List<IgnoreRule> rules = new ArrayList<>();
+        readRules(directory.resolve(".gitignore"), rules);
+        if (outerDirectories.isEmpty() ? directory.equals(root) : directory.equals(outerDirectories.get(0))) {
+            readRules(directory.resolve(".git").resolve("info").resolve("exclude"), rules);
+        }
+        return rules.isEmpty() ? List.of() : rules;
+    }
+
+    private void readRules(Path file, List<IgnoreRule> rules) {
+        if (!Files.isRegularFile(file)) {
+            return;
+        }
+        try {
+            for (String line : Files.readAllLines(file, StandardCharsets.UTF_8)) {
+                IgnoreRule rule = IgnoreRule.parse(line);
+                if (rule != null) {
+                    rules.add(rule);
+                }
+            }
+        } catch (IOException e) {
+            log.warn("Could not read ignore file {}: {}", file, e.getMessage());
+        }
+    }
+
+    /**
+     * A root inside a git work tree also follows the .gitignore files between the two.
+     */
+    private void findWorkTree() {
+        if (Files.exists(root.resolve(".git"))) {
+            return;
+        }
+        Path absoluteRoot = root.toAbsolutePath().normalize();
+        for (Path top = absoluteRoot.getParent(); top != null; top = top.getParent()) {
+            if (Files.exists(top.resolve(".git"))) {
+                for (Path outer = absoluteRoot.getParent(); !outer.equals(top); outer = outer.getParent()) {
+                    outerDirectories.add(0, outer);
+                }
+                outerDirectories.add(0, top);
+                return;
+            }
+        }
+    }
+
+    private static boolean isProjectDirectory(Path directory) {
+        for (String projectFile : PROJECT_FILES) {
+            if (Files.exists(directory.resolve(projectFile))) {
+                return true;
+            }
+        }
+        // IntelliJ modules are named after the directory, but any .iml will do
+        try (DirectoryStream<Path> entries = Files.newDirectoryStream(directory, "*.iml")) {
+            return entries.iterator().hasNext();
+        } catch (IOException e) {
+            return false;
+        }
+    }
+
+    private String relative(Path path) {
+        return root.relativize(path).toString().replace('\\', '/');
+    }
+
+    private static boolean matchesAny(List<PathMatcher> matchers, String relative) {
+        if (matchers.isEmpty()) {
+            return false;
+        }
+        Path path = Path.of(relative);
+        for (PathMatcher matcher : matchers) {
+            if (matcher.matches(path)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private static List<PathMatcher> globs(String globs) {
+        List<PathMatcher> matchers = new ArrayList<>();
+        if (globs != null) {
+            for (String glob : globs.split(",")) {
+                if (!glob.isBlank()) {
+                    matchers.add(FileSystems.getDefault().getPathMatcher("glob:" + glob.trim()));
+                }
+            }
+        }
+        return matchers;
+    }
+
+    /**
+     * One .gitignore pattern compiled to a regex over paths relative to its file's
+     * directory.
+     */
+    private static final class IgnoreRule {
+        private final Pattern pattern;
+        private final boolean negated;
+        private final boolean directoryOnly;
+
+        private IgnoreRule(Pattern pattern, boolean negated, boolean directoryOnly) {
+            this.pattern = pattern;
+            this.negated = negated;
+            this.directoryOnly = directoryOnly;
+        }
+
+        static IgnoreRule parse(String line) {
+            String text = stripTrailingSpaces(line);
+            if (text.isEmpty() || text.startsWith("#")) {
+                return null;
+            }
+            boolean negated = text.startsWith("!");
+            if (negated || text.startsWith("\\!") || text.startsWith("\\#")) {
+                text = text.substring(1);
+            }
+            boolean directoryOnly = text.endsWith("/");
+            if (directoryOnly) {
+                text = text.substring(0, text.length() - 1);
+            }
+            // A slash anywhere but at the end anchors the pattern to its directory
+            boolean anchored = text.contains("/");
+            if (text.startsWith("/")) {
+                text = text.substring(1);
+            }
+            if (text.isEmpty()) {
+                return null;
+            }
+            String regex = (anchored ? "" : "(?:.*/)?") + translate(text);
+            return new IgnoreRule(Pattern.compile(regex), negated, directoryOnly);
+        }
+
+        private static String translate(String glob) {
+            StringBuilder regex = new StringBuilder();
+            for (int i = 0; i < glob.length(); i++) {
+                char c = glob.charAt(i);
+                if (c == '*' && glob.startsWith("**", i)) {
+                    boolean atStart = i == 0 || glob.charAt(i - 1) == '/';
+                    if (atStart && glob.startsWith("**/", i)) {
+                        regex.append("(?:.*/)?");
+                        i += 2;
+                    } else if (atStart && i + 2 == glob.length()) {
+                        regex.append(".*");
+                        i++;
+                    } else {
+                        regex.append("[^/]*");
+                        i++;
+                    }
+                } else if (c == '*') {
+                    regex.append("[^/]*");
+                } else if (c == '?') {
+                    regex.append("[^/]");
+                } else if (c == '[' && glob.indexOf(']', i + 2) > 0) {
+                    int end = glob.indexOf(']', i + 2);
+                    String set = glob.substring(i + 1, end);
+                    regex.append('[').append(set.startsWith("!") ? "^" + set.substring(1) : set).append(']');
+                    i = end;
+                } else if (c == '\\' && i + 1 < glob.length()) {
+                    regex.append(Pattern.quote(String.valueOf(glob.charAt(++i))));
+                } else {
+                    regex.append(Pattern.quote(String.valueOf(c)));
+                }
+            }
+            return regex.toString();
+        }
+
+        private static String stripTrailingSpaces(String line) {
+            int end = line.length();
+            while (end > 0 && line.charAt(end - 1) == ' ' && !(end > 1 && line.charAt(end - 2) == '\\')) {
+                end--;
+            }
+            return line.substring(0, end);
+        }
+    }
+}
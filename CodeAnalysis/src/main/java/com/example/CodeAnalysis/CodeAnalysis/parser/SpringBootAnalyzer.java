@@ -1,54 +1,70 @@
 package com.example.CodeAnalysis.CodeAnalysis.parser;
 
+import com.example.CodeAnalysis.CodeAnalysis.matcher.ColumnMatcher;
 import com.example.CodeAnalysis.CodeAnalysis.model.ColumnUsage;
-import com.github.javaparser.JavaParser;
+import com.example.CodeAnalysis.CodeAnalysis.model.SourceFacts;
+import com.github.javaparser.Position;
 import com.github.javaparser.ast.CompilationUnit;
+import com.github.javaparser.ast.Node;
+import com.github.javaparser.ast.body.ClassOrInterfaceDeclaration;
+import com.github.javaparser.ast.body.ConstructorDeclaration;
 import com.github.javaparser.ast.body.FieldDeclaration;
 import com.github.javaparser.ast.body.MethodDeclaration;
 import com.github.javaparser.ast.expr.AnnotationExpr;
+import com.github.javaparser.ast.expr.Expression;
 import com.github.javaparser.ast.expr.MemberValuePair;
+import com.github.javaparser.ast.expr.MethodCallExpr;
 import com.github.javaparser.ast.expr.NormalAnnotationExpr;
 import com.github.javaparser.ast.expr.StringLiteralExpr;
+import com.github.javaparser.ast.type.ClassOrInterfaceType;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.stereotype.Component;
 
-import java.io.File;
-import java.io.FileInputStream;
-import java.nio.file.Files;
-import java.nio.file.Paths;
 import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.LinkedHashSet;
 import java.util.List;
-import java.util.Optional;
-import java.util.regex.Pattern;
+import java.util.Set;
 
 @Slf4j
 @Component
 public class SpringBootAnalyzer {
-    private final JavaParser javaParser;
-    private final Pattern camelCasePattern = Pattern.compile("([a-z])([A-Z])");
-
-    public SpringBootAnalyzer() {
-        this.javaParser = new JavaParser();
+    /**
+     * Finds column usages in a file that has already been read and parsed, reusing
+     * its AST and source text instead of going back to disk.
+     */
+    public List<ColumnUsage> findColumnUsages(ParsedSource source, String columnName) {
+        return findColumnUsages(extractFacts(source), columnName);
     }
 
-    public List<ColumnUsage> findColumnUsages(String filePath, String columnName) {
-        List<ColumnUsage> usages = new ArrayList<>();
-
-        try (FileInputStream fileInputStream = new FileInputStream(new File(filePath))) {
-            Optional<CompilationUnit> compilationUnit = javaParser.parse(fileInputStream).getResult();
-
-            if (!compilationUnit.isPresent()) {
-                return usages;
-            }
+    /**
+     * Finds column usages from previously extracted facts, e.g. ones served from the
+     * on-disk cache for files that have not changed since the last run.
+     */
+    public List<ColumnUsage> findColumnUsages(SourceFacts facts, String columnName) {
+        return findColumnUsages(facts, new ColumnMatcher(List.of(columnName))).get(0);
+    }
 
-            CompilationUnit cu = compilationUnit.get();
-            String className = extractClassName(cu);
+    /**
+     * Matches all columns of a compiled matcher in one pass over the facts. Every
+     * text is scanned once regardless of how many columns are requested; the result
+     * holds one usage list per matcher column.
+     */
+    public List<List<ColumnUsage>> findColumnUsages(SourceFacts facts, ColumnMatcher matcher) {
+        List<List<ColumnUsage>> usages = new ArrayList<>(matcher.getColumnCount());
+        for (int column = 0; column < matcher.getColumnCount(); column++) {
+            usages.add(new ArrayList<>());
+        }
+        String filePath = facts.getFilePath();
+        String className = facts.getClassInfo().getClassName();
+        BitSet matches = new BitSet(matcher.getColumnCount());
 
+        try {
             // Find column usages in different contexts
-            findColumnInFields(cu, className, columnName, usages, filePath);
-            findColumnInQueries(cu, className, columnName, usages, filePath);
-            findColumnInMethods(cu, className, columnName, usages, filePath);
-            findColumnInStrings(cu, className, columnName, usages, filePath);
+            findColumnInFields(facts, className, matcher, matches, usages, filePath);
+            findColumnInQueries(facts, className, matcher, matches, usages, filePath);
+            findColumnInMethods(facts, className, matcher, matches, usages, filePath);
+            findColumnInStrings(facts, className, matcher, matches, usages, filePath);
 
         } catch (Exception e) {
             log.debug("Error analyzing file: {} - {}", filePath, e.getMessage());
@@ -57,191 +73,208 @@ public class SpringBootAnalyzer {
         return usages;
     }
 
-    private void findColumnInFields(CompilationUnit cu, String className, String columnName,
-                                    List<ColumnUsage> usages, String filePath) {
-        cu.findAll(FieldDeclaration.class).forEach(field -> {
-            int lineNumber = field.getRange().map(r -> r.begin.line).orElse(0);
+    /**
+     * Extracts everything the column matchers need from the AST and source text, so
+     * matching no longer depends on the parse tree being kept around.
+     */
+    public SourceFacts extractFacts(ParsedSource source) {
+        CompilationUnit cu = source.getCompilationUnit();
+        SourceFacts facts = new SourceFacts(source.getFilePath(), source.getClassInfo());
+        SourceBuffer buffer = source.getBuffer();
 
-            // Check @Column annotations
+        cu.findAll(FieldDeclaration.class).forEach(field -> {
+            SourceFacts.FieldFact fieldFact = new SourceFacts.FieldFact();
+            fieldFact.setLineNumber(field.getRange().map(r -> r.begin.line).orElse(0));
             field.getAnnotations().forEach(annotation -> {
                 if (annotation.getNameAsString().equals("Column")) {
-                    checkColumnAnnotation(annotation, className, columnName, usages, lineNumber, filePath);
-                }
-            });
-
-            // Check field names that match column name
-            field.getVariables().forEach(variable -> {
-                String fieldName = variable.getNameAsString();
-                if (isColumnMatch(fieldName, columnName)) {
-                    usages.add(new ColumnUsage(className, fieldName, "FIELD",
-                            "Field declaration: " + fieldName, lineNumber, filePath));
+                    fieldFact.getColumnNames().addAll(extractColumnNames(annotation));
                 }
             });
+            field.getVariables().forEach(variable -> fieldFact.getVariableNames().add(variable.getNameAsString()));
+            facts.getFields().add(fieldFact);
         });
-    }
 
-    private void findColumnInQueries(CompilationUnit cu, String className, String columnName,
-                                     List<ColumnUsage> usages, String filePath) {
         cu.findAll(AnnotationExpr.class).forEach(annotation -> {
             String annotationName = annotation.getNameAsString();
             if (annotationName.equals("Query") || annotationName.equals("NamedQuery") ||
                     annotationName.equals("Modifying")) {
-
                 String queryString = extractQueryString(annotation);
-                if (queryString != null && containsColumn(queryString, columnName)) {
+                if (queryString != null) {
                     int lineNumber = annotation.getRange().map(r -> r.begin.line).orElse(0);
-                    usages.add(new ColumnUsage(className, "query", "QUERY",
-                            "SQL Query contains column", lineNumber, filePath));
+                    facts.getQueries().add(new SourceFacts.QueryFact(lineNumber, queryString));
                 }
             }
         });
+
+        // Methods keep the tokens of their original text, never pretty-printed and never the text itself
+        cu.findAll(MethodDeclaration.class).forEach(method -> method.getRange().ifPresent(range -> {
+            List<String> parameterNames = new ArrayList<>();
+            method.getParameters().forEach(param -> parameterNames.add(param.getNameAsString()));
+            Position begin = method.getComment()
+                    .flatMap(Node::getBegin)
+                    .filter(commentBegin -> commentBegin.isBefore(range.begin))
+                    .orElse(range.begin);
+            facts.getMethods().add(new SourceFacts.MethodFact(method.getNameAsString(), range.begin.line,
+                    tokens(buffer.getText(), offsetOf(buffer, begin), offsetOf(buffer, range.end) + 1),
+                    parameterNames));
+        }));
+
+        // Only lines holding a quote are materialized, found from the quotes rather than by splitting
+        String text = buffer.getText();
+        int quote = text.indexOf('"');
+        while (quote >= 0) {
+            int lineNumber = buffer.lineOf(quote);
+            String line = buffer.line(lineNumber).toString().trim();
+            // Query annotations are already covered by the query facts
+            if (!line.contains("@Query") && !line.contains("@NamedQuery")) {
+                facts.getStringLines().add(new SourceFacts.StringLineFact(lineNumber, line));
+            }
+            quote = lineNumber < buffer.lineCount() ? text.indexOf('"', buffer.lineStart(lineNumber + 1)) : -1;
+        }
+
+        // Types the class depends on through its fields, constructor parameters and method bodies
+        cu.findAll(FieldDeclaration.class).forEach(field -> collectReferencedTypes(field, facts));
+        cu.findAll(ConstructorDeclaration.class).forEach(constructor -> collectReferencedTypes(constructor, facts));
+        cu.findAll(MethodDeclaration.class).forEach(method -> collectReferencedTypes(method, facts));
+        cu.findFirst(ClassOrInterfaceDeclaration.class).ifPresent(classDecl -> {
+            classDecl.getExtendedTypes().forEach(type -> facts.getSupertypes().add(type.getNameAsString()));
+            classDecl.getImplementedTypes().forEach(type -> facts.getSupertypes().add(type.getNameAsString()));
+        });
+
+        return facts;
     }
 
-    private void findColumnInMethods(CompilationUnit cu, String className, String columnName,
-                                     List<ColumnUsage> usages, String filePath) {
-        cu.findAll(MethodDeclaration.class).forEach(method -> {
-            String methodName = method.getNameAsString();
-            String methodContent = method.toString();
+    private void findColumnInFields(SourceFacts facts, String className, ColumnMatcher matcher, BitSet matches,
+                                    List<List<ColumnUsage>> usages, String filePath) {
+        for (SourceFacts.FieldFact field : facts.getFields()) {
+            int lineNumber = field.getLineNumber();
+
+            // Check @Column annotations
+            for (String annotationColumnName : field.getColumnNames()) {
+                matches.clear();
+                matcher.findExact(annotationColumnName, matches);
+                for (int column = matches.nextSetBit(0); column >= 0; column = matches.nextSetBit(column + 1)) {
+                    usages.get(column).add(new ColumnUsage(className, "annotation", "COLUMN_ANNOTATION",
+                            "@Column(name=\"" + annotationColumnName + "\")", lineNumber, filePath));
+                }
+            }
+
+            // Check field names that match column name
+            for (String fieldName : field.getVariableNames()) {
+                matches.clear();
+                matcher.findExact(fieldName, matches);
+                for (int column = matches.nextSetBit(0); column >= 0; column = matches.nextSetBit(column + 1)) {
+                    usages.get(column).add(new ColumnUsage(className, fieldName, "FIELD",
+                            "Field declaration: " + fieldName, lineNumber, filePath));
+                }
+            }
+        }
+    }
 
-            if (containsColumn(methodContent, columnName)) {
-                int lineNumber = method.getRange().map(r -> r.begin.line).orElse(0);
-                usages.add(new ColumnUsage(className, methodName, "METHOD",
+    private void findColumnInQueries(SourceFacts facts, String className, ColumnMatcher matcher, BitSet matches,
+                                     List<List<ColumnUsage>> usages, String filePath) {
+        for (SourceFacts.QueryFact query : facts.getQueries()) {
+            matches.clear();
+            matcher.findInText(query.getQuery(), matches);
+            for (int column = matches.nextSetBit(0); column >= 0; column = matches.nextSetBit(column + 1)) {
+                usages.get(column).add(new ColumnUsage(className, "query", "QUERY",
+                        "SQL Query contains column", query.getLineNumber(), filePath));
+            }
+        }
+    }
+
+    private void findColumnInMethods(SourceFacts facts, String className, ColumnMatcher matcher, BitSet matches,
+                                     List<List<ColumnUsage>> usages, String filePath) {
+        for (SourceFacts.MethodFact method : facts.getMethods()) {
+            String methodName = method.getName();
+            int lineNumber = method.getLineNumber();
+
+            matches.clear();
+            matcher.findInText(method.getTokens(), matches);
+            for (int column = matches.nextSetBit(0); column >= 0; column = matches.nextSetBit(column + 1)) {
+                usages.get(column).add(new ColumnUsage(className, methodName, "METHOD",
                         "Method contains column reference", lineNumber, filePath));
             }
 
             // Check method parameters
-            method.getParameters().forEach(param -> {
-                String paramName = param.getNameAsString();
-                if (isColumnMatch(paramName, columnName)) {
-                    int lineNumber = method.getRange().map(r -> r.begin.line).orElse(0);
-                    usages.add(new ColumnUsage(className, methodName, "PARAMETER",
+            for (String paramName : method.getParameterNames()) {
+                matches.clear();
+                matcher.findExact(paramName, matches);
+                for (int column = matches.nextSetBit(0); column >= 0; column = matches.nextSetBit(column + 1)) {
+                    usages.get(column).add(new ColumnUsage(className, methodName, "PARAMETER",
                             "Method parameter: " + paramName, lineNumber, filePath));
                 }
-            });
+            }
 
             // Check method names (like findByUserEmail)
-            if (containsColumnInMethodName(methodName, columnName)) {
-                int lineNumber = method.getRange().map(r -> r.begin.line).orElse(0);
-                usages.add(new ColumnUsage(className, methodName, "METHOD_NAME",
+            matches.clear();
+            matcher.findInMethodName(methodName, matches);
+            for (int column = matches.nextSetBit(0); column >= 0; column = matches.nextSetBit(column + 1)) {
+                usages.get(column).add(new ColumnUsage(className, methodName, "METHOD_NAME",
                         "Method name references column", lineNumber, filePath));
             }
-        });
+        }
     }
 
-    private void findColumnInStrings(CompilationUnit cu, String className, String columnName,
-                                     List<ColumnUsage> usages, String filePath) {
-        try {
-            String content = Files.readString(Paths.get(filePath));
-            String[] lines = content.split("\n");
-
-            for (int i = 0; i < lines.length; i++) {
-                String line = lines[i].trim();
-                if (line.contains("\"") && containsColumn(line, columnName)) {
-                    // Avoid duplicating query annotations already found
-                    if (!line.contains("@Query") && !line.contains("@NamedQuery")) {
-                        usages.add(new ColumnUsage(className, "string-literal", "STRING",
-                                "String contains column reference", i + 1, filePath));
-                    }
-                }
+    private void findColumnInStrings(SourceFacts facts, String className, ColumnMatcher matcher, BitSet matches,
+                                     List<List<ColumnUsage>> usages, String filePath) {
+        for (SourceFacts.StringLineFact line : facts.getStringLines()) {
+            matches.clear();
+            matcher.findInText(line.getText(), matches);
+            for (int column = matches.nextSetBit(0); column >= 0; column = matches.nextSetBit(column + 1)) {
+                usages.get(column).add(new ColumnUsage(className, "string-literal", "STRING",
+                        "String contains column reference", line.getLineNumber(), filePath));
             }
-        } catch (Exception e) {
-            log.debug("Could not read file content for string analysis: {}", filePath);
         }
     }
 
-    private boolean containsColumnInMethodName(String methodName, String columnName) {
-        String camelCase = toCamelCase(columnName);
-        String pascalCase = toPascalCase(columnName);
-
-        return methodName.contains(camelCase) || methodName.contains(pascalCase);
-    }
-
-    private void checkColumnAnnotation(AnnotationExpr annotation, String className, String columnName,
-                                       List<ColumnUsage> usages, int lineNumber, String filePath) {
+    private List<String> extractColumnNames(AnnotationExpr annotation) {
+        List<String> columnNames = new ArrayList<>();
         if (annotation instanceof NormalAnnotationExpr) {
             NormalAnnotationExpr normalAnnotation = (NormalAnnotationExpr) annotation;
             for (MemberValuePair pair : normalAnnotation.getPairs()) {
                 if (pair.getNameAsString().equals("name") && pair.getValue() instanceof StringLiteralExpr) {
-                    String annotationColumnName = ((StringLiteralExpr) pair.getValue()).getValue();
-                    if (isColumnMatch(annotationColumnName, columnName)) {
-                        usages.add(new ColumnUsage(className, "annotation", "COLUMN_ANNOTATION",
-                                "@Column(name=\"" + annotationColumnName + "\")", lineNumber, filePath));
-                    }
+                    columnNames.add(((StringLiteralExpr) pair.getValue()).getValue());
                 }
             }
         }
+        return columnNames;
     }
 
-    private boolean containsColumn(String text, String columnName) {
-        if (text == null || columnName == null) return false;
-
-        String lowerText = text.toLowerCase();
-        String lowerColumn = columnName.toLowerCase();
-
-        // Check for exact match
-        if (lowerText.contains(lowerColumn)) return true;
-
-        // Check for camelCase version
-        String camelCase = toCamelCase(columnName);
-        if (lowerText.contains(camelCase.toLowerCase())) return true;
-
-        // Check for PascalCase version
-        String pascalCase = toPascalCase(columnName);
-        if (lowerText.contains(pascalCase.toLowerCase())) return true;
-
-        return false;
-    }
-
-    private boolean isColumnMatch(String fieldName, String columnName) {
-        if (fieldName == null || columnName == null) return false;
-
-        // Direct match
-        if (fieldName.equalsIgnoreCase(columnName)) return true;
-
-        // CamelCase match
-        String camelCase = toCamelCase(columnName);
-        if (fieldName.equalsIgnoreCase(camelCase)) return true;
-
-        // PascalCase match
-        String pascalCase = toPascalCase(columnName);
-        if (fieldName.equalsIgnoreCase(pascalCase)) return true;
-
-        // Snake case match
-        String snakeCase = toSnakeCase(fieldName);
-        if (snakeCase.equalsIgnoreCase(columnName)) return true;
-
-        return false;
+    private void collectReferencedTypes(Node node, SourceFacts facts) {
+        node.findAll(ClassOrInterfaceType.class).forEach(type -> facts.getReferencedTypes().add(type.getNameAsString()));
+        // Static access such as AccountMapper.toDto(...) names a type without a type node
+        node.findAll(MethodCallExpr.class).forEach(call -> call.getScope()
+                .filter(Expression::isNameExpr)
+                .map(scope -> scope.asNameExpr().getNameAsString())
+                .filter(name -> Character.isUpperCase(name.charAt(0)))
+                .ifPresent(facts.getReferencedTypes()::add));
     }
 
-    private String toCamelCase(String snakeCase) {
-        if (snakeCase == null || snakeCase.isEmpty()) return "";
-
-        StringBuilder result = new StringBuilder();
-        boolean nextIsUpper = false;
-
-        for (char c : snakeCase.toCharArray()) {
-            if (c == '_') {
-                nextIsUpper = true;
-            } else if (nextIsUpper) {
-                result.append(Character.toUpperCase(c));
-                nextIsUpper = false;
-            } else {
-                result.append(Character.toLowerCase(c));
+    /**
+     * The distinct identifier-like tokens of a slice of the source, in order of first
+     * appearance and separated by newlines.
+     */
+    private static String tokens(String text, int start, int end) {
+        Set<String> tokens = new LinkedHashSet<>();
+        int tokenStart = -1;
+        for (int i = start; i <= end; i++) {
+            if (i < end && isTokenChar(text.charAt(i))) {
+                if (tokenStart < 0) tokenStart = i;
+            } else if (tokenStart >= 0) {
+                tokens.add(text.substring(tokenStart, i));
+                tokenStart = -1;
             }
         }
-
-        return result.toString();
+        return String.join("\n", tokens);
     }
 
-    private String toPascalCase(String snakeCase) {
-        String camelCase = toCamelCase(snakeCase);
-        if (camelCase.isEmpty()) return "";
-        return Character.toUpperCase(camelCase.charAt(0)) + camelCase.substring(1);
+    private static boolean isTokenChar(char c) {
+        return Character.isLetterOrDigit(c) || c == '_' || c == '$';
     }
 
-    private String toSnakeCase(String camelCase) {
-        if (camelCase == null) return "";
-        return camelCasePattern.matcher(camelCase).replaceAll("$1_$2").toLowerCase();
+    private int offsetOf(SourceBuffer buffer, Position position) {
+        return buffer.offsetOf(position.line, position.column);
     }
 
     private String extractQueryString(AnnotationExpr annotation) {
@@ -256,10 +289,4 @@ public class SpringBootAnalyzer {
         }
         return null;
     }
-
-    private String extractClassName(CompilationUnit cu) {
-        return cu.findFirst(com.github.javaparser.ast.body.ClassOrInterfaceDeclaration.class)
-                .map(c -> c.getNameAsString())
-                .orElse("Unknown");
-    }
 }
@@ -0,0 +1,143 @@
+package com.example.CodeAnalysis.CodeAnalysis.project;
+
+import com.example.CodeAnalysis.CodeAnalysis.matcher.ColumnDictionary;
+import com.example.CodeAnalysis.CodeAnalysis.model.AnalysisStats;
+import com.example.CodeAnalysis.CodeAnalysis.model.ClassInfo;
+import com.example.CodeAnalysis.CodeAnalysis.model.SourceFacts;
+import com.example.CodeAnalysis.CodeAnalysis.tracker.DependencyGraph;
+
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
+
+/**
+ * Everything column queries need about one project, built once and never modified:
+ * the per-file facts, the class index by type and the dependency graph (plus the
+ * column dictionary, derived from the facts when first asked for). Refreshing a
+ * project builds a new model and swaps it in, so readers never see a partial update.
+ */
+public final class ProjectModel {
+    private final String projectPath;
+    private final List<SourceFacts> sources;
+    private final Map<String, List<ClassInfo>> classesByType;
+    private final DependencyGraph dependencyGraph;
+    private final AnalysisStats loadStats;
+    private final LocalDateTime loadedAt;
+    private final long loadTimeMs;
+    private final long estimatedBytes;
+    private volatile ColumnDictionary columnDictionary;
+
+    public ProjectModel(String projectPath, List<SourceFacts> sources, AnalysisStats loadStats, long loadTimeMs) {
+        this.projectPath = projectPath;
+        this.sources = List.copyOf(sources);
+        this.classesByType = Collections.unmodifiableMap(this.sources.stream()
+                .map(SourceFacts::getClassInfo)
+                .collect(Collectors.groupingBy(ClassInfo::getClassType, LinkedHashMap::new,
+                        Collectors.collectingAndThen(Collectors.toList(), Collections::unmodifiableList))));
+        this.dependencyGraph = new DependencyGraph(this.sources);
+        this.loadStats = loadStats;
+        this.loadedAt = LocalDateTime.now();
+        this.loadTimeMs = loadTimeMs;
+        this.estimatedBytes = estimateBytes();
+    }
+
+    public String getProjectPath() {
+        return projectPath;
+    }
+
+    public List<SourceFacts> getSources() {
+        return sources;
+    }
+
+    /**
+     * Classes of one type (Repository, Entity, Service, ...), in file order.
+     */
+    public List<ClassInfo> getClasses(String classType) {
+        return classesByType.getOrDefault(classType, Collections.emptyList());
+    }
+
+    public DependencyGraph getDependencyGraph() {
+        return dependencyGraph;
+    }
+
+    /**
+     * The column names the project mentions, built on first use and kept with the
+     * model, so later pattern queries against a resident project expand at once.
+     */
+    public ColumnDictionary getColumnDictionary() {
+        ColumnDictionary dictionary = columnDictionary;
+        if (dictionary == null) {
+            dictionary = ColumnDictionary.build(sources);
+            columnDictionary = dictionary;
+        }
+        return dictionary;
+    }
+
+    public AnalysisStats getLoadStats() {
+        return loadStats;
+    }
+
+    public LocalDateTime getLoadedAt() {
+        return loadedAt;
+    }
+
+    public long getLoadTimeMs() {
+        return loadTimeMs;
+    }
+
+    /**
+     * Approximate retained heap size of the model, assuming compressed oops and
+     * compact (Latin-1) strings.
+     */
+    public long getEstimatedBytes() {
+        return estimatedBytes;
+    }
+
+    private long estimateBytes() {
+        long bytes = dependencyGraph.estimatedBytes();
+        for (SourceFacts facts : sources) {
+            bytes += 48 + sizeOf(facts.getFilePath());
+
+            ClassInfo classInfo = facts.getClassInfo();
+            // Interned names are shared across models and not counted per model; endpoints are
+            bytes += 64 + sizeOf(classInfo.getClassName()) + 16 * 4 + sizeOf(classInfo.getApiEndpoints())
+                    + 4L * (classInfo.getMethods().size() + classInfo.getFields().size()
+                    + classInfo.getAnnotations().size());
+
+            for (SourceFacts.FieldFact field : facts.getFields()) {
+                bytes += 24 + sizeOf(field.getColumnNames()) + sizeOf(field.getVariableNames());
+            }
+            for (SourceFacts.QueryFact query : facts.getQueries()) {
+                bytes += 24 + sizeOf(query.getQuery());
+            }
+            for (SourceFacts.MethodFact method : facts.getMethods()) {
+                bytes += 32 + sizeOf(method.getName()) + sizeOf(method.getTokens()) + sizeOf(method.getParameterNames());
+            }
+            for (SourceFacts.StringLineFact line : facts.getStringLines()) {
+                bytes += 24 + sizeOf(line.getText());
+            }
+            bytes += 4L * (facts.getFields().size() + facts.getQueries().size()
+                    + facts.getMethods().size() + facts.getStringLines().size()) + 4 * 40;
+            bytes += 64L * (facts.getReferencedTypes().size() + facts.getSupertypes().size())
+                    + sizeOf(facts.getReferencedTypes()) + sizeOf(facts.getSupertypes());
+        }
+        return bytes;
+    }
+
+    private static long sizeOf(String value) {
+        return value == null ? 0 : 40 + value.length();
+    }
+
+    private static long sizeOf(Collection<String> values) {
+        if (values == null) return 0;
+        long bytes = 40 + 4L * values.size();
+        for (String value : values) {
+            bytes += sizeOf(value);
+        }
+        return bytes;
+    }
+}
@@ -0,0 +1,215 @@
+package com.example.CodeAnalysis.CodeAnalysis.project;
+
+import com.example.CodeAnalysis.CodeAnalysis.index.IdentifierIndex;
+import com.example.CodeAnalysis.CodeAnalysis.model.AnalysisStats;
+import com.example.CodeAnalysis.CodeAnalysis.model.ProjectSummary;
+import com.example.CodeAnalysis.CodeAnalysis.model.SourceFacts;
+import com.example.CodeAnalysis.CodeAnalysis.parser.ProjectScanner;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Service;
+
+import java.io.File;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.stream.Collectors;
+
+/**
+ * Projects loaded into memory for interactive use. Column queries against a loaded
+ * project are answered from its resident model without touching the file system.
+ */
+@Slf4j
+@Service
+public class ProjectModelRegistry {
+
+    @Autowired
+    private ProjectScanner projectScanner;
+
+    @Autowired
+    private IdentifierIndex identifierIndex;
+
+    private final Map<String, ProjectModel> models = new ConcurrentHashMap<>();
+    // Loads in progress, shared by concurrent requests for the same project
+    private final Map<String, CompletableFuture<ProjectModel>> loads = new ConcurrentHashMap<>();
+    // Serializes the loads and patches of one project; scans never run inside a map operation
+    private final Map<String, Object> locks = new ConcurrentHashMap<>();
+
+    /**
+     * Scans a project into a new model without keeping it resident.
+     */
+    public ProjectModel build(String projectPath) {
+        return build(projectPath, new AnalysisStats());
+    }
+
+    /**
+     * Scans a project into a new model, recording progress and I/O in the given stats.
+     */
+    public ProjectModel build(String projectPath, AnalysisStats stats) {
+        long startTime = System.currentTimeMillis();
+        List<SourceFacts> sources = projectScanner.scan(projectPath, stats);
+        return new ProjectModel(projectPath, sources, stats, System.currentTimeMillis() - startTime);
+    }
+
+    /**
+     * Loads a project and keeps its model resident, replacing any earlier model. A
+     * request arriving while the same project is being loaded waits for that load
+     * instead of scanning again.
+     */
+    public ProjectSummary load(String projectPath) {
+        if (!Files.isDirectory(Paths.get(projectPath))) {
+            throw new IllegalArgumentException("Project path does not exist or is not a directory: " + projectPath);
+        }
+        String key = key(projectPath);
+        CompletableFuture<ProjectModel> loading = new CompletableFuture<>();
+        CompletableFuture<ProjectModel> running = loads.putIfAbsent(key, loading);
+        if (running != null) {
+            return summarize(await(running));
+        }
+
+        try {
+            ProjectModel model;
+            synchronized (lock(key)) {
+                model = build(projectPath);
+                models.put(key, model);
+            }
+            loading.complete(model);
+            log.info("Loaded project {}: {} classes, ~{} KB in {}ms", projectPath, model.getSources().size(),
+                    model.getEstimatedBytes() / 1024, model.getLoadTimeMs());
+            return summarize(model);
+        } catch (RuntimeException e) {
+            loading.completeExceptionally(e);
+            throw e;
+        } finally {
+            loads.remove(key, loading);
+        }
+    }
+
+    /**
+     * Rebuilds a loaded project's model; files unchanged since the last load come from the cache.
+     */
+    public ProjectSummary refresh(String projectPath) {
+        if (!models.containsKey(key(projectPath))) {
+            throw new IllegalStateException("Project is not loaded: " + projectPath);
+        }
+        return load(projectPath);
+    }
+
+    /**
+     * Patches a loaded project with a batch of created, modified or deleted paths:
+     * only those files are re-parsed, the rest of the facts are reused and the class
+     * index and dependency graph are rebuilt from the patched list. A deleted path
+     * also removes every file below it.
+     */
+    public ProjectSummary applyChanges(String projectPath, Collection<Path> changedPaths) {
+        String key = key(projectPath);
+        ProjectModel model;
+        synchronized (lock(key)) {
+            ProjectModel current = models.get(key);
+            if (current == null) {
+                throw new IllegalStateException("Project is not loaded: " + projectPath);
+            }
+            model = patch(current, changedPaths);
+            // Not put back if the project was unloaded meanwhile
+            models.replace(key, current, model);
+        }
+        identifierIndex.applyChanges(model.getProjectPath(), changedPaths);
+        return summarize(model);
+    }
+
+    private ProjectModel patch(ProjectModel current, Collection<Path> changedPaths) {
+        long startTime = System.currentTimeMillis();
+        AnalysisStats stats = new AnalysisStats();
+
+        Map<String, SourceFacts> factsByPath = new HashMap<>();
+        current.getSources().forEach(facts -> factsByPath.put(facts.getFilePath(), facts));
+
+        List<Path> changedFiles = new ArrayList<>();
+        boolean removedAny = false;
+        for (Path path : changedPaths) {
+            String removed = path.toString();
+            removedAny |= factsByPath.keySet().removeIf(file -> file.equals(removed) || file.startsWith(removed + File.separator));
+            if (Files.isRegularFile(path) && removed.endsWith(".java")) {
+                changedFiles.add(path);
+            }
+        }
+        if (changedFiles.isEmpty() && !removedAny) {
+            return current;
+        }
+
+        Set<String> liveFiles = new HashSet<>(factsByPath.keySet());
+        changedFiles.forEach(path -> liveFiles.add(path.toString()));
+        for (SourceFacts facts : projectScanner.rescan(current.getProjectPath(), changedFiles, liveFiles, stats)) {
+            factsByPath.put(facts.getFilePath(), facts);
+        }
+
+        // Same order as a full scan, so results do not depend on how the model was built
+        List<SourceFacts> sources = factsByPath.values().stream()
+                .sorted(Comparator.comparing(facts -> Paths.get(facts.getFilePath())))
+                .collect(Collectors.toList());
+        ProjectModel patched = new ProjectModel(current.getProjectPath(), sources, stats,
+                System.currentTimeMillis() - startTime);
+        log.info("Updated project {} from {} changed path(s) in {}ms ({} classes)", current.getProjectPath(),
+                changedPaths.size(), patched.getLoadTimeMs(), sources.size());
+        return patched;
+    }
+
+    public boolean unload(String projectPath) {
+        boolean removed = models.remove(key(projectPath)) != null;
+        if (removed) {
+            log.info("Unloaded project {}", projectPath);
+        }
+        return removed;
+    }
+
+    public Optional<ProjectModel> find(String projectPath) {
+        return Optional.ofNullable(models.get(key(projectPath)));
+    }
+
+    public List<ProjectSummary> list() {
+        return models.values().stream()
+                .map(this::summarize)
+                .collect(Collectors.toList());
+    }
+
+    public long getTotalEstimatedBytes() {
+        return models.values().stream().mapToLong(ProjectModel::getEstimatedBytes).sum();
+    }
+
+    private ProjectSummary summarize(ProjectModel model) {
+        return new ProjectSummary(model.getProjectPath(), model.getSources().size(),
+                model.getDependencyGraph().edgeCount(), model.getLoadedAt(), model.getLoadTimeMs(),
+                model.getEstimatedBytes(), model.getLoadStats());
+    }
+
+    private Object lock(String key) {
+        return locks.computeIfAbsent(key, k -> new Object());
+    }
+
+    private static ProjectModel await(CompletableFuture<ProjectModel> loading) {
+        try {
+            return loading.join();
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof RuntimeException) {
+                throw (RuntimeException) e.getCause();
+            }
+            throw new IllegalStateException("Loading project failed", e.getCause());
+        }
+    }
+
+    private String key(String projectPath) {
+        return Paths.get(projectPath).toAbsolutePath().normalize().toString();
+    }
+}
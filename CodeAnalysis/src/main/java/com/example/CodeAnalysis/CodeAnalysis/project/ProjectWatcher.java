@@ -0,0 +1,261 @@
+package com.example.CodeAnalysis.CodeAnalysis.project;
+
+import com.example.CodeAnalysis.CodeAnalysis.parser.JavaFileParser;
+import com.example.CodeAnalysis.CodeAnalysis.parser.SourceFilter;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.ClosedWatchServiceException;
+import java.nio.file.FileSystems;
+import java.nio.file.FileVisitResult;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.SimpleFileVisitor;
+import java.nio.file.StandardWatchEventKinds;
+import java.nio.file.WatchEvent;
+import java.nio.file.WatchKey;
+import java.nio.file.WatchService;
+import java.nio.file.attribute.BasicFileAttributes;
+import java.util.LinkedHashSet;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Stream;
+
+/**
+ * Keeps loaded projects current by watching their source trees. Changed paths are
+ * collected until the tree has been quiet for the debounce interval (or the maximum
+ * delay has passed), then applied to the resident model as one batch, so a branch
+ * switch touching hundreds of files costs one update.
+ */
+@Slf4j
+@Service
+public class ProjectWatcher {
+
+    @Value("${code-analysis.watch.enabled:false}")
+    private boolean enabled;
+
+    @Value("${code-analysis.watch.debounce-ms:500}")
+    private long debounceMs;
+
+    @Value("${code-analysis.watch.max-delay-ms:5000}")
+    private long maxDelayMs;
+
+    @Autowired
+    private ProjectModelRegistry projectModelRegistry;
+
+    @Autowired
+    private JavaFileParser javaFileParser;
+
+    private final Map<String, ProjectWatch> watches = new ConcurrentHashMap<>();
+
+    private final ScheduledExecutorService scheduler = Executors.newSingleThreadScheduledExecutor(runnable -> {
+        Thread thread = new Thread(runnable, "code-analysis-watch-flush");
+        thread.setDaemon(true);
+        return thread;
+    });
+
+    /**
+     * Whether projects are watched by default when they are loaded.
+     */
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    public void watch(String projectPath) {
+        String key = key(projectPath);
+        if (watches.containsKey(key)) {
+            return;
+        }
+        String root = projectModelRegistry.find(projectPath)
+                .map(ProjectModel::getProjectPath)
+                .orElseThrow(() -> new IllegalStateException("Project is not loaded: " + projectPath));
+        try {
+            ProjectWatch watch = new ProjectWatch(root);
+            if (watches.putIfAbsent(key, watch) == null) {
+                watch.start();
+                log.info("Watching {} for changes ({} directories)", root, watch.directories.size());
+            } else {
+                watch.close();
+            }
+        } catch (IOException e) {
+            throw new IllegalStateException("Could not watch project: " + projectPath, e);
+        }
+    }
+
+    public boolean unwatch(String projectPath) {
+        ProjectWatch watch = watches.remove(key(projectPath));
+        if (watch == null) {
+            return false;
+        }
+        watch.close();
+        log.info("Stopped watching {}", projectPath);
+        return true;
+    }
+
+    public boolean isWatching(String projectPath) {
+        return watches.containsKey(key(projectPath));
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        watches.values().forEach(ProjectWatch::close);
+        watches.clear();
+        scheduler.shutdownNow();
+    }
+
+    private String key(String projectPath) {
+        return Paths.get(projectPath).toAbsolutePath().normalize().toString();
+    }
+
+    /**
+     * One watched project: a watch service over every directory of the tree the
+     * scanner walks and the paths changed since the last flush.
+     */
+    private class ProjectWatch implements Runnable {
+        private final String projectPath;
+        private final SourceFilter sourceFilter;
+        private final WatchService watchService;
+        private final Map<WatchKey, Path> directories = new ConcurrentHashMap<>();
+        private final Set<Path> pending = new LinkedHashSet<>();
+        private final Thread thread;
+        private boolean overflowed;
+        private long firstPendingAt;
+        private ScheduledFuture<?> flush;
+
+        ProjectWatch(String projectPath) throws IOException {
+            this.projectPath = projectPath;
+            this.sourceFilter = javaFileParser.sourceFilter(Paths.get(projectPath));
+            this.watchService = FileSystems.getDefault().newWatchService();
+            this.thread = new Thread(this, "code-analysis-watch-" + Paths.get(projectPath).getFileName());
+            this.thread.setDaemon(true);
+            registerTree(Paths.get(projectPath));
+        }
+
+        void start() {
+            thread.start();
+        }
+
+        void close() {
+            try {
+                watchService.close();
+            } catch (IOException e) {
+                log.debug("Error closing watch service for {}: {}", projectPath, e.getMessage());
+            }
+            synchronized (this) {
+                if (flush != null) {
+                    flush.cancel(false);
+                }
+            }
+        }
+
+        @Override
+        public void run() {
+            try {
+                while (true) {
+                    WatchKey watchKey = watchService.take();
+                    Path directory = directories.get(watchKey);
+                    for (WatchEvent<?> event : watchKey.pollEvents()) {
+                        if (event.kind() == StandardWatchEventKinds.OVERFLOW || directory == null) {
+                            changed(null);
+                            continue;
+                        }
+                        Path path = directory.resolve((Path) event.context());
+                        if (event.kind() == StandardWatchEventKinds.ENTRY_CREATE && Files.isDirectory(path)
+                                && sourceFilter.includesDirectory(path)) {
+                            // Files may land in a new directory before it is registered
+                            try (Stream<Path> files = Files.walk(path)) {
+                                registerTree(path);
+                                files.filter(sourceFilter::includes).forEach(this::changed);
+                            } catch (IOException | UncheckedIOException e) {
+                                log.debug("Directory {} vanished while registering: {}", path, e.getMessage());
+                            }
+                        }
+                        // A deleted path may have been a directory full of sources
+                        if (path.toString().endsWith(".java") ? sourceFilter.includes(path) : !Files.exists(path)) {
+                            changed(path);
+                        }
+                    }
+                    if (!watchKey.reset()) {
+                        directories.remove(watchKey);
+                    }
+                }
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            } catch (ClosedWatchServiceException e) {
+                // Unwatched or shutting down
+            }
+        }
+
+        /**
+         * Records a changed path (null for lost events) and pushes the flush back until
+         * the tree is quiet, but never beyond the maximum delay.
+         */
+        private synchronized void changed(Path path) {
+            long now = System.currentTimeMillis();
+            if (pending.isEmpty() && !overflowed) {
+                firstPendingAt = now;
+            }
+            if (path == null) {
+                overflowed = true;
+            } else {
+                pending.add(path);
+            }
+            if (flush != null) {
+                flush.cancel(false);
+            }
+            long delay = Math.min(debounceMs, Math.max(0, firstPendingAt + maxDelayMs - now));
+            flush = scheduler.schedule(this::flush, delay, TimeUnit.MILLISECONDS);
+        }
+
+        private void flush() {
+            Set<Path> batch;
+            boolean fullRescan;
+            synchronized (this) {
+                batch = new LinkedHashSet<>(pending);
+                fullRescan = overflowed;
+                pending.clear();
+                overflowed = false;
+                flush = null;
+            }
+
+            try {
+                if (fullRescan) {
+                    log.info("Change events for {} were lost, reloading the whole project", projectPath);
+                    projectModelRegistry.refresh(projectPath);
+                } else if (!batch.isEmpty()) {
+                    projectModelRegistry.applyChanges(projectPath, batch);
+                }
+            } catch (Exception e) {
+                log.warn("Could not update project {} after file changes: {}", projectPath, e.getMessage());
+            }
+        }
+
+        private void registerTree(Path start) throws IOException {
+            Files.walkFileTree(start, new SimpleFileVisitor<>() {
+                @Override
+                public FileVisitResult preVisitDirectory(Path dir, BasicFileAttributes attrs) throws IOException {
+                    // VCS and IDE metadata churn constantly and never holds project sources
+                    if (!dir.equals(start) && (dir.getFileName().toString().startsWith(".")
+                            || !sourceFilter.acceptsDirectory(dir))) {
+                        return FileVisitResult.SKIP_SUBTREE;
+                    }
+                    WatchKey watchKey = dir.register(watchService, StandardWatchEventKinds.ENTRY_CREATE,
+                            StandardWatchEventKinds.ENTRY_MODIFY, StandardWatchEventKinds.ENTRY_DELETE);
+                    directories.put(watchKey, dir);
+                    return FileVisitResult.CONTINUE;
+                }
+            });
+        }
+    }
+}
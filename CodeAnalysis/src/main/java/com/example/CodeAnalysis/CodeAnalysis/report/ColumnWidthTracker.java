@@ -0,0 +1,84 @@
+package com.example.CodeAnalysis.CodeAnalysis.report;
+
+import org.apache.poi.ss.usermodel.Cell;
+import org.apache.poi.ss.usermodel.Row;
+import org.apache.poi.ss.usermodel.Sheet;
+
+import java.util.Arrays;
+
+/**
+ * Sizes sheet columns from the longest value written to each, counted in characters
+ * as rows are created. Replaces {@link Sheet#autoSizeColumn(int)}, which measures
+ * every cell with AWT font metrics and works only while all rows are still in memory.
+ */
+public class ColumnWidthTracker {
+    private static final int PADDING_CHARS = 2;
+    private static final int MIN_CHARS = 8;
+    private static final int MAX_CHARS = 255; // Excel's column width limit
+    private static final double HEADER_SCALE = 1.2; // Bold, larger header font
+
+    private double[] maxChars = new double[16];
+    private int columnCount;
+
+    /**
+     * Records the widths of a data row.
+     */
+    public void track(Row row) {
+        track(row, 1.0);
+    }
+
+    /**
+     * Records the widths of a header row, whose font is larger than the data font.
+     */
+    public void trackHeader(Row row) {
+        track(row, HEADER_SCALE);
+    }
+
+    private void track(Row row, double scale) {
+        for (Cell cell : row) {
+            int column = cell.getColumnIndex();
+            if (column >= maxChars.length) {
+                maxChars = Arrays.copyOf(maxChars, Math.max(column + 1, maxChars.length * 2));
+            }
+            maxChars[column] = Math.max(maxChars[column], length(cell) * scale);
+            columnCount = Math.max(columnCount, column + 1);
+        }
+    }
+
+    /**
+     * Sets the width of every tracked column once all rows have been written.
+     */
+    public void apply(Sheet sheet) {
+        for (int column = 0; column < columnCount; column++) {
+            int chars = (int) Math.ceil(maxChars[column]) + PADDING_CHARS;
+            chars = Math.min(MAX_CHARS, Math.max(MIN_CHARS, chars));
+            sheet.setColumnWidth(column, chars * 256);
+        }
+    }
+
+    private static int length(Cell cell) {
+        switch (cell.getCellType()) {
+            case STRING:
+                return longestLine(cell.getStringCellValue());
+            case NUMERIC:
+                double value = cell.getNumericCellValue();
+                return value == Math.rint(value) ? Long.toString((long) value).length() : Double.toString(value).length();
+            case BOOLEAN:
+                return 5;
+            default:
+                return 0;
+        }
+    }
+
+    private static int longestLine(String text) {
+        int longest = 0;
+        int start = 0;
+        for (int i = 0; i <= text.length(); i++) {
+            if (i == text.length() || text.charAt(i) == '\n') {
+                longest = Math.max(longest, i - start);
+                start = i + 1;
+            }
+        }
+        return longest;
+    }
+}
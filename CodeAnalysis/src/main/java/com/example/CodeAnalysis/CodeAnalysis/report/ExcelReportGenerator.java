@@ -5,22 +5,42 @@ import com.example.CodeAnalysis.CodeAnalysis.model.ColumnUsage;
 import com.example.CodeAnalysis.CodeAnalysis.model.ImpactResult;
 import lombok.extern.slf4j.Slf4j;
 import org.apache.poi.ss.usermodel.*;
+import org.apache.poi.xssf.streaming.SXSSFWorkbook;
 import org.apache.poi.xssf.usermodel.XSSFWorkbook;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Component;
 
 import java.io.FileOutputStream;
 import java.io.IOException;
 import java.time.format.DateTimeFormatter;
+import java.util.Collection;
 import java.util.List;
 
 @Slf4j
 @Component
 public class ExcelReportGenerator {
 
+    // Reports with at least this many rows are streamed (0 = always, -1 = never)
+    @Value("${code-analysis.report.streaming-threshold:10000}")
+    private int streamingThreshold = 10000;
+
+    // Rows kept in memory per sheet while streaming; older rows are flushed to a temp file
+    @Value("${code-analysis.report.row-window:200}")
+    private int rowWindow = 200;
+
+    public void setStreamingThreshold(int streamingThreshold) {
+        this.streamingThreshold = streamingThreshold;
+    }
+
+    public void setRowWindow(int rowWindow) {
+        this.rowWindow = rowWindow;
+    }
+
     public void generateReport(ImpactResult impactResult, String outputPath) {
         log.info("Generating Excel report: {}", outputPath);
 
-        try (Workbook workbook = new XSSFWorkbook()) {
+        Workbook workbook = createWorkbook(impactResult.getColumnUsages().size() + impactResult.getTotalImpactedClasses());
+        try {
             // Create styles
             CellStyle headerStyle = createHeaderStyle(workbook);
             CellStyle dataStyle = createDataStyle(workbook);
@@ -32,6 +52,7 @@ public class ExcelReportGenerator {
             createEntitiesSheet(workbook, impactResult.getEntities(), headerStyle, dataStyle);
             createServicesSheet(workbook, impactResult.getServices(), headerStyle, dataStyle);
             createControllersSheet(workbook, impactResult.getControllers(), headerStyle, dataStyle);
+            createComponentsSheet(workbook, impactResult.getComponents(), headerStyle, dataStyle);
             createUsageDetailsSheet(workbook, impactResult.getColumnUsages(), headerStyle, dataStyle);
             createApiEndpointsSheet(workbook, impactResult.getControllers(), headerStyle, dataStyle);
 
@@ -45,12 +66,78 @@ public class ExcelReportGenerator {
         } catch (IOException e) {
             log.error("Error generating Excel report", e);
             throw new RuntimeException("Failed to generate Excel report", e);
+        } finally {
+            closeWorkbook(workbook);
+        }
+    }
+
+    /**
+     * Writes one workbook covering several columns analyzed in the same batch. Each
+     * detail sheet carries a leading "Column" column instead of one sheet set per column.
+     */
+    public void generateCombinedReport(Collection<ImpactResult> impactResults, String outputPath) {
+        log.info("Generating combined Excel report for {} column(s): {}", impactResults.size(), outputPath);
+
+        int rowCount = impactResults.stream()
+                .mapToInt(result -> result.getColumnUsages().size() + result.getTotalImpactedClasses())
+                .sum();
+        Workbook workbook = createWorkbook(rowCount);
+        try {
+            // Create styles
+            CellStyle headerStyle = createHeaderStyle(workbook);
+            CellStyle dataStyle = createDataStyle(workbook);
+            CellStyle titleStyle = createTitleStyle(workbook);
+
+            // Create worksheets
+            createBatchSummarySheet(workbook, impactResults, headerStyle, dataStyle, titleStyle);
+            createBatchClassesSheet(workbook, impactResults, headerStyle, dataStyle);
+            createBatchUsageDetailsSheet(workbook, impactResults, headerStyle, dataStyle);
+            createBatchApiEndpointsSheet(workbook, impactResults, headerStyle, dataStyle);
+
+            // Write to file
+            try (FileOutputStream fileOut = new FileOutputStream(outputPath)) {
+                workbook.write(fileOut);
+            }
+
+            log.info("Combined Excel report generated successfully: {}", outputPath);
+
+        } catch (IOException e) {
+            log.error("Error generating combined Excel report", e);
+            throw new RuntimeException("Failed to generate Excel report", e);
+        } finally {
+            closeWorkbook(workbook);
+        }
+    }
+
+    /**
+     * In-memory workbook for ordinary reports; a streaming one for large reports, which
+     * keeps only a window of rows per sheet on the heap and spills the rest to
+     * compressed temp files, so memory stays flat however many usages there are.
+     */
+    private Workbook createWorkbook(int rowCount) {
+        if (streamingThreshold >= 0 && rowCount >= streamingThreshold) {
+            log.info("Streaming report of {} rows with a {}-row window", rowCount, rowWindow);
+            return new SXSSFWorkbook(new XSSFWorkbook(), rowWindow, true);
+        }
+        return new XSSFWorkbook();
+    }
+
+    private void closeWorkbook(Workbook workbook) {
+        try {
+            if (workbook instanceof SXSSFWorkbook) {
+                // Deletes the temp files backing flushed rows
+                ((SXSSFWorkbook) workbook).dispose();
+            }
+            workbook.close();
+        } catch (IOException e) {
+            log.warn("Error closing workbook: {}", e.getMessage());
         }
     }
 
     private void createSummarySheet(Workbook workbook, ImpactResult result,
                                     CellStyle headerStyle, CellStyle dataStyle, CellStyle titleStyle) {
         Sheet sheet = workbook.createSheet("📊 Summary");
+        ColumnWidthTracker widths = new ColumnWidthTracker();
 
         int rowNum = 0;
 
@@ -64,39 +151,39 @@ public class ExcelReportGenerator {
         rowNum++; // Empty row
 
         // Analysis details
-        createInfoSection(sheet, rowNum, "Analysis Details", headerStyle, dataStyle);
+        createInfoSection(sheet, rowNum, "Analysis Details", headerStyle, dataStyle, widths);
         rowNum += 2;
 
         addInfoRow(sheet, rowNum++, "📅 Analysis Date:",
-                result.getAnalysisDate().format(DateTimeFormatter.ofPattern("yyyy-MM-dd HH:mm:ss")), dataStyle);
-        addInfoRow(sheet, rowNum++, "📂 Project Path:", result.getProjectPath(), dataStyle);
-        addInfoRow(sheet, rowNum++, "🗂️ Column Analyzed:", result.getColumnName(), dataStyle);
-        addInfoRow(sheet, rowNum++, "⏱️ Analysis Time:", result.getAnalysisTimeMs() + " ms", dataStyle);
+                result.getAnalysisDate().format(DateTimeFormatter.ofPattern("yyyy-MM-dd HH:mm:ss")), dataStyle, widths);
+        addInfoRow(sheet, rowNum++, "📂 Project Path:", result.getProjectPath(), dataStyle, widths);
+        addInfoRow(sheet, rowNum++, "🗂️ Column Analyzed:", result.getColumnName(), dataStyle, widths);
+        addInfoRow(sheet, rowNum++, "⏱️ Analysis Time:", result.getAnalysisTimeMs() + " ms", dataStyle, widths);
 
         rowNum++; // Empty row
 
         // Impact summary
-        createInfoSection(sheet, rowNum, "Impact Summary", headerStyle, dataStyle);
+        createInfoSection(sheet, rowNum, "Impact Summary", headerStyle, dataStyle, widths);
         rowNum += 2;
 
-        String[] categories = {"🏛️ Repositories", "📋 Entities", "⚙️ Services", "🌐 Controllers", "📊 Total Usages", "📁 Total Classes"};
+        String[] categories = {"🏛️ Repositories", "📋 Entities", "⚙️ Services", "🌐 Controllers", "🧩 Components",
+                "📊 Total Usages", "📁 Total Classes"};
         int[] counts = {
                 result.getRepositories().size(),
                 result.getEntities().size(),
                 result.getServices().size(),
                 result.getControllers().size(),
+                result.getComponents().size(),
                 result.getColumnUsages().size(),
                 result.getTotalImpactedClasses()
         };
 
         for (int i = 0; i < categories.length; i++) {
-            addInfoRow(sheet, rowNum++, categories[i], String.valueOf(counts[i]), dataStyle);
+            addInfoRow(sheet, rowNum++, categories[i], String.valueOf(counts[i]), dataStyle, widths);
         }
 
-        // Auto-size columns
-        for (int i = 0; i < 4; i++) {
-            sheet.autoSizeColumn(i);
-        }
+        // Size columns to the tracked content
+        widths.apply(sheet);
     }
 
     private void createRepositoriesSheet(Workbook workbook, List<ClassInfo> repositories,
@@ -123,20 +210,28 @@ public class ExcelReportGenerator {
         createClassInfoSheet(sheet, controllers, headerStyle, dataStyle);
     }
 
+    private void createComponentsSheet(Workbook workbook, List<ClassInfo> components,
+                                       CellStyle headerStyle, CellStyle dataStyle) {
+        Sheet sheet = workbook.createSheet("🧩 Components (" + components.size() + ")");
+        createClassInfoSheet(sheet, components, headerStyle, dataStyle);
+    }
+
     private void createClassInfoSheet(Sheet sheet, List<ClassInfo> classInfoList,
                                       CellStyle headerStyle, CellStyle dataStyle) {
+        ColumnWidthTracker widths = new ColumnWidthTracker();
         int rowNum = 0;
 
         // Create headers
         Row headerRow = sheet.createRow(rowNum++);
         String[] headers = {"Class Name", "Package", "File Path", "Class Type", "Impact Reason",
-                "Usage Count", "Methods", "Fields", "Annotations"};
+                "Usage Count", "Methods", "Fields", "Annotations", "Impact Depth", "Impact Path"};
 
         for (int i = 0; i < headers.length; i++) {
             Cell cell = headerRow.createCell(i);
             cell.setCellValue(headers[i]);
             cell.setCellStyle(headerStyle);
         }
+        widths.trackHeader(headerRow);
 
         // Add data rows
         for (ClassInfo classInfo : classInfoList) {
@@ -151,22 +246,24 @@ public class ExcelReportGenerator {
             dataRow.createCell(6).setCellValue(joinList(classInfo.getMethods(), 3));
             dataRow.createCell(7).setCellValue(joinList(classInfo.getFields(), 3));
             dataRow.createCell(8).setCellValue(joinList(classInfo.getAnnotations(), 5));
+            dataRow.createCell(9).setCellValue(classInfo.getImpactDepth());
+            dataRow.createCell(10).setCellValue(String.join(" → ", classInfo.getImpactPath()));
 
             // Apply data style
             for (int i = 0; i < headers.length; i++) {
                 dataRow.getCell(i).setCellStyle(dataStyle);
             }
+            widths.track(dataRow);
         }
 
-        // Auto-size columns
-        for (int i = 0; i < headers.length; i++) {
-            sheet.autoSizeColumn(i);
-        }
+        // Size columns to the tracked content
+        widths.apply(sheet);
     }
 
     private void createUsageDetailsSheet(Workbook workbook, List<ColumnUsage> usages,
                                          CellStyle headerStyle, CellStyle dataStyle) {
         Sheet sheet = workbook.createSheet("🔍 Usage Details (" + usages.size() + ")");
+        ColumnWidthTracker widths = new ColumnWidthTracker();
 
         int rowNum = 0;
 
@@ -179,6 +276,7 @@ public class ExcelReportGenerator {
             cell.setCellValue(headers[i]);
             cell.setCellStyle(headerStyle);
         }
+        widths.trackHeader(headerRow);
 
         // Add data rows
         for (ColumnUsage usage : usages) {
@@ -195,17 +293,17 @@ public class ExcelReportGenerator {
             for (int i = 0; i < headers.length; i++) {
                 dataRow.getCell(i).setCellStyle(dataStyle);
             }
+            widths.track(dataRow);
         }
 
-        // Auto-size columns
-        for (int i = 0; i < headers.length; i++) {
-            sheet.autoSizeColumn(i);
-        }
+        // Size columns to the tracked content
+        widths.apply(sheet);
     }
 
     private void createApiEndpointsSheet(Workbook workbook, List<ClassInfo> controllers,
                                          CellStyle headerStyle, CellStyle dataStyle) {
         Sheet sheet = workbook.createSheet("🔗 API Endpoints");
+        ColumnWidthTracker widths = new ColumnWidthTracker();
 
         int rowNum = 0;
 
@@ -218,6 +316,7 @@ public class ExcelReportGenerator {
             cell.setCellValue(headers[i]);
             cell.setCellStyle(headerStyle);
         }
+        widths.trackHeader(headerRow);
 
         // Add data rows
         for (ClassInfo controller : controllers) {
@@ -231,6 +330,7 @@ public class ExcelReportGenerator {
                 for (int i = 0; i < headers.length; i++) {
                     dataRow.getCell(i).setCellStyle(dataStyle);
                 }
+                widths.track(dataRow);
             } else {
                 for (String endpoint : controller.getApiEndpoints()) {
                     Row dataRow = sheet.createRow(rowNum++);
@@ -242,24 +342,223 @@ public class ExcelReportGenerator {
                     for (int i = 0; i < headers.length; i++) {
                         dataRow.getCell(i).setCellStyle(dataStyle);
                     }
+                    widths.track(dataRow);
                 }
             }
         }
 
-        // Auto-size columns
+        // Size columns to the tracked content
+        widths.apply(sheet);
+    }
+
+    private void createBatchSummarySheet(Workbook workbook, Collection<ImpactResult> results,
+                                         CellStyle headerStyle, CellStyle dataStyle, CellStyle titleStyle) {
+        Sheet sheet = workbook.createSheet("📊 Summary");
+        ColumnWidthTracker widths = new ColumnWidthTracker();
+
+        int rowNum = 0;
+
+        // Title
+        Row titleRow = sheet.createRow(rowNum++);
+        Cell titleCell = titleRow.createCell(0);
+        titleCell.setCellValue("🔍 Code Impact Analysis Report (" + results.size() + " columns)");
+        titleCell.setCellStyle(titleStyle);
+        sheet.addMergedRegion(new org.apache.poi.ss.util.CellRangeAddress(0, 0, 0, 8));
+
+        rowNum++; // Empty row
+
+        ImpactResult first = results.iterator().next();
+        addInfoRow(sheet, rowNum++, "📅 Analysis Date:",
+                first.getAnalysisDate().format(DateTimeFormatter.ofPattern("yyyy-MM-dd HH:mm:ss")), dataStyle, widths);
+        addInfoRow(sheet, rowNum++, "📂 Project Path:", first.getProjectPath(), dataStyle, widths);
+        addInfoRow(sheet, rowNum++, "⏱️ Analysis Time:", first.getAnalysisTimeMs() + " ms", dataStyle, widths);
+
+        rowNum++; // Empty row
+
+        // One summary row per column
+        Row headerRow = sheet.createRow(rowNum++);
+        String[] headers = {"Column", "Repositories", "Entities", "Services", "Controllers", "Components",
+                "Total Usages", "Total Classes", "API Endpoints"};
+
         for (int i = 0; i < headers.length; i++) {
-            sheet.autoSizeColumn(i);
+            Cell cell = headerRow.createCell(i);
+            cell.setCellValue(headers[i]);
+            cell.setCellStyle(headerStyle);
+        }
+        widths.trackHeader(headerRow);
+
+        for (ImpactResult result : results) {
+            Row dataRow = sheet.createRow(rowNum++);
+
+            dataRow.createCell(0).setCellValue(result.getColumnName());
+            dataRow.createCell(1).setCellValue(result.getRepositories().size());
+            dataRow.createCell(2).setCellValue(result.getEntities().size());
+            dataRow.createCell(3).setCellValue(result.getServices().size());
+            dataRow.createCell(4).setCellValue(result.getControllers().size());
+            dataRow.createCell(5).setCellValue(result.getComponents().size());
+            dataRow.createCell(6).setCellValue(result.getColumnUsages().size());
+            dataRow.createCell(7).setCellValue(result.getTotalImpactedClasses());
+            dataRow.createCell(8).setCellValue(result.getControllers().stream()
+                    .mapToInt(controller -> controller.getApiEndpoints().size()).sum());
+
+            // Apply data style
+            for (int i = 0; i < headers.length; i++) {
+                dataRow.getCell(i).setCellStyle(dataStyle);
+            }
+            widths.track(dataRow);
         }
+
+        // Size columns to the tracked content
+        widths.apply(sheet);
+    }
+
+    private void createBatchClassesSheet(Workbook workbook, Collection<ImpactResult> results,
+                                         CellStyle headerStyle, CellStyle dataStyle) {
+        Sheet sheet = workbook.createSheet("🗂️ Impacted Classes");
+        ColumnWidthTracker widths = new ColumnWidthTracker();
+
+        int rowNum = 0;
+
+        // Create headers
+        Row headerRow = sheet.createRow(rowNum++);
+        String[] headers = {"Column", "Class Name", "Package", "File Path", "Class Type", "Impact Reason",
+                "Usage Count", "Impact Depth", "Impact Path"};
+
+        for (int i = 0; i < headers.length; i++) {
+            Cell cell = headerRow.createCell(i);
+            cell.setCellValue(headers[i]);
+            cell.setCellStyle(headerStyle);
+        }
+        widths.trackHeader(headerRow);
+
+        // Add data rows
+        for (ImpactResult result : results) {
+            for (List<ClassInfo> classes : List.of(result.getRepositories(), result.getEntities(),
+                    result.getServices(), result.getControllers(), result.getComponents())) {
+                for (ClassInfo classInfo : classes) {
+                    Row dataRow = sheet.createRow(rowNum++);
+
+                    dataRow.createCell(0).setCellValue(result.getColumnName());
+                    dataRow.createCell(1).setCellValue(classInfo.getClassName());
+                    dataRow.createCell(2).setCellValue(classInfo.getPackageName());
+                    dataRow.createCell(3).setCellValue(classInfo.getShortFilePath());
+                    dataRow.createCell(4).setCellValue(classInfo.getClassType());
+                    dataRow.createCell(5).setCellValue(classInfo.getImpactReason() != null ? classInfo.getImpactReason() : "");
+                    dataRow.createCell(6).setCellValue(classInfo.getUsageCount());
+                    dataRow.createCell(7).setCellValue(classInfo.getImpactDepth());
+                    dataRow.createCell(8).setCellValue(String.join(" → ", classInfo.getImpactPath()));
+
+                    // Apply data style
+                    for (int i = 0; i < headers.length; i++) {
+                        dataRow.getCell(i).setCellStyle(dataStyle);
+                    }
+                    widths.track(dataRow);
+                }
+            }
+        }
+
+        // Size columns to the tracked content
+        widths.apply(sheet);
+    }
+
+    private void createBatchUsageDetailsSheet(Workbook workbook, Collection<ImpactResult> results,
+                                              CellStyle headerStyle, CellStyle dataStyle) {
+        int totalUsages = results.stream().mapToInt(ImpactResult::getTotalUsages).sum();
+        Sheet sheet = workbook.createSheet("🔍 Usage Details (" + totalUsages + ")");
+        ColumnWidthTracker widths = new ColumnWidthTracker();
+
+        int rowNum = 0;
+
+        // Create headers
+        Row headerRow = sheet.createRow(rowNum++);
+        String[] headers = {"Column", "Class Name", "Method/Field", "Usage Type", "Context", "Line #", "File Path"};
+
+        for (int i = 0; i < headers.length; i++) {
+            Cell cell = headerRow.createCell(i);
+            cell.setCellValue(headers[i]);
+            cell.setCellStyle(headerStyle);
+        }
+        widths.trackHeader(headerRow);
+
+        // Add data rows
+        for (ImpactResult result : results) {
+            for (ColumnUsage usage : result.getColumnUsages()) {
+                Row dataRow = sheet.createRow(rowNum++);
+
+                dataRow.createCell(0).setCellValue(result.getColumnName());
+                dataRow.createCell(1).setCellValue(usage.getClassName());
+                dataRow.createCell(2).setCellValue(usage.getMethodName());
+                dataRow.createCell(3).setCellValue(usage.getUsageType());
+                dataRow.createCell(4).setCellValue(truncateString(usage.getContext(), 100));
+                dataRow.createCell(5).setCellValue(usage.getLineNumber());
+                dataRow.createCell(6).setCellValue(usage.getFilePath());
+
+                // Apply data style
+                for (int i = 0; i < headers.length; i++) {
+                    dataRow.getCell(i).setCellStyle(dataStyle);
+                }
+                widths.track(dataRow);
+            }
+        }
+
+        // Size columns to the tracked content
+        widths.apply(sheet);
+    }
+
+    private void createBatchApiEndpointsSheet(Workbook workbook, Collection<ImpactResult> results,
+                                              CellStyle headerStyle, CellStyle dataStyle) {
+        Sheet sheet = workbook.createSheet("🔗 API Endpoints");
+        ColumnWidthTracker widths = new ColumnWidthTracker();
+
+        int rowNum = 0;
+
+        // Create headers
+        Row headerRow = sheet.createRow(rowNum++);
+        String[] headers = {"Column", "Controller", "Package", "API Endpoint", "Impact Reason"};
+
+        for (int i = 0; i < headers.length; i++) {
+            Cell cell = headerRow.createCell(i);
+            cell.setCellValue(headers[i]);
+            cell.setCellStyle(headerStyle);
+        }
+        widths.trackHeader(headerRow);
+
+        // Add data rows
+        for (ImpactResult result : results) {
+            for (ClassInfo controller : result.getControllers()) {
+                List<String> endpoints = controller.getApiEndpoints().isEmpty()
+                        ? List.of("No explicit endpoints found") : controller.getApiEndpoints();
+                for (String endpoint : endpoints) {
+                    Row dataRow = sheet.createRow(rowNum++);
+                    dataRow.createCell(0).setCellValue(result.getColumnName());
+                    dataRow.createCell(1).setCellValue(controller.getClassName());
+                    dataRow.createCell(2).setCellValue(controller.getPackageName());
+                    dataRow.createCell(3).setCellValue(endpoint);
+                    dataRow.createCell(4).setCellValue(controller.getImpactReason());
+
+                    for (int i = 0; i < headers.length; i++) {
+                        dataRow.getCell(i).setCellStyle(dataStyle);
+                    }
+                    widths.track(dataRow);
+                }
+            }
+        }
+
+        // Size columns to the tracked content
+        widths.apply(sheet);
     }
 
-    private void createInfoSection(Sheet sheet, int rowNum, String title, CellStyle headerStyle, CellStyle dataStyle) {
+    private void createInfoSection(Sheet sheet, int rowNum, String title, CellStyle headerStyle, CellStyle dataStyle,
+                                   ColumnWidthTracker widths) {
         Row sectionRow = sheet.createRow(rowNum);
         Cell sectionCell = sectionRow.createCell(0);
         sectionCell.setCellValue(title);
         sectionCell.setCellStyle(headerStyle);
+        widths.trackHeader(sectionRow);
     }
 
-    private void addInfoRow(Sheet sheet, int rowNum, String label, String value, CellStyle dataStyle) {
+    private void addInfoRow(Sheet sheet, int rowNum, String label, String value, CellStyle dataStyle,
+                            ColumnWidthTracker widths) {
         Row row = sheet.createRow(rowNum);
         Cell labelCell = row.createCell(0);
         Cell valueCell = row.createCell(1);
@@ -269,6 +568,7 @@ public class ExcelReportGenerator {
 
         labelCell.setCellStyle(dataStyle);
         valueCell.setCellStyle(dataStyle);
+        widths.track(row);
     }
 
     private String joinList(List<String> list, int maxItems) {
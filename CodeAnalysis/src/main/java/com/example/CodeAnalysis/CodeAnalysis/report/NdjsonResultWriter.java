@@ -0,0 +1,183 @@
+package com.example.CodeAnalysis.CodeAnalysis.report;
+
+import com.example.CodeAnalysis.CodeAnalysis.model.ClassInfo;
+import com.example.CodeAnalysis.CodeAnalysis.model.ColumnUsage;
+import com.example.CodeAnalysis.CodeAnalysis.model.ImpactResult;
+import com.example.CodeAnalysis.CodeAnalysis.tracker.AnalysisListener;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.time.LocalDateTime;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * Writes an analysis as newline-delimited JSON while it runs: a header line, one line
+ * per impacted class and per column usage as the tracker finds them, and a closing
+ * "end" line with the counts and stats. Nothing is collected, so memory does not
+ * grow with the result. Every line is an object {"type": ..., "data": ...}.
+ */
+@Slf4j
+@Component
+public class NdjsonResultWriter {
+
+    public static final String CONTENT_TYPE = "application/x-ndjson";
+
+    // Lines between flushes, so clients see data early without a flush per line
+    private static final int FLUSH_EVERY = 1000;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    /**
+     * Starts a stream for one column and writes its header line. The returned stream
+     * is the listener to analyze with; {@link ResultStream#finish} ends it.
+     */
+    public ResultStream open(OutputStream out, boolean gzip, String projectPath, String columnName)
+            throws IOException {
+        ResultStream stream = new ResultStream(out, gzip, columnName);
+        Map<String, Object> header = new LinkedHashMap<>();
+        header.put("columnName", columnName);
+        header.put("projectPath", projectPath);
+        header.put("analysisDate", LocalDateTime.now());
+        stream.writeLine("header", header);
+        stream.generator.flush();
+        return stream;
+    }
+
+    /**
+     * The line type of an impacted class, named after the result list it belongs to.
+     */
+    static String lineType(ClassInfo classInfo) {
+        return switch (classInfo.getClassType()) {
+            case "Repository" -> "repository";
+            case "Entity" -> "entity";
+            case "Service" -> "service";
+            case "Controller" -> "controller";
+            default -> "component";
+        };
+    }
+
+    /**
+     * One NDJSON response. Listener calls write their lines directly; a failed write
+     * is rethrown unchecked so the analysis stops instead of working for nobody.
+     */
+    public class ResultStream implements AnalysisListener, Closeable {
+        private final OutputStream out;
+        private final GZIPOutputStream gzipOut;
+        private final JsonGenerator generator;
+        private final ObjectWriter writer;
+        private final String columnName;
+        private final Map<String, Integer> classCounts = new LinkedHashMap<>();
+        private long lines;
+        private long usages;
+        private boolean broken;
+
+        private ResultStream(OutputStream out, boolean gzip, String columnName) throws IOException {
+            this.out = out;
+            this.gzipOut = gzip ? new GZIPOutputStream(out, 8192, true) : null;
+            this.generator = objectMapper.getFactory().createGenerator(gzip ? gzipOut : out);
+            // Lines end in '\n' themselves; the response stream is left to the caller
+            this.generator.disable(JsonGenerator.Feature.AUTO_CLOSE_TARGET);
+            this.generator.setRootValueSeparator(null);
+            this.writer = objectMapper.writer().without(SerializationFeature.FLUSH_AFTER_WRITE_VALUE);
+            this.columnName = columnName;
+            for (String type : List.of("repository", "entity", "service", "controller", "component")) {
+                classCounts.put(type, 0);
+            }
+        }
+
+        @Override
+        public void classImpacted(String columnName, ClassInfo classInfo) {
+            String type = lineType(classInfo);
+            classCounts.merge(type, 1, Integer::sum);
+            writeUnchecked(type, classInfo);
+        }
+
+        @Override
+        public void usagesFound(String columnName, List<ColumnUsage> usages) {
+            for (ColumnUsage usage : usages) {
+                writeUnchecked("usage", usage);
+                this.usages++;
+            }
+        }
+
+        /**
+         * Writes the "end" line from the counts seen so far and the timings and stats of
+         * the finished analysis, then completes the body.
+         */
+        public void finish(ImpactResult result) throws IOException {
+            Map<String, Object> end = new LinkedHashMap<>();
+            end.put("repositories", classCounts.get("repository"));
+            end.put("entities", classCounts.get("entity"));
+            end.put("services", classCounts.get("service"));
+            end.put("controllers", classCounts.get("controller"));
+            end.put("components", classCounts.get("component"));
+            end.put("totalImpactedClasses", classCounts.values().stream().mapToInt(Integer::intValue).sum());
+            end.put("totalUsages", usages);
+            end.put("analysisTimeMs", result.getAnalysisTimeMs());
+            end.put("stats", result.getStats());
+            writeLine("end", end);
+            complete();
+        }
+
+        /**
+         * Ends a stream whose analysis failed with an "error" line, unless the failure
+         * was the client going away.
+         */
+        public void fail(String message) throws IOException {
+            if (broken) {
+                return;
+            }
+            writeLine("error", Map.of("message", String.valueOf(message)));
+            complete();
+        }
+
+        @Override
+        public void close() throws IOException {
+            generator.close();
+        }
+
+        private void complete() throws IOException {
+            generator.flush();
+            if (gzipOut != null) {
+                gzipOut.finish();
+            }
+            out.flush();
+            log.info("Streamed {} NDJSON lines for column {}{}", lines, columnName, gzipOut != null ? " (gzip)" : "");
+        }
+
+        private void writeUnchecked(String type, Object data) {
+            try {
+                writeLine(type, data);
+                if (lines % FLUSH_EVERY == 0) {
+                    generator.flush();
+                }
+            } catch (IOException e) {
+                broken = true;
+                throw new UncheckedIOException(e);
+            }
+        }
+
+        private void writeLine(String type, Object data) throws IOException {
+            generator.writeStartObject();
+            generator.writeStringField("type", type);
+            generator.writeFieldName("data");
+            writer.writeValue(generator, data);
+            generator.writeEndObject();
+            generator.writeRaw('\n');
+            lines++;
+        }
+    }
+}
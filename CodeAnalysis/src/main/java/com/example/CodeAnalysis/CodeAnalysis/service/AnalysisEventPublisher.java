@@ -0,0 +1,261 @@
+package com.example.CodeAnalysis.CodeAnalysis.service;
+
+import com.example.CodeAnalysis.CodeAnalysis.model.AnalysisJob;
+import com.example.CodeAnalysis.CodeAnalysis.model.ClassInfo;
+import com.example.CodeAnalysis.CodeAnalysis.model.ColumnUsage;
+import com.example.CodeAnalysis.CodeAnalysis.tracker.AnalysisListener;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.MediaType;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.Executor;
+import java.util.concurrent.RejectedExecutionException;
+
+/**
+ * Streams one job's progress to its Server-Sent Events subscribers: "phase" when a
+ * phase starts, "progress" at a fixed interval, "impact" for every impacted class
+ * and a final "done". Impacted classes are kept so that a client subscribing late
+ * still receives everything found so far.
+ * <p>
+ * The analysis thread only appends events to a bounded queue per subscriber; the
+ * queues are sent from the drainer, the progress ticker. A subscriber whose queue
+ * fills up is completed and can reconnect to be replayed what it missed.
+ */
+@Slf4j
+public class AnalysisEventPublisher implements AnalysisListener {
+
+    private final AnalysisJob job;
+    private final int queueCapacity;
+    private final Executor drainer;
+    private final List<Subscriber> subscribers = new CopyOnWriteArrayList<>();
+    // Guards impacts, finished and the queues' order; held without I/O
+    private final Object lock = new Object();
+    private final List<Map<String, Object>> impacts = new ArrayList<>();
+    private boolean finished;
+    private long lastTickAt;
+    private long lastFilesProcessed;
+    private volatile double filesPerSecond;
+
+    public AnalysisEventPublisher(AnalysisJob job, int queueCapacity, Executor drainer) {
+        this.job = job;
+        this.queueCapacity = queueCapacity;
+        this.drainer = drainer;
+    }
+
+    public void subscribe(SseEmitter emitter) {
+        Subscriber subscriber = new Subscriber(emitter, queueCapacity);
+        List<Map<String, Object>> replay;
+        boolean done;
+        synchronized (lock) {
+            // Later events queue up from here on, so the snapshot misses none of them
+            replay = List.copyOf(impacts);
+            done = finished;
+            if (!done) {
+                subscribers.add(subscriber);
+            }
+        }
+        emitter.onCompletion(() -> subscribers.remove(subscriber));
+        emitter.onTimeout(() -> subscribers.remove(subscriber));
+        emitter.onError(error -> subscribers.remove(subscriber));
+
+        try {
+            // Catch up on everything sent before this client arrived
+            if (job.getPhase() != null) {
+                send(emitter, "phase", phaseEvent());
+            }
+            for (Map<String, Object> impact : replay) {
+                send(emitter, "impact", impact);
+            }
+            send(emitter, "progress", progressEvent(replay.size()));
+            if (done) {
+                send(emitter, "done", doneEvent());
+                emitter.complete();
+                return;
+            }
+        } catch (IOException | IllegalStateException e) {
+            subscribers.remove(subscriber);
+            emitter.completeWithError(e);
+            return;
+        }
+        subscriber.replayed = true;
+        scheduleDrain();
+    }
+
+    public boolean hasSubscribers() {
+        return !subscribers.isEmpty();
+    }
+
+    @Override
+    public void phaseStarted(String phase) {
+        job.setPhase(phase);
+        synchronized (lock) {
+            enqueue("phase", phaseEvent());
+        }
+    }
+
+    @Override
+    public void classImpacted(String columnName, ClassInfo classInfo) {
+        Map<String, Object> impact = new LinkedHashMap<>();
+        impact.put("columnName", columnName);
+        impact.put("className", classInfo.getClassName());
+        impact.put("packageName", classInfo.getPackageName());
+        impact.put("classType", classInfo.getClassType());
+        impact.put("impactDepth", classInfo.getImpactDepth());
+        impact.put("impactReason", classInfo.getImpactReason());
+        impact.put("usageCount", classInfo.getUsageCount());
+        synchronized (lock) {
+            impacts.add(impact);
+            enqueue("impact", impact);
+        }
+    }
+
+    @Override
+    public void usagesFound(String columnName, List<ColumnUsage> usages) {
+        job.getUsagesFound().addAndGet(usages.size());
+    }
+
+    /**
+     * Queues a progress event, with the parse throughput since the previous tick, and
+     * sends what the subscribers have queued. Runs on the drainer.
+     */
+    public void tick() {
+        long now = System.currentTimeMillis();
+        long filesProcessed = job.getStats().getFilesProcessed();
+        if (lastTickAt > 0 && now > lastTickAt) {
+            filesPerSecond = (filesProcessed - lastFilesProcessed) * 1000.0 / (now - lastTickAt);
+        }
+        lastTickAt = now;
+        lastFilesProcessed = filesProcessed;
+        synchronized (lock) {
+            enqueue("progress", progressEvent(impacts.size()));
+        }
+        drain();
+    }
+
+    public void finish() {
+        synchronized (lock) {
+            finished = true;
+            enqueue("progress", progressEvent(impacts.size()));
+            enqueue("done", doneEvent());
+        }
+        scheduleDrain();
+    }
+
+    /**
+     * Sends every subscriber its queued events, completing those that lagged behind
+     * and, after "done", all of them.
+     */
+    void drain() {
+        for (Subscriber subscriber : subscribers) {
+            if (!subscriber.replayed) {
+                continue;
+            }
+            try {
+                if (subscriber.lagging) {
+                    log.debug("Closing lagging event subscriber of job {}", job.getId());
+                    subscribers.remove(subscriber);
+                    subscriber.emitter.complete();
+                    continue;
+                }
+                Event event;
+                while ((event = subscriber.queue.poll()) != null) {
+                    send(subscriber.emitter, event.name(), event.data());
+                    if (event.name().equals("done")) {
+                        subscribers.remove(subscriber);
+                        subscriber.emitter.complete();
+                        break;
+                    }
+                }
+            } catch (IOException | IllegalStateException e) {
+                // The client went away; the others keep receiving
+                log.debug("Dropping event subscriber of job {}: {}", job.getId(), e.getMessage());
+                subscribers.remove(subscriber);
+            }
+        }
+    }
+
+    private void scheduleDrain() {
+        try {
+            drainer.execute(this::drain);
+        } catch (RejectedExecutionException e) {
+            log.debug("Not sending events of job {}: shutting down", job.getId());
+        }
+    }
+
+    private void enqueue(String name, Map<String, Object> data) {
+        Event event = new Event(name, data);
+        for (Subscriber subscriber : subscribers) {
+            if (!subscriber.lagging && !subscriber.queue.offer(event)) {
+                subscriber.lagging = true;
+            }
+        }
+    }
+
+    private Map<String, Object> phaseEvent() {
+        Map<String, Object> event = new LinkedHashMap<>();
+        event.put("phase", job.getPhase());
+        event.put("elapsedMs", elapsedMs());
+        return event;
+    }
+
+    private Map<String, Object> progressEvent(int impactedClasses) {
+        Map<String, Object> event = new LinkedHashMap<>();
+        event.put("status", job.getStatus());
+        event.put("phase", job.getPhase());
+        event.put("filesTotal", job.getStats().getFilesTotal());
+        event.put("filesProcessed", job.getStats().getFilesProcessed());
+        event.put("filesPerSecond", Math.round(filesPerSecond));
+        event.put("usagesFound", job.getUsagesFound().get());
+        event.put("impactedClasses", impactedClasses);
+        event.put("progress", job.getProgress());
+        event.put("elapsedMs", elapsedMs());
+        return event;
+    }
+
+    private Map<String, Object> doneEvent() {
+        Map<String, Object> event = new LinkedHashMap<>();
+        event.put("id", job.getId());
+        event.put("status", job.getStatus());
+        event.put("error", job.getError());
+        event.put("elapsedMs", elapsedMs());
+        return event;
+    }
+
+    private long elapsedMs() {
+        if (job.getStartedAt() == null) {
+            return 0;
+        }
+        LocalDateTime end = job.getFinishedAt() != null ? job.getFinishedAt() : LocalDateTime.now();
+        return Duration.between(job.getStartedAt(), end).toMillis();
+    }
+
+    private void send(SseEmitter emitter, String name, Map<String, Object> data) throws IOException {
+        emitter.send(SseEmitter.event().name(name).data(data, MediaType.APPLICATION_JSON));
+    }
+
+    private record Event(String name, Map<String, Object> data) {
+    }
+
+    private static class Subscriber {
+        final SseEmitter emitter;
+        final BlockingQueue<Event> queue;
+        // Set once the replay is sent; until then queued events wait
+        volatile boolean replayed;
+        volatile boolean lagging;
+
+        Subscriber(SseEmitter emitter, int queueCapacity) {
+            this.emitter = emitter;
+            this.queue = new ArrayBlockingQueue<>(queueCapacity);
+        }
+    }
+}
@@ -0,0 +1,251 @@
+package com.example.CodeAnalysis.CodeAnalysis.service;
+
+import com.example.CodeAnalysis.CodeAnalysis.model.AnalysisJob;
+import com.example.CodeAnalysis.CodeAnalysis.parser.VirtualThreads;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.io.File;
+import java.nio.file.Paths;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.Collectors;
+
+/**
+ * Runs analyses in the background on a bounded pool. Submitting the same project and
+ * columns while an earlier job for them is still queued or running returns that job
+ * instead of starting another one.
+ */
+@Slf4j
+@Service
+public class AnalysisJobService {
+
+    @Value("${code-analysis.jobs.threads:2}")
+    private int threads;
+
+    @Value("${code-analysis.jobs.queue-capacity:20}")
+    private int queueCapacity;
+
+    @Value("${code-analysis.jobs.history:100}")
+    private int history;
+
+    @Autowired
+    private CodeImpactAnalyzer codeImpactAnalyzer;
+
+    private final Map<String, AnalysisJob> jobs = new LinkedHashMap<>();
+    private final Map<String, AnalysisJob> activeJobs = new ConcurrentHashMap<>();
+    private final Map<String, AnalysisEventPublisher> publishers = new ConcurrentHashMap<>();
+    private ThreadPoolExecutor executor;
+
+    private final ScheduledExecutorService progressTicker = Executors.newSingleThreadScheduledExecutor(runnable -> {
+        Thread thread = new Thread(runnable, "code-analysis-job-progress");
+        thread.setDaemon(true);
+        return thread;
+    });
+
+    @Value("${code-analysis.jobs.progress-interval-ms:500}")
+    private long progressIntervalMs;
+
+    @Value("${code-analysis.jobs.subscriber-queue:1000}")
+    private int subscriberQueue;
+
+    @Value("${code-analysis.io.mode:inline}")
+    private String ioMode;
+
+    @PostConstruct
+    public void start() {
+        AtomicInteger threadCount = new AtomicInteger();
+        ThreadFactory threadFactory = runnable -> {
+            Thread thread = new Thread(runnable, "code-analysis-job-" + threadCount.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        };
+        // Job threads mostly wait on the scan and then write the report, so with virtual
+        // I/O they are virtual too; the pool size still bounds how many jobs run at once
+        if ("virtual".equalsIgnoreCase(ioMode.trim()) && VirtualThreads.isAvailable()) {
+            threadFactory = VirtualThreads.factory("code-analysis-job-");
+        }
+        executor = new ThreadPoolExecutor(threads, threads, 0L, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(queueCapacity), threadFactory);
+        progressTicker.scheduleAtFixedRate(this::tickRunningJobs, progressIntervalMs, progressIntervalMs,
+                TimeUnit.MILLISECONDS);
+    }
+
+    /**
+     * Queues an analysis of the given columns, or returns the job already queued or
+     * running for the same project and columns.
+     *
+     * @throws IllegalStateException when the queue is full
+     */
+    public AnalysisJob submit(String projectPath, List<String> columnNames) {
+        return submit(projectPath, columnNames, null);
+    }
+
+    /**
+     * Like {@link #submit(String, List)}, writing the report to the given file; a bare
+     * file name goes to the temporary directory.
+     */
+    public AnalysisJob submit(String projectPath, List<String> columnNames, String outputFile) {
+        if (projectPath == null || projectPath.trim().isEmpty()) {
+            throw new IllegalArgumentException("Project path cannot be empty");
+        }
+        if (columnNames == null || columnNames.isEmpty()) {
+            throw new IllegalArgumentException("At least one column name is required");
+        }
+        List<String> columns = new ArrayList<>(new LinkedHashSet<>(columnNames));
+        String key = Paths.get(projectPath).toAbsolutePath().normalize() + "|" + columnsKey(columns);
+
+        AnalysisJob job = new AnalysisJob();
+        job.setId(UUID.randomUUID().toString());
+        job.setProjectPath(projectPath);
+        job.setColumnNames(columns);
+        job.setSubmittedAt(LocalDateTime.now());
+        String reportName = columns.size() == 1 ? columns.get(0) : "batch-" + columns.size() + "-columns";
+        if (outputFile == null || outputFile.trim().isEmpty()) {
+            // Jobs finishing in the same second must not overwrite each other's report
+            outputFile = codeImpactAnalyzer.generateDefaultOutputFileName(reportName)
+                    .replace(".xlsx", "-" + job.getId().substring(0, 8) + ".xlsx");
+        }
+        if (!outputFile.contains(File.separator)) {
+            outputFile = System.getProperty("java.io.tmpdir") + File.separator + outputFile;
+        }
+        job.setOutputFile(outputFile);
+        job.setReportFileName(new File(outputFile).getName());
+
+        AnalysisJob existing = activeJobs.putIfAbsent(key, job);
+        if (existing != null) {
+            log.info("Analysis of {} in {} is already {}, returning job {}",
+                    columns, projectPath, existing.getStatus(), existing.getId());
+            return existing;
+        }
+
+        AnalysisEventPublisher publisher = new AnalysisEventPublisher(job, subscriberQueue, progressTicker);
+        synchronized (jobs) {
+            jobs.put(job.getId(), job);
+            publishers.put(job.getId(), publisher);
+            evictFinishedJobs();
+        }
+        try {
+            executor.execute(() -> run(job, key, publisher));
+        } catch (RejectedExecutionException e) {
+            synchronized (jobs) {
+                jobs.remove(job.getId());
+                publishers.remove(job.getId());
+            }
+            activeJobs.remove(key, job);
+            log.warn("Rejected analysis of {} in {}: job queue is full", columns, projectPath);
+            throw new IllegalStateException("Job queue is full (" + queueCapacity + " waiting), try again later");
+        }
+        log.info("Queued job {} analyzing {} in {}", job.getId(), columns, projectPath);
+        return job;
+    }
+
+    public Optional<AnalysisJob> find(String id) {
+        synchronized (jobs) {
+            return Optional.ofNullable(jobs.get(id));
+        }
+    }
+
+    /**
+     * Streams the job's events to the emitter, starting with what happened so far.
+     */
+    public boolean subscribe(String id, SseEmitter emitter) {
+        AnalysisEventPublisher publisher = publishers.get(id);
+        if (publisher == null) {
+            return false;
+        }
+        publisher.subscribe(emitter);
+        return true;
+    }
+
+    public List<AnalysisJob> list() {
+        synchronized (jobs) {
+            return new ArrayList<>(jobs.values());
+        }
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        progressTicker.shutdownNow();
+        executor.shutdownNow();
+    }
+
+    private void tickRunningJobs() {
+        for (AnalysisEventPublisher publisher : publishers.values()) {
+            if (publisher.hasSubscribers()) {
+                publisher.tick();
+            }
+        }
+    }
+
+    private void run(AnalysisJob job, String key, AnalysisEventPublisher publisher) {
+        job.setStartedAt(LocalDateTime.now());
+        job.setStatus(AnalysisJob.Status.RUNNING);
+        try {
+            List<String> columns = job.getColumnNames();
+            if (columns.size() == 1) {
+                String column = columns.get(0);
+                job.setResults(Map.of(column, codeImpactAnalyzer.analyzeAndGenerateReport(
+                        job.getProjectPath(), column, job.getOutputFile(), job.getStats(), publisher)));
+            } else {
+                job.setResults(codeImpactAnalyzer.analyzeColumnsAndGenerateReport(
+                        job.getProjectPath(), columns, job.getOutputFile(), job.getStats(), publisher));
+            }
+            job.setStatus(AnalysisJob.Status.COMPLETED);
+        } catch (Exception e) {
+            log.error("Job {} failed", job.getId(), e);
+            Throwable cause = e.getCause() != null ? e.getCause() : e;
+            job.setError(cause.getMessage());
+            job.setStatus(AnalysisJob.Status.FAILED);
+        } finally {
+            job.setFinishedAt(LocalDateTime.now());
+            activeJobs.remove(key, job);
+            publisher.finish();
+        }
+    }
+
+    /**
+     * The columns as a job key: columns match case-insensitively and in any order, so
+     * requests naming the same set in another order or case share one job.
+     */
+    static String columnsKey(List<String> columns) {
+        return columns.stream().map(column -> column.toLowerCase(Locale.ROOT)).distinct().sorted()
+                .collect(Collectors.joining(","));
+    }
+
+    /**
+     * Keeps at most the configured number of jobs, forgetting the oldest finished ones.
+     */
+    private void evictFinishedJobs() {
+        Iterator<AnalysisJob> iterator = jobs.values().iterator();
+        while (jobs.size() > history && iterator.hasNext()) {
+            AnalysisJob job = iterator.next();
+            if (job.isDone()) {
+                iterator.remove();
+                publishers.remove(job.getId());
+            }
+        }
+    }
+}
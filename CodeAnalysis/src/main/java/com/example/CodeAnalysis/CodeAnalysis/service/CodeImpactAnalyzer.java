@@ -1,7 +1,10 @@
 package com.example.CodeAnalysis.CodeAnalysis.service;
 
+import com.example.CodeAnalysis.CodeAnalysis.metrics.AnalysisMetrics;
+import com.example.CodeAnalysis.CodeAnalysis.model.AnalysisStats;
 import com.example.CodeAnalysis.CodeAnalysis.model.ImpactResult;
 import com.example.CodeAnalysis.CodeAnalysis.report.ExcelReportGenerator;
+import com.example.CodeAnalysis.CodeAnalysis.tracker.AnalysisListener;
 import com.example.CodeAnalysis.CodeAnalysis.tracker.ImpactTracker;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Autowired;
@@ -10,6 +13,8 @@ import org.springframework.stereotype.Service;
 import java.io.File;
 import java.time.LocalDateTime;
 import java.time.format.DateTimeFormatter;
+import java.util.List;
+import java.util.Map;
 
 @Slf4j
 @Service
@@ -21,7 +26,15 @@ public class CodeImpactAnalyzer {
     @Autowired
     private ExcelReportGenerator reportGenerator;
 
+    @Autowired
+    private AnalysisMetrics analysisMetrics;
+
     public ImpactResult analyzeAndGenerateReport(String projectPath, String columnName, String outputFile) {
+        return analyzeAndGenerateReport(projectPath, columnName, outputFile, new AnalysisStats(), AnalysisListener.NONE);
+    }
+
+    public ImpactResult analyzeAndGenerateReport(String projectPath, String columnName, String outputFile,
+                                                 AnalysisStats stats, AnalysisListener listener) {
         try {
             log.info("Starting code impact analysis...");
             log.info("Project Path: {}", projectPath);
@@ -32,10 +45,14 @@ public class CodeImpactAnalyzer {
             validateInputs(projectPath, columnName, outputFile);
 
             // Perform impact analysis
-            ImpactResult result = impactTracker.analyzeColumnImpact(projectPath, columnName);
+            ImpactResult result = impactTracker.analyzeColumnsImpact(projectPath, List.of(columnName), stats, listener)
+                    .get(columnName);
 
             // Generate Excel report
+            listener.phaseStarted("report");
+            long reportStart = System.nanoTime();
             reportGenerator.generateReport(result, outputFile);
+            analysisMetrics.recordPhase("report", System.nanoTime() - reportStart);
 
             // Display summary
             displaySummary(result, outputFile);
@@ -56,6 +73,128 @@ public class CodeImpactAnalyzer {
         return impactTracker.analyzeColumnImpact(projectPath, columnName);
     }
 
+    /**
+     * Checks the inputs of {@link #streamOnly} up front, so a bad request can be
+     * rejected before a streamed response is committed.
+     */
+    public void validateStream(String projectPath, String columnName) {
+        validateProjectPath(projectPath);
+        validateColumnName(columnName);
+    }
+
+    /**
+     * Analyzes one column, handing impacted classes and usages only to the listener.
+     * The returned result carries timings and stats but no classes or usages.
+     */
+    public ImpactResult streamOnly(String projectPath, String columnName, AnalysisListener listener) {
+        log.info("Performing streamed analysis of column {}", columnName);
+        validateStream(projectPath, columnName);
+
+        return impactTracker.streamColumnsImpact(projectPath, List.of(columnName), new AnalysisStats(), listener)
+                .get(columnName);
+    }
+
+    /**
+     * Analyzes several columns in a single traversal of the project and writes one
+     * combined workbook covering all of them.
+     */
+    public Map<String, ImpactResult> analyzeColumnsAndGenerateReport(String projectPath, List<String> columnNames,
+                                                                   String outputFile) {
+        return analyzeColumnsAndGenerateReport(projectPath, columnNames, outputFile, new AnalysisStats(),
+                AnalysisListener.NONE);
+    }
+
+    public Map<String, ImpactResult> analyzeColumnsAndGenerateReport(String projectPath, List<String> columnNames,
+                                                                   String outputFile, AnalysisStats stats,
+                                                                   AnalysisListener listener) {
+        try {
+            log.info("Starting batch code impact analysis...");
+            log.info("Project Path: {}", projectPath);
+            log.info("Column Names: {}", columnNames);
+            log.info("Output File: {}", outputFile);
+
+            // Validate inputs
+            validateProjectPath(projectPath);
+            validateColumnNames(columnNames);
+            validateOutputFile(outputFile);
+
+            // Perform impact analysis for all columns at once
+            Map<String, ImpactResult> results =
+                    impactTracker.analyzeColumnsImpact(projectPath, columnNames, stats, listener);
+
+            // Generate one Excel report for the whole batch
+            listener.phaseStarted("report");
+            long reportStart = System.nanoTime();
+            reportGenerator.generateCombinedReport(results.values(), outputFile);
+            analysisMetrics.recordPhase("report", System.nanoTime() - reportStart);
+
+            // Display summary
+            displayBatchSummary(results, outputFile);
+
+            return results;
+
+        } catch (Exception e) {
+            log.error("Error during batch code impact analysis", e);
+            throw new RuntimeException("Code impact analysis failed", e);
+        }
+    }
+
+    public Map<String, ImpactResult> analyzeColumnsOnly(String projectPath, List<String> columnNames) {
+        log.info("Performing batch analysis only (no report generation)");
+        validateProjectPath(projectPath);
+        validateColumnNames(columnNames);
+
+        return impactTracker.analyzeColumnsImpact(projectPath, columnNames);
+    }
+
+    /**
+     * Expands glob or regex column patterns against the project's column dictionary
+     * and analyzes every match as one batch, writing one combined workbook.
+     */
+    public Map<String, ImpactResult> analyzePatternsAndGenerateReport(String projectPath, List<String> patterns,
+                                                                    String outputFile) {
+        try {
+            log.info("Starting pattern code impact analysis...");
+            log.info("Project Path: {}", projectPath);
+            log.info("Column Patterns: {}", patterns);
+            log.info("Output File: {}", outputFile);
+
+            // Validate inputs
+            validateProjectPath(projectPath);
+            validateColumnNames(patterns);
+            validateOutputFile(outputFile);
+
+            // Expand the patterns and analyze all matching columns at once
+            AnalysisStats stats = new AnalysisStats();
+            Map<String, ImpactResult> results =
+                    impactTracker.analyzeColumnPatterns(projectPath, patterns, stats, AnalysisListener.NONE);
+            if (results.isEmpty()) {
+                throw new IllegalArgumentException("No column in the project matches " + patterns);
+            }
+
+            // Generate one Excel report for all matched columns
+            long reportStart = System.nanoTime();
+            reportGenerator.generateCombinedReport(results.values(), outputFile);
+            analysisMetrics.recordPhase("report", System.nanoTime() - reportStart);
+
+            // Display summary
+            displayBatchSummary(results, outputFile);
+
+            return results;
+
+        } catch (Exception e) {
+            log.error("Error during pattern code impact analysis", e);
+            throw new RuntimeException("Code impact analysis failed", e);
+        }
+    }
+
+    public List<String> expandColumnPatterns(String projectPath, List<String> patterns) {
+        validateProjectPath(projectPath);
+        validateColumnNames(patterns);
+
+        return impactTracker.expandColumnPatterns(projectPath, patterns);
+    }
+
     private void validateInputs(String projectPath, String columnName, String outputFile) {
         validateProjectPath(projectPath);
         validateColumnName(columnName);
@@ -83,6 +222,13 @@ public class CodeImpactAnalyzer {
         }
     }
 
+    private void validateColumnNames(List<String> columnNames) {
+        if (columnNames == null || columnNames.isEmpty()) {
+            throw new IllegalArgumentException("At least one column name is required");
+        }
+        columnNames.forEach(this::validateColumnName);
+    }
+
     private void validateOutputFile(String outputFile) {
         if (outputFile == null || outputFile.trim().isEmpty()) {
             throw new IllegalArgumentException("Output file path cannot be empty");
@@ -115,6 +261,7 @@ public class CodeImpactAnalyzer {
         System.out.println("   Entities: " + result.getEntities().size());
         System.out.println("   Services: " + result.getServices().size());
         System.out.println("   Controllers: " + result.getControllers().size());
+        System.out.println("   Components: " + result.getComponents().size());
         System.out.println("   Total usages: " + result.getColumnUsages().size());
         System.out.println();
 
@@ -139,6 +286,39 @@ public class CodeImpactAnalyzer {
             System.out.println();
         }
 
+        if (!result.getComponents().isEmpty()) {
+            System.out.println("🧩 Impacted Components:");
+            result.getComponents().forEach(component ->
+                    System.out.println("   • " + component.getClassName() + " - " + component.getImpactReason()));
+            System.out.println();
+        }
+
+        System.out.println("📄 Excel Report Generated: " + outputFile);
+        System.out.println("=".repeat(60));
+    }
+
+    private void displayBatchSummary(Map<String, ImpactResult> results, String outputFile) {
+        System.out.println("\n" + "=".repeat(60));
+        System.out.println("🎯 BATCH CODE IMPACT ANALYSIS COMPLETE");
+        System.out.println("=".repeat(60));
+        System.out.println("📊 Columns analyzed: " + results.size());
+        results.values().stream().findFirst().ifPresent(first -> {
+            System.out.println("   Analysis time: " + first.getAnalysisTimeMs() + " ms");
+            System.out.println("   Project path: " + first.getProjectPath());
+        });
+        System.out.println();
+
+        for (ImpactResult result : results.values()) {
+            System.out.println("   • " + result.getColumnName() + ": "
+                    + result.getRepositories().size() + " repositories, "
+                    + result.getEntities().size() + " entities, "
+                    + result.getServices().size() + " services, "
+                    + result.getControllers().size() + " controllers, "
+                    + result.getComponents().size() + " components, "
+                    + result.getColumnUsages().size() + " usages");
+        }
+        System.out.println();
+
         System.out.println("📄 Excel Report Generated: " + outputFile);
         System.out.println("=".repeat(60));
     }
@@ -0,0 +1,31 @@
+package com.example.CodeAnalysis.CodeAnalysis.tracker;
+
+import com.example.CodeAnalysis.CodeAnalysis.model.ClassInfo;
+import com.example.CodeAnalysis.CodeAnalysis.model.ColumnUsage;
+
+import java.util.List;
+
+/**
+ * Receives what an analysis finds while it runs, so callers can show progress and
+ * partial results before the whole run completes. Called on the analysis thread.
+ */
+public interface AnalysisListener {
+
+    AnalysisListener NONE = new AnalysisListener() {
+    };
+
+    /**
+     * A new phase starts: scan, match, propagate, report.
+     */
+    default void phaseStarted(String phase) {
+    }
+
+    /**
+     * A class was added to a column's result, directly or through dependencies.
+     */
+    default void classImpacted(String columnName, ClassInfo classInfo) {
+    }
+
+    default void usagesFound(String columnName, List<ColumnUsage> usages) {
+    }
+}
@@ -0,0 +1,187 @@
+package com.example.CodeAnalysis.CodeAnalysis.tracker;
+
+import com.example.CodeAnalysis.CodeAnalysis.model.SourceFacts;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.IntPredicate;
+
+/**
+ * Class dependency graph over the scanned files. Node ids are positions in the
+ * source list; for every node the graph stores the nodes that depend on it (they
+ * reference it, or it is one of their supertypes) in compressed sparse row form,
+ * so it is built in time linear in the number of references and costs two int
+ * arrays of memory.
+ */
+public class DependencyGraph {
+    private static final int[] NO_NODES = new int[0];
+
+    private final List<SourceFacts> nodes;
+    private final int[] dependentOffsets; // dependents of node n: dependents[offsets[n] .. offsets[n + 1])
+    private final int[] dependents;
+
+    public DependencyGraph(List<SourceFacts> sources) {
+        this.nodes = Collections.unmodifiableList(new ArrayList<>(sources));
+        int nodeCount = nodes.size();
+
+        // Simple class name -> node ids; names are rarely ambiguous, so arrays stay tiny
+        Map<String, int[]> idsByName = new HashMap<>(nodeCount * 2);
+        for (int id = 0; id < nodeCount; id++) {
+            idsByName.merge(nodes.get(id).getClassInfo().getClassName(), new int[]{id}, DependencyGraph::concat);
+        }
+
+        // Resolve every reference once into an edge list, then counting-sort it into rows
+        int[][] edges = {new int[nodeCount * 4], new int[nodeCount * 4]};
+        int[] edgeCount = {0};
+        for (int id = 0; id < nodeCount; id++) {
+            forEachEdge(id, idsByName, (node, dependent) -> {
+                if (edgeCount[0] == edges[0].length) {
+                    edges[0] = Arrays.copyOf(edges[0], edgeCount[0] * 2 + 16);
+                    edges[1] = Arrays.copyOf(edges[1], edgeCount[0] * 2 + 16);
+                }
+                edges[0][edgeCount[0]] = node;
+                edges[1][edgeCount[0]++] = dependent;
+            });
+        }
+
+        int[] offsets = new int[nodeCount + 1];
+        for (int i = 0; i < edgeCount[0]; i++) {
+            offsets[edges[0][i] + 1]++;
+        }
+        for (int id = 0; id < nodeCount; id++) {
+            offsets[id + 1] += offsets[id];
+        }
+        this.dependentOffsets = offsets.clone();
+        this.dependents = new int[edgeCount[0]];
+        for (int i = 0; i < edgeCount[0]; i++) {
+            dependents[offsets[edges[0][i]]++] = edges[1][i];
+        }
+    }
+
+    public int size() {
+        return nodes.size();
+    }
+
+    public int edgeCount() {
+        return dependents.length;
+    }
+
+    /**
+     * Heap used by the adjacency arrays.
+     */
+    public long estimatedBytes() {
+        return 32 + 4L * dependentOffsets.length + 16 + 4L * dependents.length;
+    }
+
+    public SourceFacts node(int id) {
+        return nodes.get(id);
+    }
+
+    /**
+     * Breadth-first search from the given nodes along dependent edges. Only nodes
+     * accepted by {@code expand} pass the impact on; every reached node records its
+     * distance from the nearest start node and the node it was reached from.
+     */
+    public Traversal traverse(int[] startNodes, IntPredicate expand) {
+        int nodeCount = nodes.size();
+        int[] distance = new int[nodeCount];
+        int[] previous = new int[nodeCount];
+        int[] order = new int[nodeCount];
+        Arrays.fill(distance, -1);
+        Arrays.fill(previous, -1);
+
+        int head = 0;
+        int tail = 0;
+        for (int start : startNodes) {
+            if (distance[start] < 0) {
+                distance[start] = 0;
+                order[tail++] = start;
+            }
+        }
+        while (head < tail) {
+            int node = order[head++];
+            if (!expand.test(node)) continue;
+            for (int i = dependentOffsets[node], end = dependentOffsets[node + 1]; i < end; i++) {
+                int dependent = dependents[i];
+                if (distance[dependent] < 0) {
+                    distance[dependent] = distance[node] + 1;
+                    previous[dependent] = node;
+                    order[tail++] = dependent;
+                }
+            }
+        }
+        return new Traversal(distance, previous, Arrays.copyOf(order, tail));
+    }
+
+    /**
+     * Reports the dependent edges contributed by one node's references and supertypes.
+     */
+    private void forEachEdge(int id, Map<String, int[]> idsByName, EdgeConsumer edges) {
+        SourceFacts facts = nodes.get(id);
+        // The node depends on every class it references
+        for (String typeName : facts.getReferencedTypes()) {
+            for (int target : idsByName.getOrDefault(typeName, NO_NODES)) {
+                if (target != id) edges.accept(target, id);
+            }
+        }
+        // A supertype is impacted by its implementations: callers may only know the interface
+        for (String typeName : facts.getSupertypes()) {
+            for (int target : idsByName.getOrDefault(typeName, NO_NODES)) {
+                if (target != id) edges.accept(id, target);
+            }
+        }
+    }
+
+    private static int[] concat(int[] first, int[] second) {
+        int[] merged = Arrays.copyOf(first, first.length + second.length);
+        System.arraycopy(second, 0, merged, first.length, second.length);
+        return merged;
+    }
+
+    @FunctionalInterface
+    private interface EdgeConsumer {
+        void accept(int node, int dependent);
+    }
+
+    /**
+     * Result of one traversal: distances, predecessors and the visit order.
+     */
+    public static class Traversal {
+        private final int[] distance;
+        private final int[] previous;
+        private final int[] order;
+
+        Traversal(int[] distance, int[] previous, int[] order) {
+            this.distance = distance;
+            this.previous = previous;
+            this.order = order;
+        }
+
+        /**
+         * Reached nodes in breadth-first order, start nodes first.
+         */
+        public int[] getReachedNodes() {
+            return order;
+        }
+
+        public int distance(int node) {
+            return distance[node];
+        }
+
+        /**
+         * Node ids from the start node that reached this node up to the node itself.
+         */
+        public int[] path(int node) {
+            int[] path = new int[distance[node] + 1];
+            for (int i = path.length - 1; i >= 0; i--) {
+                path[i] = node;
+                node = previous[node];
+            }
+            return path;
+        }
+    }
+}
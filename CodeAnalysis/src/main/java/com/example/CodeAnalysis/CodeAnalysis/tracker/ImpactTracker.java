@@ -1,207 +1,455 @@
 package com.example.CodeAnalysis.CodeAnalysis.tracker;
 
+import com.example.CodeAnalysis.CodeAnalysis.index.IdentifierIndex;
+import com.example.CodeAnalysis.CodeAnalysis.matcher.ColumnDictionary;
+import com.example.CodeAnalysis.CodeAnalysis.matcher.ColumnMatcher;
+import com.example.CodeAnalysis.CodeAnalysis.matcher.SourcePrefilter;
+import com.example.CodeAnalysis.CodeAnalysis.metrics.AnalysisMetrics;
+import com.example.CodeAnalysis.CodeAnalysis.model.AnalysisStats;
 import com.example.CodeAnalysis.CodeAnalysis.model.ClassInfo;
 import com.example.CodeAnalysis.CodeAnalysis.model.ColumnUsage;
 import com.example.CodeAnalysis.CodeAnalysis.model.ImpactResult;
-import com.example.CodeAnalysis.CodeAnalysis.parser.JavaFileParser;
+import com.example.CodeAnalysis.CodeAnalysis.model.SourceFacts;
+import com.example.CodeAnalysis.CodeAnalysis.parser.ProjectScanner;
 import com.example.CodeAnalysis.CodeAnalysis.parser.SpringBootAnalyzer;
+import com.example.CodeAnalysis.CodeAnalysis.project.ProjectModel;
+import com.example.CodeAnalysis.CodeAnalysis.project.ProjectModelRegistry;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Service;
 
-import java.nio.file.Files;
-import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.Collection;
 import java.util.HashMap;
+import java.util.HashSet;
+import java.util.IdentityHashMap;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
 import java.util.List;
 import java.util.Map;
-import java.util.stream.Collectors;
+import java.util.Optional;
+import java.util.Set;
+import java.util.stream.IntStream;
 
 @Slf4j
 @Service
 public class ImpactTracker {
 
     @Autowired
-    private JavaFileParser javaFileParser;
+    private ProjectModelRegistry projectModelRegistry;
 
     @Autowired
     private SpringBootAnalyzer springBootAnalyzer;
 
-    public ImpactResult analyzeColumnImpact(String projectPath, String columnName) {
-        log.info("Starting impact analysis for column: {} in project: {}", columnName, projectPath);
-        long startTime = System.currentTimeMillis();
+    @Autowired
+    private AnalysisMetrics analysisMetrics;
 
-        ImpactResult result = new ImpactResult(columnName);
-        result.setProjectPath(projectPath);
+    @Autowired
+    private ProjectScanner projectScanner;
 
-        try {
-            // Parse all Java files in the project
-            List<ClassInfo> allClasses = javaFileParser.parseJavaFiles(projectPath);
-            log.info("Found {} classes to analyze", allClasses.size());
+    @Autowired
+    private IdentifierIndex identifierIndex;
 
-            if (allClasses.isEmpty()) {
-                log.warn("No Java classes found in path: {}", projectPath);
-                return result;
-            }
+    @Value("${code-analysis.prefilter.enabled:true}")
+    private boolean prefilterEnabled = true;
+
+    @Value("${code-analysis.pattern.max-columns:500}")
+    private int maxPatternColumns = 500;
+
+    public ImpactResult analyzeColumnImpact(String projectPath, String columnName) {
+        return analyzeColumnsImpact(projectPath, List.of(columnName)).get(columnName);
+    }
 
-            // Categorize classes by type
-            Map<String, List<ClassInfo>> classesByType = categorizeClasses(allClasses);
-            logClassCounts(classesByType);
+    /**
+     * Analyzes several columns in one traversal: every file is scanned (and parsed
+     * at most once) and matched against all requested columns in the same pass.
+     * Returns one result per distinct column, in request order. A project loaded
+     * into the registry is answered from its resident model instead.
+     */
+    public Map<String, ImpactResult> analyzeColumnsImpact(String projectPath, List<String> columnNames) {
+        return analyzeColumnsImpact(projectPath, columnNames, new AnalysisStats());
+    }
 
-            // Analyze each class for column usage
-            analyzeDirectImpacts(allClasses, columnName, result);
+    /**
+     * Same as {@link #analyzeColumnsImpact(String, List)}, recording scan progress in
+     * the given stats so callers can watch a long analysis.
+     */
+    public Map<String, ImpactResult> analyzeColumnsImpact(String projectPath, List<String> columnNames,
+                                                          AnalysisStats stats) {
+        return analyzeColumnsImpact(projectPath, columnNames, stats, AnalysisListener.NONE);
+    }
 
-            // Find indirect impacts (services using impacted repos, controllers using impacted services)
-            findIndirectImpacts(result, classesByType);
+    /**
+     * Same as {@link #analyzeColumnsImpact(String, List, AnalysisStats)}, reporting phases
+     * and every impacted class to the listener as they are found.
+     */
+    public Map<String, ImpactResult> analyzeColumnsImpact(String projectPath, List<String> columnNames,
+                                                          AnalysisStats stats, AnalysisListener listener) {
+        return analyzeColumnsImpact(projectPath, columnNames, stats, listener, true);
+    }
 
-            long endTime = System.currentTimeMillis();
-            result.setAnalysisTimeMs(endTime - startTime);
+    /**
+     * Same as {@link #analyzeColumnsImpact(String, List, AnalysisStats, AnalysisListener)},
+     * but impacted classes and usages only go to the listener and are not kept: the
+     * results carry timings and stats with empty class and usage lists, so memory does
+     * not grow with the size of the result.
+     */
+    public Map<String, ImpactResult> streamColumnsImpact(String projectPath, List<String> columnNames,
+                                                         AnalysisStats stats, AnalysisListener listener) {
+        return analyzeColumnsImpact(projectPath, columnNames, stats, listener, false);
+    }
 
-            log.info("Impact analysis completed in {}ms. Found {} repositories, {} entities, {} services, {} controllers",
-                    result.getAnalysisTimeMs(),
-                    result.getRepositories().size(),
-                    result.getEntities().size(),
-                    result.getServices().size(),
-                    result.getControllers().size());
+    private Map<String, ImpactResult> analyzeColumnsImpact(String projectPath, List<String> columnNames,
+                                                           AnalysisStats stats, AnalysisListener listener,
+                                                           boolean retain) {
+        long startTime = System.currentTimeMillis();
+        Optional<ProjectModel> resident = projectModelRegistry.find(projectPath);
+        if (resident.isPresent()) {
+            log.info("Using resident model of {} loaded at {}", projectPath, resident.get().getLoadedAt());
+            return analyzeColumnsImpact(resident.get(), projectPath, columnNames, stats, listener, startTime, retain);
+        }
 
+        try {
+            // Read and parse each changed Java file once; unchanged files come from the cache
+            listener.phaseStarted("scan");
+            ProjectModel model = prefilterEnabled
+                    ? buildPrefiltered(projectPath, columnNames, stats)
+                    : projectModelRegistry.build(projectPath, stats);
+            return analyzeColumnsImpact(model, projectPath, columnNames, stats, listener, startTime, retain);
         } catch (Exception e) {
             log.error("Error during impact analysis", e);
             throw new RuntimeException("Impact analysis failed", e);
         }
+    }
 
-        return result;
+    /**
+     * Analyzes every column a glob or regex pattern matches in the project's column
+     * dictionary (see {@link ColumnDictionary}), as one batch over the model the
+     * dictionary came from. Names matched by several patterns are analyzed once.
+     */
+    public Map<String, ImpactResult> analyzeColumnPatterns(String projectPath, List<String> patterns,
+                                                           AnalysisStats stats, AnalysisListener listener) {
+        long startTime = System.currentTimeMillis();
+        ProjectModel model = projectModelRegistry.find(projectPath).orElseGet(() -> {
+            // Any column may match, so there is nothing to prefilter by
+            listener.phaseStarted("scan");
+            return projectModelRegistry.build(projectPath, stats);
+        });
+        List<String> columns = expandColumnPatterns(model, patterns);
+        return analyzeColumnsImpact(model, projectPath, columns, stats, listener, startTime, true);
     }
 
-    private void analyzeDirectImpacts(List<ClassInfo> allClasses, String columnName, ImpactResult result) {
-        for (ClassInfo classInfo : allClasses) {
-            try {
-                List<ColumnUsage> usages = springBootAnalyzer.findColumnUsages(classInfo.getFilePath(), columnName);
+    /**
+     * The column names the patterns match, in pattern order and then sorted, without
+     * analyzing them.
+     */
+    public List<String> expandColumnPatterns(String projectPath, List<String> patterns) {
+        ProjectModel model = projectModelRegistry.find(projectPath)
+                .orElseGet(() -> projectModelRegistry.build(projectPath));
+        return expandColumnPatterns(model, patterns);
+    }
 
-                if (!usages.isEmpty()) {
-                    // Set impact reason and usage count
-                    classInfo.setImpactReason("Direct usage: " + usages.size() + " occurrence(s)");
-                    classInfo.setUsageCount(usages.size());
-
-                    // Categorize the impacted class
-                    switch (classInfo.getClassType()) {
-                        case "Repository":
-                            result.addRepository(classInfo);
-                            break;
-                        case "Entity":
-                            result.addEntity(classInfo);
-                            break;
-                        case "Service":
-                            result.addService(classInfo);
-                            break;
-                        case "Controller":
-                            result.addController(classInfo);
-                            break;
-                        default:
-                            // For unknown types, still track the usages
-                            log.debug("Unknown class type: {} for class: {}", classInfo.getClassType(), classInfo.getClassName());
-                            break;
-                    }
+    private List<String> expandColumnPatterns(ProjectModel model, List<String> patterns) {
+        long expandStart = System.nanoTime();
+        ColumnDictionary dictionary = model.getColumnDictionary();
+        Set<String> columns = new LinkedHashSet<>();
+        for (String pattern : patterns) {
+            columns.addAll(dictionary.expand(pattern));
+        }
+        analysisMetrics.recordPhase("expand", System.nanoTime() - expandStart);
+        log.info("Patterns {} matched {} of {} dictionary column(s) in {}ms", patterns, columns.size(),
+                dictionary.size(), (System.nanoTime() - expandStart) / 1_000_000);
 
-                    // Add all column usages to result
-                    usages.forEach(result::addColumnUsage);
-                }
-            } catch (Exception e) {
-                log.warn("Error analyzing class {}: {}", classInfo.getClassName(), e.getMessage());
-            }
+        if (columns.size() > maxPatternColumns) {
+            throw new IllegalArgumentException("Patterns " + patterns + " match " + columns.size()
+                    + " columns, more than the limit of " + maxPatternColumns);
         }
+        return new ArrayList<>(columns);
     }
 
-    private void findIndirectImpacts(ImpactResult result, Map<String, List<ClassInfo>> classesByType) {
-        // Find services that use impacted repositories
-        List<String> impactedRepositoryNames = result.getRepositories().stream()
-                .map(ClassInfo::getClassName)
-                .collect(Collectors.toList());
+    /**
+     * Answers column queries against an already built project model; no file is read.
+     */
+    public Map<String, ImpactResult> analyzeColumnsImpact(ProjectModel model, List<String> columnNames) {
+        return analyzeColumnsImpact(model, model.getProjectPath(), columnNames, new AnalysisStats(),
+                AnalysisListener.NONE, System.currentTimeMillis(), true);
+    }
 
-        if (!impactedRepositoryNames.isEmpty()) {
-            for (ClassInfo service : classesByType.get("Service")) {
-                if (!isAlreadyImpacted(service, result.getServices()) &&
-                        usesAnyRepository(service, impactedRepositoryNames)) {
-                    service.setImpactReason("Indirect: Uses impacted repository");
-                    result.addService(service);
-                }
-            }
+    private Map<String, ImpactResult> analyzeColumnsImpact(ProjectModel model, String projectPath,
+                                                           List<String> columnNames, AnalysisStats stats,
+                                                           AnalysisListener listener, long startTime,
+                                                           boolean retain) {
+        List<String> columns = new ArrayList<>(new LinkedHashSet<>(columnNames));
+        log.info("Starting impact analysis for {} column(s): {} in project: {}", columns.size(), columns, projectPath);
+
+        Map<String, ImpactResult> results = new LinkedHashMap<>();
+        for (String columnName : columns) {
+            ImpactResult result = new ImpactResult(columnName);
+            result.setProjectPath(projectPath);
+            result.setStats(stats);
+            results.put(columnName, result);
         }
 
-        // Find controllers that use impacted services
-        List<String> impactedServiceNames = result.getServices().stream()
-                .map(ClassInfo::getClassName)
-                .collect(Collectors.toList());
-
-        if (!impactedServiceNames.isEmpty()) {
-            for (ClassInfo controller : classesByType.get("Controller")) {
-                if (!isAlreadyImpacted(controller, result.getControllers()) &&
-                        usesAnyService(controller, impactedServiceNames)) {
-                    controller.setImpactReason("Indirect: Uses impacted service");
-                    result.addController(controller);
-                }
+        try {
+            List<SourceFacts> sources = model.getSources();
+            log.info("Found {} classes to analyze", sources.size());
+
+            if (sources.isEmpty()) {
+                log.warn("No Java classes found in path: {}", projectPath);
+                return results;
+            }
+
+            logClassCounts(model);
+
+            // Analyze each class for usage of every requested column
+            listener.phaseStarted("match");
+            long matchStart = System.nanoTime();
+            List<BitSet> directlyImpacted = analyzeDirectImpacts(sources, results, listener, retain);
+            analysisMetrics.recordPhase("match", System.nanoTime() - matchStart);
+
+            // Follow dependencies from the directly impacted classes to any depth
+            listener.phaseStarted("propagate");
+            long propagateStart = System.nanoTime();
+            DependencyGraph graph = model.getDependencyGraph();
+            log.info("Dependency graph: {} classes, {} dependencies", graph.size(), graph.edgeCount());
+            int column = 0;
+            for (ImpactResult result : results.values()) {
+                findIndirectImpacts(result, graph, directlyImpacted.get(column++).stream().toArray(), listener,
+                        retain);
+            }
+            analysisMetrics.recordPhase("propagate", System.nanoTime() - propagateStart);
+
+            long analysisTime = System.currentTimeMillis() - startTime;
+            for (ImpactResult result : results.values()) {
+                result.setAnalysisTimeMs(analysisTime);
+                log.info("Impact analysis of {} completed in {}ms. Found {} repositories, {} entities, {} services, {} controllers, {} components",
+                        result.getColumnName(),
+                        result.getAnalysisTimeMs(),
+                        result.getRepositories().size(),
+                        result.getEntities().size(),
+                        result.getServices().size(),
+                        result.getControllers().size(),
+                        result.getComponents().size());
             }
+
+            if (!stats.isSinglePass()) {
+                log.warn("Some files were read or parsed more than once: {}", stats);
+            }
+
+        } catch (Exception e) {
+            log.error("Error during impact analysis", e);
+            throw new RuntimeException("Impact analysis failed", e);
         }
+
+        return results;
     }
 
-    private boolean isAlreadyImpacted(ClassInfo classInfo, List<ClassInfo> impactedClasses) {
-        return impactedClasses.stream()
-                .anyMatch(impacted -> impacted.getClassName().equals(classInfo.getClassName()));
+    /**
+     * Builds a model of just the files that can affect these columns: those whose bytes
+     * mention a column, then, round by round, those mentioning a class found impacted so
+     * far or one of their supertypes. Those are the graph's two edge kinds: a class
+     * depending on an impacted class names it in its source, and a supertype impacted
+     * through an implementation is named by that implementation's supertypes and in
+     * its own declaration. So the impacted classes, depths and paths are the same as
+     * over the whole project. With the identifier index enabled, each round's files
+     * come from the index instead of from the remaining files' bytes.
+     */
+    private ProjectModel buildPrefiltered(String projectPath, List<String> columnNames, AnalysisStats stats) {
+        long startTime = System.currentTimeMillis();
+        boolean indexed = updateIndex(projectPath);
+        ColumnMatcher matcher = new ColumnMatcher(new ArrayList<>(new LinkedHashSet<>(columnNames)));
+        Map<SourceFacts, Boolean> directMatches = new IdentityHashMap<>();
+        Set<String> searchedNames = new HashSet<>();
+
+        SourcePrefilter columnPrefilter = indexed ? indexedPrefilter(projectPath, columnNames) : null;
+        List<SourceFacts> sources = projectScanner.scanPrefiltered(projectPath,
+                columnPrefilter != null ? columnPrefilter : SourcePrefilter.forColumns(columnNames), facts -> {
+                    DependencyGraph graph = new DependencyGraph(facts);
+                    int[] direct = IntStream.range(0, facts.size())
+                            .filter(node -> directMatches.computeIfAbsent(facts.get(node),
+                                    source -> hasUsages(source, matcher)))
+                            .toArray();
+                    Set<String> newNames = new LinkedHashSet<>();
+                    for (int node : graph.traverse(direct, node -> !isEntity(graph, node)).getReachedNodes()) {
+                        if (isEntity(graph, node)) {
+                            continue;
+                        }
+                        // Supertypes depend on their implementations but are not named by them
+                        SourceFacts reached = graph.node(node);
+                        if (searchedNames.add(reached.getClassInfo().getClassName())) {
+                            newNames.add(reached.getClassInfo().getClassName());
+                        }
+                        for (String supertype : reached.getSupertypes()) {
+                            if (searchedNames.add(supertype)) {
+                                newNames.add(supertype);
+                            }
+                        }
+                    }
+                    if (newNames.isEmpty()) {
+                        return null;
+                    }
+                    SourcePrefilter namePrefilter = indexed ? indexedPrefilter(projectPath, newNames) : null;
+                    return namePrefilter != null ? namePrefilter : SourcePrefilter.forNames(newNames);
+                }, stats);
+        return new ProjectModel(projectPath, sources, stats, System.currentTimeMillis() - startTime);
     }
 
-    private boolean usesAnyRepository(ClassInfo service, List<String> repositoryNames) {
+    /**
+     * Brings the project's identifier index up to date; false when it is disabled or
+     * could not be updated, in which case files are prefiltered by their bytes.
+     */
+    private boolean updateIndex(String projectPath) {
+        if (!identifierIndex.isEnabled()) {
+            return false;
+        }
+        long indexStart = System.nanoTime();
         try {
-            String fileContent = Files.readString(Paths.get(service.getFilePath()));
-
-            return repositoryNames.stream().anyMatch(repoName ->
-                    fileContent.contains(repoName) ||
-                            service.getFields().stream().anyMatch(field ->
-                                    field.toLowerCase().contains(repoName.toLowerCase().replace("repository", ""))));
-        } catch (Exception e) {
-            log.debug("Could not check repository usage for service: {}", service.getClassName());
+            identifierIndex.update(projectPath);
+            return true;
+        } catch (RuntimeException e) {
+            log.warn("Identifier index unavailable for {}: {}", projectPath, e.getMessage());
             return false;
+        } finally {
+            analysisMetrics.recordPhase("index", System.nanoTime() - indexStart);
         }
     }
 
-    private boolean usesAnyService(ClassInfo controller, List<String> serviceNames) {
-        try {
-            String fileContent = Files.readString(Paths.get(controller.getFilePath()));
+    private SourcePrefilter indexedPrefilter(String projectPath, Collection<String> names) {
+        Set<String> files = identifierIndex.filesContaining(projectPath, names);
+        return files == null ? null : SourcePrefilter.forFiles(files);
+    }
 
-            return serviceNames.stream().anyMatch(serviceName ->
-                    fileContent.contains(serviceName) ||
-                            controller.getFields().stream().anyMatch(field ->
-                                    field.toLowerCase().contains(serviceName.toLowerCase().replace("service", ""))));
-        } catch (Exception e) {
-            log.debug("Could not check service usage for controller: {}", controller.getClassName());
-            return false;
-        }
+    private boolean hasUsages(SourceFacts facts, ColumnMatcher matcher) {
+        return springBootAnalyzer.findColumnUsages(facts, matcher).stream().anyMatch(usages -> !usages.isEmpty());
     }
 
-    private Map<String, List<ClassInfo>> categorizeClasses(List<ClassInfo> allClasses) {
-        Map<String, List<ClassInfo>> categorized = new HashMap<>();
+    private static boolean isEntity(DependencyGraph graph, int node) {
+        return "Entity".equals(graph.node(node).getClassInfo().getClassType());
+    }
 
-        categorized.put("Repository", allClasses.stream()
-                .filter(c -> "Repository".equals(c.getClassType()))
-                .collect(Collectors.toList()));
+    /**
+     * Adds every class that uses a column directly to that column's result, or only
+     * reports it unless {@code retain}, and returns per column the graph node ids of
+     * those classes.
+     */
+    private List<BitSet> analyzeDirectImpacts(List<SourceFacts> sources, Map<String, ImpactResult> results,
+                                              AnalysisListener listener, boolean retain) {
+        // All column variants are compiled once; each text is then scanned once for every column
+        List<ImpactResult> resultList = new ArrayList<>(results.values());
+        ColumnMatcher matcher = new ColumnMatcher(new ArrayList<>(results.keySet()));
+        List<BitSet> directlyImpacted = new ArrayList<>();
+        resultList.forEach(result -> directlyImpacted.add(new BitSet(sources.size())));
+        Map<String, Integer> usagesByType = new HashMap<>();
+
+        for (int node = 0; node < sources.size(); node++) {
+            SourceFacts facts = sources.get(node);
+            ClassInfo classInfo = facts.getClassInfo();
+            List<List<ColumnUsage>> usagesByColumn;
+            try {
+                usagesByColumn = springBootAnalyzer.findColumnUsages(facts, matcher);
+            } catch (Exception e) {
+                log.warn("Error analyzing class {}: {}", classInfo.getClassName(), e.getMessage());
+                continue;
+            }
 
-        categorized.put("Entity", allClasses.stream()
-                .filter(c -> "Entity".equals(c.getClassType()))
-                .collect(Collectors.toList()));
+            // Listener failures, e.g. a client gone from a stream, end the analysis
+            for (int column = 0; column < resultList.size(); column++) {
+                ImpactResult result = resultList.get(column);
+                List<ColumnUsage> usages = usagesByColumn.get(column);
 
-        categorized.put("Service", allClasses.stream()
-                .filter(c -> "Service".equals(c.getClassType()))
-                .collect(Collectors.toList()));
+                if (!usages.isEmpty()) {
+                    // Each result gets its own copy carrying that column's impact reason and count
+                    ClassInfo impacted = classInfo.copy();
+                    impacted.setImpactReason("Direct usage: " + usages.size() + " occurrence(s)");
+                    impacted.setUsageCount(usages.size());
+                    impacted.setImpactPath(List.of(classInfo.getClassName()));
+                    addImpactedClass(result, impacted, listener, retain);
+                    directlyImpacted.get(column).set(node);
 
-        categorized.put("Controller", allClasses.stream()
-                .filter(c -> "Controller".equals(c.getClassType()))
-                .collect(Collectors.toList()));
+                    // Add all column usages to result
+                    for (ColumnUsage usage : usages) {
+                        if (retain) {
+                            result.addColumnUsage(usage);
+                        }
+                        usagesByType.merge(usage.getUsageType(), 1, Integer::sum);
+                    }
+                    listener.usagesFound(result.getColumnName(), usages);
+                }
+            }
+        }
+        analysisMetrics.recordUsages(usagesByType);
+        return directlyImpacted;
+    }
 
-        return categorized;
+    /**
+     * Breadth-first over the dependency graph: any class that references an impacted
+     * class, directly or through a chain of services, components and so on, is impacted
+     * too. Entities do not pass the impact on, since nearly every layer references them.
+     */
+    private void findIndirectImpacts(ImpactResult result, DependencyGraph graph, int[] directlyImpacted,
+                                     AnalysisListener listener, boolean retain) {
+        DependencyGraph.Traversal traversal = graph.traverse(directlyImpacted, node -> !isEntity(graph, node));
+
+        for (int node : traversal.getReachedNodes()) {
+            int depth = traversal.distance(node);
+            if (depth == 0) continue;
+
+            int[] path = traversal.path(node);
+            List<String> pathNames = new ArrayList<>(path.length);
+            for (int step : path) {
+                pathNames.add(graph.node(step).getClassInfo().getClassName());
+            }
+            ClassInfo via = graph.node(path[path.length - 2]).getClassInfo();
+
+            ClassInfo impacted = graph.node(node).getClassInfo().copy();
+            impacted.setImpactDepth(depth);
+            impacted.setImpactPath(pathNames);
+            impacted.setImpactReason("Indirect: Uses impacted " + via.getClassType().toLowerCase() + " "
+                    + via.getClassName() + (depth > 1 ? " (depth " + depth + ")" : ""));
+            addImpactedClass(result, impacted, listener, retain);
+        }
+    }
+
+    private void addImpactedClass(ImpactResult result, ClassInfo impacted, AnalysisListener listener,
+                                  boolean retain) {
+        // Categorize the impacted class
+        switch (impacted.getClassType()) {
+            case "Repository":
+                if (retain) result.addRepository(impacted);
+                break;
+            case "Entity":
+                // Entities are reported for direct usage only
+                if (impacted.getImpactDepth() != 0) {
+                    return;
+                }
+                if (retain) result.addEntity(impacted);
+                break;
+            case "Service":
+                if (retain) result.addService(impacted);
+                break;
+            case "Controller":
+                if (retain) result.addController(impacted);
+                break;
+            case "Component":
+            case "Configuration":
+                if (retain) result.addComponent(impacted);
+                break;
+            default:
+                // Unclassified helpers still carry the impact through the graph but are not listed
+                log.debug("Unknown class type: {} for class: {}", impacted.getClassType(), impacted.getClassName());
+                return;
+        }
+        listener.classImpacted(result.getColumnName(), impacted);
     }
 
-    private void logClassCounts(Map<String, List<ClassInfo>> classesByType) {
-        log.info("Class breakdown - Repositories: {}, Entities: {}, Services: {}, Controllers: {}",
-                classesByType.get("Repository").size(),
-                classesByType.get("Entity").size(),
-                classesByType.get("Service").size(),
-                classesByType.get("Controller").size());
+    private void logClassCounts(ProjectModel model) {
+        log.info("Class breakdown - Repositories: {}, Entities: {}, Services: {}, Controllers: {}, Components: {}",
+                model.getClasses("Repository").size(),
+                model.getClasses("Entity").size(),
+                model.getClasses("Service").size(),
+                model.getClasses("Controller").size(),
+                model.getClasses("Component").size() + model.getClasses("Configuration").size());
     }
 }
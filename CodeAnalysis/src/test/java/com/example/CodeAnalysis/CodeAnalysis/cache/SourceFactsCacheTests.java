@@ -0,0 +1,237 @@
+package com.example.CodeAnalysis.CodeAnalysis.cache;
+
+import com.example.CodeAnalysis.CodeAnalysis.model.AnalysisStats;
+import com.example.CodeAnalysis.CodeAnalysis.parser.ProjectScanner;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.attribute.FileTime;
+import java.util.List;
+import java.util.Set;
+import java.util.stream.Stream;
+import java.util.zip.GZIPInputStream;
+import java.util.zip.GZIPOutputStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Scans a project twice and after changing it, checking what the cache serves without
+ * reading, what it serves after hashing and what it parses again.
+ */
+@SpringBootTest(properties = "code-analysis.cache.enabled=true")
+class SourceFactsCacheTests {
+    // Well outside the racy window
+    private static final long OLD = System.currentTimeMillis() - 3_600_000;
+
+    @Autowired
+    private ProjectScanner projectScanner;
+
+    @Autowired
+    private SourceFactsCache sourceFactsCache;
+
+    @TempDir
+    Path project;
+
+    @TempDir
+    Path cacheDirectory;
+
+    private String previousDirectory;
+
+    @BeforeEach
+    void useTempDirectory() {
+        previousDirectory = (String) ReflectionTestUtils.getField(sourceFactsCache, "directory");
+        sourceFactsCache.setDirectory(cacheDirectory.toString());
+    }
+
+    @AfterEach
+    void restoreDirectory() {
+        sourceFactsCache.setDirectory(previousDirectory);
+    }
+
+    @Test
+    void servesUnchangedFilesWithoutReading() throws IOException {
+        write("Account.java", "public class Account {}", OLD);
+        write("AccountService.java", "public class AccountService {}", OLD);
+        write("package-info.java", "", OLD);
+
+        AnalysisStats first = scan();
+        assertThat(first.getCacheMisses()).isEqualTo(3);
+        assertThat(first.getCacheHits()).isZero();
+        assertThat(first.getFilesParsed()).isEqualTo(3);
+
+        AnalysisStats second = scan();
+        assertThat(second.getCacheHits()).isEqualTo(3);
+        assertThat(second.getCacheMisses()).isZero();
+        assertThat(second.getFilesRead()).isZero();
+        assertThat(second.getFilesUnread()).isEqualTo(3);
+        assertThat(second.isSinglePass()).isTrue();
+        assertThat(classNames()).containsExactlyInAnyOrder("Account", "AccountService");
+    }
+
+    @Test
+    void rereadsFilesModifiedWithinTheRacyWindow() throws IOException {
+        write("Account.java", "public class Account {}", System.currentTimeMillis());
+        scan();
+
+        // Same size and mtime, but hashed too soon after the write to trust them
+        AnalysisStats second = scan();
+        assertThat(second.getFilesRead()).isEqualTo(1);
+        assertThat(second.getCacheHits()).isEqualTo(1);
+        assertThat(second.getFilesParsed()).isZero();
+        assertThat(second.getFilesUnparsed()).isEqualTo(1);
+    }
+
+    @Test
+    void fallsBackToTheHashWhenOnlyTheMtimeChanged() throws IOException {
+        Path account = write("Account.java", "public class Account {}", OLD);
+        write("AccountService.java", "public class AccountService {}", OLD);
+        scan();
+
+        Files.setLastModifiedTime(account, FileTime.fromMillis(OLD + 1_000));
+        AnalysisStats second = scan();
+        assertThat(second.getFilesRead()).isEqualTo(1);
+        assertThat(second.getCacheHits()).isEqualTo(2);
+        assertThat(second.getCacheMisses()).isZero();
+        assertThat(second.getFilesParsed()).isZero();
+        assertThat(cache().get(account.toString()).getLastModified()).isEqualTo(OLD + 1_000);
+
+        // The refreshed entry is trusted again without reading
+        AnalysisStats third = scan();
+        assertThat(third.getFilesRead()).isZero();
+    }
+
+    @Test
+    void followsModifiedDeletedAndRenamedFiles() throws IOException {
+        Path account = write("Account.java", "public class Account {}", OLD);
+        Path audit = write("AuditLog.java", "public class AuditLog {}", OLD);
+        Path report = write("Report.java", "public class Report {}", OLD);
+        scan();
+        assertThat(cache().size()).isEqualTo(3);
+
+        // Same size and mtime would pass as unchanged, so both differ
+        write("Account.java", "public class Account { int id; }", OLD + 1_000);
+        Files.delete(audit);
+        Path renamed = Files.move(report, report.resolveSibling("Reports.java"));
+        Files.writeString(renamed, "package com.acme;\n\npublic class Reports {}");
+        Files.setLastModifiedTime(renamed, FileTime.fromMillis(OLD));
+
+        AnalysisStats second = scan();
+        assertThat(second.getCacheMisses()).isEqualTo(2);
+        assertThat(second.getCacheHits()).isZero();
+        assertThat(classNames()).containsExactlyInAnyOrder("Account", "Reports");
+        assertThat(cache().size()).isEqualTo(2);
+        assertThat(cache().get(audit.toString())).isNull();
+        assertThat(cache().get(report.toString())).isNull();
+        assertThat(cache().get(account.toString()).getFacts().getFields()).hasSize(1);
+    }
+
+    @Test
+    void evictsEntriesOfFilesNoLongerLive() {
+        SourceFactsCache.ProjectCache cache = cache();
+        for (String path : List.of("/src/A.java", "/src/B.java", "/src/C.java")) {
+            cache.put(new SourceFactsCache.CacheEntry(path, 1, OLD, OLD, "hash", null));
+        }
+        sourceFactsCache.save(cache, Set.of("/src/A.java", "/src/B.java", "/src/C.java"));
+        assertThat(cache.isDirty()).isFalse();
+
+        assertThat(cache.retainAll(Set.of("/src/A.java", "/src/B.java", "/src/C.java"))).isZero();
+        assertThat(cache.isDirty()).isFalse();
+        assertThat(cache.retainAll(Set.of("/src/B.java"))).isEqualTo(2);
+        assertThat(cache.isDirty()).isTrue();
+        assertThat(cache.get("/src/A.java")).isNull();
+        assertThat(cache.get("/src/B.java")).isNotNull();
+    }
+
+    @Test
+    void savesAtomicallyAndReloadsFromDisk() throws IOException {
+        write("Account.java", "public class Account {}", OLD);
+        scan();
+
+        // The temp file was moved into place, nothing else is left behind
+        assertThat(cacheFiles()).hasSize(1).allMatch(file -> file.getFileName().toString().endsWith(".json.gz"));
+
+        sourceFactsCache.setDirectory(cacheDirectory.toString());
+        AnalysisStats reloaded = scan();
+        assertThat(reloaded.getCacheHits()).isEqualTo(1);
+        assertThat(reloaded.getFilesRead()).isZero();
+    }
+
+    @Test
+    void discardsCachesOfAnotherFormatOrProject() throws IOException {
+        write("Account.java", "public class Account {}", OLD);
+        scan();
+        Path cacheFile = cacheFiles().get(0);
+
+        rewrite(cacheFile, "version", SourceFactsCache.FORMAT_VERSION - 1);
+        assertDiscarded();
+
+        rewrite(cacheFile, "projectPath", project.resolveSibling("other").toString());
+        assertDiscarded();
+
+        Files.write(cacheFile, new byte[]{1, 2, 3});
+        assertDiscarded();
+    }
+
+    private void assertDiscarded() {
+        sourceFactsCache.setDirectory(cacheDirectory.toString());
+        SourceFactsCache.ProjectCache cache = cache();
+        assertThat(cache.size()).isZero();
+        // Dirty, so the next scan overwrites the file
+        assertThat(cache.isDirty()).isTrue();
+        AnalysisStats stats = scan();
+        assertThat(stats.getCacheMisses()).isEqualTo(1);
+    }
+
+    private void rewrite(Path cacheFile, String field, Object value) throws IOException {
+        ObjectMapper objectMapper = new ObjectMapper();
+        ObjectNode file;
+        try (InputStream in = new GZIPInputStream(Files.newInputStream(cacheFile))) {
+            file = (ObjectNode) objectMapper.readTree(in);
+        }
+        file.set(field, objectMapper.valueToTree(value));
+        try (OutputStream out = new GZIPOutputStream(Files.newOutputStream(cacheFile))) {
+            objectMapper.writeValue(out, file);
+        }
+    }
+
+    private AnalysisStats scan() {
+        AnalysisStats stats = new AnalysisStats();
+        projectScanner.scan(project.toString(), stats);
+        return stats;
+    }
+
+    private List<String> classNames() {
+        return projectScanner.scan(project.toString(), new AnalysisStats()).stream()
+                .map(facts -> facts.getClassInfo().getClassName()).toList();
+    }
+
+    private SourceFactsCache.ProjectCache cache() {
+        return sourceFactsCache.open(project.toString());
+    }
+
+    private List<Path> cacheFiles() throws IOException {
+        try (Stream<Path> files = Files.list(cacheDirectory)) {
+            return files.toList();
+        }
+    }
+
+    private Path write(String fileName, String body, long lastModified) throws IOException {
+        Path file = project.resolve("src/main/java/com/acme").resolve(fileName);
+        Files.createDirectories(file.getParent());
+        Files.writeString(file, "package com.acme;\n\n" + body);
+        Files.setLastModifiedTime(file, FileTime.fromMillis(lastModified));
+        return file;
+    }
+}
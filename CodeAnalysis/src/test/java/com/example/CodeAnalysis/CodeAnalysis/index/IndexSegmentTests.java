@@ -0,0 +1,103 @@
+package com.example.CodeAnalysis.CodeAnalysis.index;
+
+import com.example.CodeAnalysis.CodeAnalysis.matcher.AhoCorasick;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class IndexSegmentTests {
+    // Terms are stored one char per byte of their UTF-8 form
+    private static final String NON_ASCII_TERM = new String("café".getBytes(StandardCharsets.UTF_8),
+            StandardCharsets.ISO_8859_1);
+
+    @TempDir
+    Path directory;
+
+    @Test
+    void readsBackWhatWasWritten() throws IOException {
+        SegmentWriter writer = new SegmentWriter();
+        int account = writer.addFile("/src/Account.java", 120, 1_000, 2_000);
+        int service = writer.addFile("/src/Überweisung.java", 340, 3_000, 4_000);
+        writer.addDeleted("/src/Removed.java");
+        writer.addPosting("accountnumber", account, 5 << 2 | 1);
+        writer.addPosting("accountnumber", account, 9 << 2);
+        writer.addPosting("accountnumber", service, 2 << 2 | 3);
+        writer.addPosting("zeta", service, 7 << 2);
+        writer.addPosting("account", account, 1 << 2);
+        writer.addPosting(NON_ASCII_TERM, service, 4 << 2);
+        Path file = directory.resolve("segment-1.seg");
+        writer.write(file, 42);
+
+        IndexSegment segment = IndexSegment.open(file);
+        assertThat(segment.sizeBytes()).isEqualTo(Files.size(file));
+        assertThat(segment.fileCount()).isEqualTo(3);
+        assertThat(segment.path(service)).isEqualTo("/src/Überweisung.java");
+        assertThat(segment.size(service)).isEqualTo(340);
+        assertThat(segment.lastModified(service)).isEqualTo(3_000);
+        assertThat(segment.indexedAt(service)).isEqualTo(4_000);
+        assertThat(segment.isDeleted(account)).isFalse();
+        assertThat(segment.path(2)).isEqualTo("/src/Removed.java");
+        assertThat(segment.isDeleted(2)).isTrue();
+
+        List<String> terms = new ArrayList<>();
+        for (int term = 0; term < segment.termCount(); term++) {
+            terms.add(segment.term(term));
+        }
+        assertThat(terms).containsExactly("account", "accountnumber", NON_ASCII_TERM, "zeta");
+        for (int term = 0; term < terms.size(); term++) {
+            assertThat(segment.findTerm(terms.get(term))).isEqualTo(term);
+        }
+        assertThat(segment.findTerm("accountnum")).isEqualTo(-1);
+        assertThat(segment.findTerm("zz")).isEqualTo(-1);
+        assertThat(segment.findTerm("")).isEqualTo(-1);
+
+        List<int[]> postings = new ArrayList<>();
+        segment.postings(segment.findTerm("accountnumber"), (fileId, position) -> postings.add(new int[]{fileId, position}));
+        assertThat(postings).containsExactly(new int[]{account, 5 << 2 | 1}, new int[]{account, 9 << 2},
+                new int[]{service, 2 << 2 | 3});
+
+        List<String> containing = new ArrayList<>();
+        segment.findTermsContaining(AhoCorasick.build(List.of("count", "et"), new int[2], false),
+                term -> containing.add(segment.term(term)));
+        assertThat(containing).containsExactly("account", "accountnumber", "zeta");
+    }
+
+    @Test
+    void writesAnEmptySegment() throws IOException {
+        Path file = directory.resolve("empty.seg");
+        new SegmentWriter().write(file, 0);
+
+        IndexSegment segment = IndexSegment.open(file);
+        assertThat(segment.fileCount()).isZero();
+        assertThat(segment.termCount()).isZero();
+        assertThat(segment.findTerm("account")).isEqualTo(-1);
+    }
+
+    @Test
+    void rejectsTruncatedAndForeignFiles() throws IOException {
+        SegmentWriter writer = new SegmentWriter();
+        writer.addPosting("account", writer.addFile("/src/Account.java", 1, 1, 1), 4);
+        Path file = directory.resolve("segment.seg");
+        writer.write(file, 0);
+
+        byte[] bytes = Files.readAllBytes(file);
+        Path truncated = Files.write(directory.resolve("truncated.seg"), Arrays.copyOf(bytes, bytes.length - 1));
+        assertThatThrownBy(() -> IndexSegment.open(truncated)).isInstanceOf(IOException.class)
+                .hasMessageContaining("Truncated");
+
+        bytes[0] ^= 1;
+        Path foreign = Files.write(directory.resolve("foreign.seg"), bytes);
+        assertThatThrownBy(() -> IndexSegment.open(foreign)).isInstanceOf(IOException.class)
+                .hasMessageContaining("Not an index segment");
+    }
+}
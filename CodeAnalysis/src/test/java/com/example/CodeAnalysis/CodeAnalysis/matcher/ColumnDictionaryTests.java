@@ -0,0 +1,80 @@
+package com.example.CodeAnalysis.CodeAnalysis.matcher;
+
+import com.example.CodeAnalysis.CodeAnalysis.model.ClassInfo;
+import com.example.CodeAnalysis.CodeAnalysis.model.SourceFacts;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class ColumnDictionaryTests {
+    private final ColumnDictionary dictionary = ColumnDictionary.build(List.of(entity(), service()));
+
+    @Test
+    void collectsColumnsFieldsAndQueryIdentifiers() {
+        assertThat(dictionary.expand("*")).containsExactly("account", "account_number", "account_type", "acct_id",
+                "balance", "branch_code", "created_at");
+        assertThat(dictionary.size()).isEqualTo(7);
+    }
+
+    @Test
+    void expandsGlobs() {
+        assertThat(dictionary.expand("acct_*")).containsExactly("acct_id");
+        assertThat(dictionary.expand("account_*")).containsExactly("account_number", "account_type");
+        assertThat(dictionary.expand("ACCOUNT_*")).containsExactly("account_number", "account_type");
+        assertThat(dictionary.expand("account*")).containsExactly("account", "account_number", "account_type");
+        assertThat(dictionary.expand("account_?ype")).containsExactly("account_type");
+        assertThat(dictionary.expand("glob:*_id")).containsExactly("acct_id");
+        assertThat(dictionary.expand("balance")).containsExactly("balance");
+        assertThat(dictionary.expand("bal")).isEmpty();
+        assertThat(dictionary.expand("missing_*")).isEmpty();
+    }
+
+    @Test
+    void expandsRegexes() {
+        assertThat(dictionary.expand("regex:.*_number$")).containsExactly("account_number");
+        assertThat(dictionary.expand("regex:_co")).containsExactly("branch_code");
+        assertThat(dictionary.expand("regex:^BAL")).containsExactly("balance");
+        assertThat(dictionary.expand("regex:^acc.*id$")).containsExactly("acct_id");
+    }
+
+    @Test
+    void narrowsRegexesOnlyByTheirRequiredPrefix() {
+        // The s is optional, so the prefix is account
+        assertThat(dictionary.expand("regex:^accounts?$")).containsExactly("account");
+        assertThat(dictionary.expand("regex:^account_*n")).containsExactly("account_number");
+        assertThat(dictionary.expand("regex:^bx{0}a")).containsExactly("balance");
+        // Alternatives and unanchored regexes search every name
+        assertThat(dictionary.expand("regex:^acct|^bal")).containsExactly("acct_id", "balance");
+        assertThat(dictionary.expand("regex:code")).containsExactly("branch_code");
+    }
+
+    @Test
+    void rejectsInvalidRegexes() {
+        assertThatThrownBy(() -> dictionary.expand("regex:(account"))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessageContaining("regex:(account");
+    }
+
+    private static SourceFacts entity() {
+        SourceFacts facts = new SourceFacts("/src/Account.java", new ClassInfo("Account", "com.acme",
+                "/src/Account.java", "Entity"));
+        facts.getFields().add(new SourceFacts.FieldFact(10, List.of("account_number"), List.of("accountNumber")));
+        facts.getFields().add(new SourceFacts.FieldFact(13, List.of(), List.of("accountType")));
+        facts.getFields().add(new SourceFacts.FieldFact(16, List.of("ACCT_ID"), List.of("acctId")));
+        facts.getFields().add(new SourceFacts.FieldFact(19, List.of(), List.of("createdAt")));
+        return facts;
+    }
+
+    private static SourceFacts service() {
+        SourceFacts facts = new SourceFacts("/src/AccountService.java", new ClassInfo("AccountService", "com.acme",
+                "/src/AccountService.java", "Service"));
+        // Not an entity: injected beans are not columns
+        facts.getFields().add(new SourceFacts.FieldFact(8, List.of(), List.of("accountRepository")));
+        facts.getQueries().add(new SourceFacts.QueryFact(12,
+                "SELECT a.account_number, a.balance FROM Account a WHERE a.branch_code = :branchCode"));
+        return facts;
+    }
+}
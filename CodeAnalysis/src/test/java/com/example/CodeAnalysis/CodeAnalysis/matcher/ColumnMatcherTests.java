@@ -0,0 +1,137 @@
+package com.example.CodeAnalysis.CodeAnalysis.matcher;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.BitSet;
+import java.util.List;
+import java.util.Random;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * The compiled matcher must agree with the per-column checks it replaced, which are
+ * kept below as the reference.
+ */
+class ColumnMatcherTests {
+    private static final List<String> COLUMNS = List.of("account_number", "user_id", "email", "a_b_c", "STATUS_CODE");
+    private static final String[] FRAGMENTS = {"account", "Account", "ACCOUNT", "_", "number", "Number", "user",
+            "User", "id", "Id", "ID", "email", "Email", "a", "b", "c", "B", "C", "status", "Status", "code", "Code",
+            "find", "By", "x", "q", " ", ".", "(", "'"};
+
+    private final ColumnMatcher matcher = new ColumnMatcher(COLUMNS);
+
+    @Test
+    void findsVariantsInText() {
+        assertThat(textMatches("SELECT a.account_number FROM account a")).isEqualTo(bits(0));
+        assertThat(textMatches("return user.getUserId() + ACCOUNTNUMBER;")).isEqualTo(bits(0, 1));
+        assertThat(textMatches("statuscode")).isEqualTo(bits(4));
+        assertThat(textMatches("status code")).isEqualTo(bits());
+    }
+
+    @Test
+    void findsCamelAndPascalFormsInMethodNames() {
+        assertThat(methodNameMatches("findByAccountNumber")).isEqualTo(bits(0));
+        assertThat(methodNameMatches("accountNumberChanged")).isEqualTo(bits(0));
+        assertThat(methodNameMatches("findByACCOUNTNUMBER")).isEqualTo(bits());
+    }
+
+    @Test
+    void matchesTheOldChecksOnRandomText() {
+        Random random = new Random(42);
+        for (int sample = 0; sample < 20_000; sample++) {
+            String text = randomText(random);
+            BitSet foundInText = textMatches(text);
+            BitSet methodNameMatches = methodNameMatches(text);
+            BitSet exactMatches = new BitSet();
+            matcher.findExact(text, exactMatches);
+
+            for (int column = 0; column < COLUMNS.size(); column++) {
+                String columnName = COLUMNS.get(column);
+                assertThat(foundInText.get(column)).as("text %s / %s", text, columnName)
+                        .isEqualTo(containsColumn(text, columnName));
+                assertThat(methodNameMatches.get(column)).as("method name %s / %s", text, columnName)
+                        .isEqualTo(containsColumnInMethodName(text, columnName));
+                assertThat(exactMatches.get(column)).as("identifier %s / %s", text, columnName)
+                        .isEqualTo(isColumnMatch(text, columnName));
+            }
+        }
+    }
+
+    private BitSet textMatches(String text) {
+        BitSet columns = new BitSet();
+        matcher.findInText(text, columns);
+        return columns;
+    }
+
+    private BitSet methodNameMatches(String methodName) {
+        BitSet columns = new BitSet();
+        matcher.findInMethodName(methodName, columns);
+        return columns;
+    }
+
+    private static BitSet bits(int... columns) {
+        BitSet bits = new BitSet();
+        for (int column : columns) {
+            bits.set(column);
+        }
+        return bits;
+    }
+
+    private static String randomText(Random random) {
+        StringBuilder text = new StringBuilder();
+        for (int fragments = 1 + random.nextInt(6); fragments > 0; fragments--) {
+            text.append(FRAGMENTS[random.nextInt(FRAGMENTS.length)]);
+        }
+        return text.toString();
+    }
+
+    // The checks SpringBootAnalyzer ran per column before the matcher was compiled
+
+    private static boolean containsColumnInMethodName(String methodName, String columnName) {
+        String camelCase = ColumnMatcher.toCamelCase(columnName);
+        String pascalCase = ColumnMatcher.toPascalCase(columnName);
+
+        return methodName.contains(camelCase) || methodName.contains(pascalCase);
+    }
+
+    private static boolean containsColumn(String text, String columnName) {
+        if (text == null || columnName == null) return false;
+
+        String lowerText = text.toLowerCase();
+        String lowerColumn = columnName.toLowerCase();
+
+        // Check for exact match
+        if (lowerText.contains(lowerColumn)) return true;
+
+        // Check for camelCase version
+        String camelCase = ColumnMatcher.toCamelCase(columnName);
+        if (lowerText.contains(camelCase.toLowerCase())) return true;
+
+        // Check for PascalCase version
+        String pascalCase = ColumnMatcher.toPascalCase(columnName);
+        if (lowerText.contains(pascalCase.toLowerCase())) return true;
+
+        return false;
+    }
+
+    private static boolean isColumnMatch(String fieldName, String columnName) {
+        if (fieldName == null || columnName == null) return false;
+
+        // Direct match
+        if (fieldName.equalsIgnoreCase(columnName)) return true;
+
+        // CamelCase match
+        String camelCase = ColumnMatcher.toCamelCase(columnName);
+        if (fieldName.equalsIgnoreCase(camelCase)) return true;
+
+        // PascalCase match
+        String pascalCase = ColumnMatcher.toPascalCase(columnName);
+        if (fieldName.equalsIgnoreCase(pascalCase)) return true;
+
+        // Snake case match
+        String snakeCase = fieldName.replaceAll("([a-z])([A-Z])", "$1_$2").toLowerCase();
+        if (snakeCase.equalsIgnoreCase(columnName)) return true;
+
+        return false;
+    }
+}
@@ -0,0 +1,138 @@
+package com.example.CodeAnalysis.CodeAnalysis.parser;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class SourceFilterTests {
+
+    @TempDir
+    Path workspace;
+
+    @Test
+    void translatesGitignorePatterns() throws IOException {
+        Path root = gitRoot("project");
+        write(root.resolve(".gitignore"), """
+                # comment
+                Generated*.java
+                /Root.java
+                gen/
+                legacy/*.java
+                !legacy/Keep.java
+                **/tmp/**
+                docs/**/Draft.java
+                Te?t.java
+                [AB]x.java
+                [!C]y.java
+                \\#Hash.java
+                Spaces.java  \s
+                """);
+        SourceFilter filter = new SourceFilter(root, true, true, "", "");
+
+        assertThat(filter.includes(root.resolve("GeneratedModel.java"))).isFalse();
+        assertThat(filter.includes(root.resolve("a/b/GeneratedModel.java"))).isFalse();
+        assertThat(filter.includes(root.resolve("Model.java"))).isTrue();
+
+        assertThat(filter.includes(root.resolve("Root.java"))).isFalse();
+        assertThat(filter.includes(root.resolve("a/Root.java"))).isTrue();
+
+        assertThat(filter.includesDirectory(root.resolve("gen"))).isFalse();
+        assertThat(filter.includes(root.resolve("a/gen/Model.java"))).isFalse();
+
+        assertThat(filter.includes(root.resolve("legacy/Old.java"))).isFalse();
+        assertThat(filter.includes(root.resolve("legacy/Keep.java"))).isTrue();
+        assertThat(filter.includes(root.resolve("a/legacy/Old.java"))).isTrue();
+
+        assertThat(filter.includes(root.resolve("a/tmp/Model.java"))).isFalse();
+        assertThat(filter.includes(root.resolve("tmp/x/Model.java"))).isFalse();
+
+        assertThat(filter.includes(root.resolve("docs/Draft.java"))).isFalse();
+        assertThat(filter.includes(root.resolve("docs/x/y/Draft.java"))).isFalse();
+        assertThat(filter.includes(root.resolve("a/docs/Draft.java"))).isTrue();
+
+        assertThat(filter.includes(root.resolve("Test.java"))).isFalse();
+        assertThat(filter.includes(root.resolve("Teest.java"))).isTrue();
+        assertThat(filter.includes(root.resolve("Ax.java"))).isFalse();
+        assertThat(filter.includes(root.resolve("Cx.java"))).isTrue();
+        assertThat(filter.includes(root.resolve("Dy.java"))).isFalse();
+        assertThat(filter.includes(root.resolve("Cy.java"))).isTrue();
+        assertThat(filter.includes(root.resolve("#Hash.java"))).isFalse();
+        assertThat(filter.includes(root.resolve("Spaces.java"))).isFalse();
+    }
+
+    @Test
+    void deeperIgnoreFilesApplyBelowTheirDirectory() throws IOException {
+        Path root = gitRoot("project");
+        write(root.resolve(".gitignore"), "Local.java\n");
+        write(root.resolve("sub/.gitignore"), "!Local.java\nShared.java\n");
+        write(root.resolve(".git/info/exclude"), "Excluded.java\n");
+        SourceFilter filter = new SourceFilter(root, true, true, "", "");
+
+        assertThat(filter.includes(root.resolve("Local.java"))).isFalse();
+        assertThat(filter.includes(root.resolve("sub/Local.java"))).isTrue();
+        assertThat(filter.includes(root.resolve("sub/Shared.java"))).isFalse();
+        assertThat(filter.includes(root.resolve("Shared.java"))).isTrue();
+        assertThat(filter.includes(root.resolve("sub/Excluded.java"))).isFalse();
+    }
+
+    @Test
+    void followsIgnoreFilesAboveTheRootInsideTheWorkTree() throws IOException {
+        Path top = gitRoot("repo");
+        Path root = top.resolve("modules/app");
+        Files.createDirectories(root);
+        write(top.resolve(".gitignore"), "Outer.java\n/modules/app/Anchored.java\n");
+        write(top.resolve("modules/.gitignore"), "Middle.java\n");
+        SourceFilter filter = new SourceFilter(root, true, true, "", "");
+
+        assertThat(filter.includes(root.resolve("src/Outer.java"))).isFalse();
+        assertThat(filter.includes(root.resolve("Anchored.java"))).isFalse();
+        assertThat(filter.includes(root.resolve("src/Anchored.java"))).isTrue();
+        assertThat(filter.includes(root.resolve("Middle.java"))).isFalse();
+        assertThat(filter.includes(root.resolve("Model.java"))).isTrue();
+
+        SourceFilter withoutGitignore = new SourceFilter(root, false, true, "", "");
+        assertThat(withoutGitignore.includes(root.resolve("src/Outer.java"))).isTrue();
+    }
+
+    @Test
+    void skipsBuildOutputOnlyNextToProjectFiles() throws IOException {
+        Path root = Files.createDirectories(workspace.resolve("project"));
+        write(root.resolve("pom.xml"), "<project/>\n");
+        Files.createDirectories(root.resolve("src/main/java/com/acme/build"));
+        SourceFilter filter = new SourceFilter(root, true, true, "", "");
+
+        assertThat(filter.includes(root.resolve("target/generated/Model.java"))).isFalse();
+        assertThat(filter.includes(root.resolve("node_modules/x/Model.java"))).isFalse();
+        assertThat(filter.includes(root.resolve("src/main/java/com/acme/build/Model.java"))).isTrue();
+        assertThat(new SourceFilter(root, true, false, "", "")
+                .includes(root.resolve("target/generated/Model.java"))).isTrue();
+    }
+
+    @Test
+    void appliesIncludeAndExcludeGlobs() {
+        Path root = workspace.resolve("project");
+        SourceFilter filter = new SourceFilter(root, false, true, "src/main/**", "**/*Test.java, **/internal/**");
+
+        assertThat(filter.includes(root.resolve("src/main/java/Model.java"))).isTrue();
+        assertThat(filter.includes(root.resolve("src/test/java/Model.java"))).isFalse();
+        assertThat(filter.includes(root.resolve("src/main/java/ModelTest.java"))).isFalse();
+        assertThat(filter.includes(root.resolve("src/main/java/internal/Model.java"))).isFalse();
+        assertThat(filter.includes(root.resolve("src/main/java/Model.txt"))).isFalse();
+    }
+
+    private Path gitRoot(String name) throws IOException {
+        Path root = workspace.resolve(name);
+        Files.createDirectories(root.resolve(".git"));
+        return root;
+    }
+
+    private static void write(Path file, String content) throws IOException {
+        Files.createDirectories(file.getParent());
+        Files.writeString(file, content);
+    }
+}
@@ -0,0 +1,164 @@
+package com.example.CodeAnalysis.CodeAnalysis.report;
+
+import com.example.CodeAnalysis.CodeAnalysis.model.ClassInfo;
+import com.example.CodeAnalysis.CodeAnalysis.model.ImpactResult;
+import com.example.CodeAnalysis.CodeAnalysis.service.CodeImpactAnalyzer;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.zip.GZIPInputStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * A streamed analysis must write the same classes and usages a retained one collects,
+ * between its header and end lines.
+ */
+@SpringBootTest(properties = "code-analysis.cache.enabled=false")
+class NdjsonResultWriterTests {
+
+    @Autowired
+    private NdjsonResultWriter ndjsonResultWriter;
+
+    @Autowired
+    private CodeImpactAnalyzer codeImpactAnalyzer;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @TempDir
+    Path project;
+
+    @Test
+    void streamsWhatTheAnalysisFinds() throws Exception {
+        write("Account.java", """
+                @Entity
+                public class Account {
+                    @Column(name = "account_number")
+                    private String accountNumber;
+                }
+                """);
+        write("AccountRepository.java", """
+                public interface AccountRepository extends JpaRepository<Account, Long> {
+                    List<Account> findByAccountNumber(String accountNumber);
+                }
+                """);
+        write("AccountService.java", """
+                @Service
+                public class AccountService {
+                    private final AccountRepository accountRepository;
+
+                    public AccountService(AccountRepository accountRepository) {
+                        this.accountRepository = accountRepository;
+                    }
+
+                    public List<Account> find(String accountNumber) {
+                        return accountRepository.findByAccountNumber(accountNumber);
+                    }
+                }
+                """);
+        write("AccountController.java", """
+                @RestController
+                public class AccountController {
+                    private final AccountService accountService;
+
+                    public AccountController(AccountService accountService) {
+                        this.accountService = accountService;
+                    }
+                }
+                """);
+        ImpactResult retained = codeImpactAnalyzer.analyzeOnly(project.toString(), "account_number");
+
+        for (boolean gzip : new boolean[]{false, true}) {
+            List<JsonNode> lines = stream(gzip);
+
+            assertThat(lines.get(0).get("type").asText()).isEqualTo("header");
+            assertThat(lines.get(0).get("data").get("columnName").asText()).isEqualTo("account_number");
+            assertThat(lines.get(0).get("data").get("projectPath").asText()).isEqualTo(project.toString());
+
+            List<String> classes = new ArrayList<>();
+            List<JsonNode> usages = new ArrayList<>();
+            for (JsonNode line : lines.subList(1, lines.size() - 1)) {
+                if (line.get("type").asText().equals("usage")) {
+                    usages.add(line.get("data"));
+                } else {
+                    classes.add(line.get("type").asText() + " " + line.get("data").get("className").asText());
+                }
+            }
+            assertThat(classes).containsExactlyInAnyOrderElementsOf(classLines(retained));
+            assertThat(usages).containsExactlyInAnyOrderElementsOf(
+                    objectMapper.valueToTree(retained.getColumnUsages()));
+
+            JsonNode end = lines.get(lines.size() - 1);
+            assertThat(end.get("type").asText()).isEqualTo("end");
+            assertThat(end.get("data").get("repositories").asInt()).isEqualTo(retained.getRepositories().size());
+            assertThat(end.get("data").get("entities").asInt()).isEqualTo(retained.getEntities().size());
+            assertThat(end.get("data").get("services").asInt()).isEqualTo(retained.getServices().size());
+            assertThat(end.get("data").get("controllers").asInt()).isEqualTo(retained.getControllers().size());
+            assertThat(end.get("data").get("totalImpactedClasses").asInt())
+                    .isEqualTo(retained.getTotalImpactedClasses());
+            assertThat(end.get("data").get("totalUsages").asInt()).isEqualTo(retained.getTotalUsages());
+            assertThat(end.get("data").get("stats").get("filesParsed").asLong()).isPositive();
+        }
+        assertThat(classLines(retained)).contains("controller AccountController", "entity Account");
+    }
+
+    @Test
+    void endsAFailedAnalysisWithAnErrorLine() throws Exception {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        try (NdjsonResultWriter.ResultStream stream = ndjsonResultWriter.open(out, false, "/missing", "x")) {
+            stream.fail("Analysis failed: boom");
+        }
+        List<JsonNode> lines = parse(new ByteArrayInputStream(out.toByteArray()));
+
+        assertThat(lines).extracting(line -> line.get("type").asText()).containsExactly("header", "error");
+        assertThat(lines.get(1).get("data").get("message").asText()).isEqualTo("Analysis failed: boom");
+    }
+
+    private List<JsonNode> stream(boolean gzip) throws IOException {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        try (NdjsonResultWriter.ResultStream stream =
+                     ndjsonResultWriter.open(out, gzip, project.toString(), "account_number")) {
+            stream.finish(codeImpactAnalyzer.streamOnly(project.toString(), "account_number", stream));
+        }
+        InputStream in = new ByteArrayInputStream(out.toByteArray());
+        return parse(gzip ? new GZIPInputStream(in) : in);
+    }
+
+    private List<JsonNode> parse(InputStream in) throws IOException {
+        List<JsonNode> lines = new ArrayList<>();
+        for (String line : new String(in.readAllBytes(), StandardCharsets.UTF_8).split("\n")) {
+            lines.add(objectMapper.readTree(line));
+        }
+        return lines;
+    }
+
+    private static List<String> classLines(ImpactResult result) {
+        List<String> lines = new ArrayList<>();
+        result.getRepositories().forEach(c -> lines.add("repository " + c.getClassName()));
+        result.getEntities().forEach(c -> lines.add("entity " + c.getClassName()));
+        result.getServices().forEach(c -> lines.add("service " + c.getClassName()));
+        result.getControllers().forEach(c -> lines.add("controller " + c.getClassName()));
+        result.getComponents().forEach(c -> lines.add("component " + c.getClassName()));
+        return lines;
+    }
+
+    private void write(String fileName, String body) throws Exception {
+        Path file = project.resolve("src/main/java/com/acme").resolve(fileName);
+        Files.createDirectories(file.getParent());
+        Files.writeString(file, "package com.acme;\n\n" + body);
+    }
+}
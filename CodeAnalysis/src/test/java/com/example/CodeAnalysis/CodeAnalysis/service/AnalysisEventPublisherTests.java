@@ -0,0 +1,112 @@
+package com.example.CodeAnalysis.CodeAnalysis.service;
+
+import com.example.CodeAnalysis.CodeAnalysis.model.AnalysisJob;
+import com.example.CodeAnalysis.CodeAnalysis.model.ClassInfo;
+import org.junit.jupiter.api.Test;
+import org.springframework.web.servlet.mvc.method.annotation.ResponseBodyEmitter;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class AnalysisEventPublisherTests {
+    private final AnalysisJob job = new AnalysisJob();
+
+    @Test
+    void replaysWhatWasFoundThenSendsQueuedEventsOnDrain() {
+        AnalysisEventPublisher publisher = new AnalysisEventPublisher(job, 100, Runnable::run);
+        publisher.phaseStarted("scan");
+        publisher.classImpacted("account_number", service("AccountService"));
+        RecordingEmitter emitter = new RecordingEmitter();
+
+        publisher.subscribe(emitter);
+        assertThat(emitter.events).containsExactly("phase", "impact AccountService", "progress");
+
+        publisher.classImpacted("account_number", service("AccountFacade"));
+        // Only queued: the analysis thread never writes to a client
+        assertThat(emitter.events).hasSize(3);
+
+        publisher.tick();
+        assertThat(emitter.events).endsWith("impact AccountFacade", "progress");
+
+        publisher.finish();
+        assertThat(emitter.events).endsWith("progress", "done");
+        assertThat(emitter.completed).isTrue();
+        assertThat(publisher.hasSubscribers()).isFalse();
+    }
+
+    @Test
+    void completesLaggingSubscribersWhoCanReconnect() {
+        AnalysisEventPublisher publisher = new AnalysisEventPublisher(job, 2, Runnable::run);
+        RecordingEmitter lagging = new RecordingEmitter();
+        publisher.subscribe(lagging);
+        for (String name : List.of("A", "B", "C")) {
+            publisher.classImpacted("account_number", service(name));
+        }
+
+        publisher.tick();
+        assertThat(lagging.completed).isTrue();
+        assertThat(lagging.events).containsExactly("progress");
+        assertThat(publisher.hasSubscribers()).isFalse();
+
+        RecordingEmitter reconnected = new RecordingEmitter();
+        publisher.subscribe(reconnected);
+        assertThat(reconnected.events).containsExactly("impact A", "impact B", "impact C", "progress");
+        assertThat(publisher.hasSubscribers()).isTrue();
+    }
+
+    @Test
+    void subscribersOfAFinishedJobGetTheReplayAndDone() {
+        AnalysisEventPublisher publisher = new AnalysisEventPublisher(job, 100, Runnable::run);
+        publisher.classImpacted("account_number", service("AccountService"));
+        publisher.finish();
+
+        RecordingEmitter emitter = new RecordingEmitter();
+        publisher.subscribe(emitter);
+        assertThat(emitter.events).containsExactly("impact AccountService", "progress", "done");
+        assertThat(emitter.completed).isTrue();
+        assertThat(publisher.hasSubscribers()).isFalse();
+    }
+
+    private static ClassInfo service(String className) {
+        return new ClassInfo(className, "com.acme", "/src/" + className + ".java", "Service");
+    }
+
+    /**
+     * Records the name of every event sent, with the class name of impacts.
+     */
+    private static class RecordingEmitter extends SseEmitter {
+        private static final Pattern EVENT = Pattern.compile("event:(\\w+)");
+
+        final List<String> events = new ArrayList<>();
+        boolean completed;
+
+        @Override
+        public void send(SseEventBuilder builder) {
+            StringBuilder event = new StringBuilder();
+            for (ResponseBodyEmitter.DataWithMediaType part : builder.build()) {
+                if (part.getData() instanceof Map<?, ?> data) {
+                    if (data.containsKey("className")) {
+                        event.append(' ').append(data.get("className"));
+                    }
+                } else {
+                    Matcher name = EVENT.matcher(part.getData().toString());
+                    if (name.find()) {
+                        event.insert(0, name.group(1));
+                    }
+                }
+            }
+            events.add(event.toString());
+        }
+
+        @Override
+        public void complete() {
+            completed = true;
+        }
+    }
+}
@@ -0,0 +1,133 @@
+package com.example.CodeAnalysis.CodeAnalysis.service;
+
+import com.example.CodeAnalysis.CodeAnalysis.model.AnalysisJob;
+import com.example.CodeAnalysis.CodeAnalysis.model.AnalysisStats;
+import com.example.CodeAnalysis.CodeAnalysis.model.ImpactResult;
+import com.example.CodeAnalysis.CodeAnalysis.tracker.AnalysisListener;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.nio.file.Path;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class AnalysisJobServiceTests {
+    private final CountDownLatch started = new CountDownLatch(1);
+    private final CountDownLatch release = new CountDownLatch(1);
+    private final AnalysisJobService service = new AnalysisJobService();
+
+    @TempDir
+    Path project;
+
+    @BeforeEach
+    void startWithOneWorkerAndOneQueueSlot() {
+        ReflectionTestUtils.setField(service, "threads", 1);
+        ReflectionTestUtils.setField(service, "queueCapacity", 1);
+        ReflectionTestUtils.setField(service, "history", 100);
+        ReflectionTestUtils.setField(service, "progressIntervalMs", 500L);
+        ReflectionTestUtils.setField(service, "subscriberQueue", 100);
+        ReflectionTestUtils.setField(service, "ioMode", "inline");
+        ReflectionTestUtils.setField(service, "codeImpactAnalyzer", new BlockingAnalyzer());
+        service.start();
+    }
+
+    @AfterEach
+    void shutdown() {
+        release.countDown();
+        service.shutdown();
+    }
+
+    @Test
+    void keysColumnsIgnoringOrderCaseAndRepeats() {
+        assertThat(AnalysisJobService.columnsKey(List.of("user_id", "Account_Number", "USER_ID")))
+                .isEqualTo("account_number,user_id");
+        assertThat(AnalysisJobService.columnsKey(List.of("account_number", "user_id")))
+                .isEqualTo(AnalysisJobService.columnsKey(List.of("USER_ID", "account_number")));
+    }
+
+    @Test
+    void returnsTheActiveJobForTheSameColumns() throws Exception {
+        AnalysisJob running = service.submit(project.toString(), List.of("account_number"));
+        assertThat(started.await(10, TimeUnit.SECONDS)).isTrue();
+        assertThat(service.submit(project.resolve(".").toString(), List.of("ACCOUNT_NUMBER"))).isSameAs(running);
+
+        AnalysisJob queued = service.submit(project.toString(), List.of("user_id", "account_number"));
+        assertThat(queued).isNotSameAs(running);
+        assertThat(service.submit(project.toString(), List.of("Account_Number", "user_id", "account_number")))
+                .isSameAs(queued);
+
+        release.countDown();
+        awaitDone(running);
+        awaitDone(queued);
+        // Finished jobs are not reused
+        AnalysisJob again = service.submit(project.toString(), List.of("account_number"));
+        assertThat(again).isNotSameAs(running);
+        awaitDone(again);
+        assertThat(service.list()).containsExactly(running, queued, again);
+    }
+
+    @Test
+    void rejectsJobsWhenTheQueueIsFull() throws Exception {
+        AnalysisJob running = service.submit(project.toString(), List.of("account_number"));
+        assertThat(started.await(10, TimeUnit.SECONDS)).isTrue();
+        AnalysisJob queued = service.submit(project.toString(), List.of("user_id"));
+
+        assertThatThrownBy(() -> service.submit(project.toString(), List.of("email")))
+                .isInstanceOf(IllegalStateException.class)
+                .hasMessageContaining("queue is full");
+        // A rejected job is forgotten, so the same request can be retried
+        assertThat(service.list()).containsExactly(running, queued);
+
+        release.countDown();
+        awaitDone(queued);
+        AnalysisJob retried = service.submit(project.toString(), List.of("email"));
+        awaitDone(retried);
+        assertThat(retried.getStatus()).isEqualTo(AnalysisJob.Status.COMPLETED);
+    }
+
+    private static void awaitDone(AnalysisJob job) throws InterruptedException {
+        long deadline = System.currentTimeMillis() + 10_000;
+        while (!job.isDone() && System.currentTimeMillis() < deadline) {
+            Thread.sleep(10);
+        }
+        assertThat(job.isDone()).as("job %s done", job.getId()).isTrue();
+    }
+
+    /**
+     * Holds every analysis until released, so jobs stay active while others are submitted.
+     */
+    private class BlockingAnalyzer extends CodeImpactAnalyzer {
+
+        @Override
+        public ImpactResult analyzeAndGenerateReport(String projectPath, String columnName, String outputFile,
+                                                     AnalysisStats stats, AnalysisListener listener) {
+            block();
+            return new ImpactResult();
+        }
+
+        @Override
+        public Map<String, ImpactResult> analyzeColumnsAndGenerateReport(String projectPath, List<String> columnNames,
+                                                                         String outputFile, AnalysisStats stats,
+                                                                         AnalysisListener listener) {
+            block();
+            return Map.of();
+        }
+
+        private void block() {
+            started.countDown();
+            try {
+                release.await(10, TimeUnit.SECONDS);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        }
+    }
+}
@@ -0,0 +1,83 @@
+package com.example.CodeAnalysis.CodeAnalysis.tracker;
+
+import com.example.CodeAnalysis.CodeAnalysis.model.ClassInfo;
+import com.example.CodeAnalysis.CodeAnalysis.model.SourceFacts;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class DependencyGraphTests {
+    private static final int REPOSITORY = 0;
+    private static final int SERVICE = 1;
+    private static final int AUDIT = 2;
+    private static final int CONTROLLER = 3;
+    private static final int HELPER_A = 4;
+    private static final int HELPER_B = 5;
+    private static final int HELPER_USER = 6;
+    private static final int SERVICE_IMPL = 7;
+    private static final int API = 8;
+
+    private final DependencyGraph graph = new DependencyGraph(List.of(
+            facts("com.acme", "AccountRepository", List.of(), List.of()),
+            facts("com.acme", "AccountService", List.of("AccountRepository", "AuditService"), List.of()),
+            // Cycle: AuditService and AccountService use each other
+            facts("com.acme", "AuditService", List.of("AccountService"), List.of()),
+            facts("com.acme", "AuditController", List.of("AuditService", "String"), List.of()),
+            facts("com.acme.a", "Helper", List.of("AccountService"), List.of()),
+            facts("com.acme.b", "Helper", List.of(), List.of()),
+            facts("com.acme.c", "HelperUser", List.of("Helper"), List.of()),
+            facts("com.acme", "AccountServiceImpl", List.of("AccountRepository"), List.of("AccountApi")),
+            facts("com.acme", "AccountApi", List.of(), List.of())));
+
+    @Test
+    void storesDependentsOfReferencesAndSupertypes() {
+        assertThat(graph.size()).isEqualTo(9);
+        // References resolve by simple name: HelperUser depends on both Helpers
+        assertThat(graph.edgeCount()).isEqualTo(9);
+    }
+
+    @Test
+    void recordsShortestDistancesAndPathsThroughCycles() {
+        DependencyGraph.Traversal traversal = graph.traverse(new int[]{REPOSITORY}, node -> true);
+
+        assertThat(traversal.getReachedNodes()).startsWith(REPOSITORY)
+                .containsExactlyInAnyOrder(REPOSITORY, SERVICE, SERVICE_IMPL, AUDIT, HELPER_A, API, CONTROLLER,
+                        HELPER_USER);
+        assertThat(traversal.distance(REPOSITORY)).isZero();
+        assertThat(traversal.distance(SERVICE)).isEqualTo(1);
+        assertThat(traversal.distance(AUDIT)).isEqualTo(2);
+        assertThat(traversal.distance(CONTROLLER)).isEqualTo(3);
+        assertThat(traversal.path(CONTROLLER)).containsExactly(REPOSITORY, SERVICE, AUDIT, CONTROLLER);
+        // The interface is impacted by its implementation
+        assertThat(traversal.path(API)).containsExactly(REPOSITORY, SERVICE_IMPL, API);
+
+        // Only the Helper that uses an impacted class is reached, its namesake is not
+        assertThat(traversal.path(HELPER_A)).containsExactly(REPOSITORY, SERVICE, HELPER_A);
+        assertThat(traversal.distance(HELPER_B)).isEqualTo(-1);
+        assertThat(traversal.path(HELPER_USER)).containsExactly(REPOSITORY, SERVICE, HELPER_A, HELPER_USER);
+    }
+
+    @Test
+    void startsFromTheNearestStartNodeAndStopsAtUnexpandedNodes() {
+        DependencyGraph.Traversal traversal = graph.traverse(new int[]{AUDIT, REPOSITORY, AUDIT},
+                node -> node != SERVICE);
+
+        assertThat(traversal.distance(AUDIT)).isZero();
+        assertThat(traversal.distance(SERVICE)).isEqualTo(1);
+        assertThat(traversal.path(CONTROLLER)).containsExactly(AUDIT, CONTROLLER);
+        // Reached only through AccountService, which passes nothing on
+        assertThat(traversal.distance(HELPER_A)).isEqualTo(-1);
+        assertThat(traversal.getReachedNodes()).doesNotContain(HELPER_A, HELPER_USER);
+    }
+
+    private static SourceFacts facts(String packageName, String className, List<String> referencedTypes,
+                                     List<String> supertypes) {
+        String path = "/src/" + packageName.replace('.', '/') + "/" + className + ".java";
+        SourceFacts facts = new SourceFacts(path, new ClassInfo(className, packageName, path, "Service"));
+        facts.getReferencedTypes().addAll(referencedTypes);
+        facts.getSupertypes().addAll(supertypes);
+        return facts;
+    }
+}
@@ -0,0 +1,128 @@
+package com.example.CodeAnalysis.CodeAnalysis.tracker;
+
+import com.example.CodeAnalysis.CodeAnalysis.model.ClassInfo;
+import com.example.CodeAnalysis.CodeAnalysis.model.ImpactResult;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.tuple;
+
+/**
+ * Every impacted class carries its distance from the nearest direct user of the
+ * column and the shortest chain of classes leading to it.
+ */
+@SpringBootTest(properties = "code-analysis.cache.enabled=false")
+class ImpactTrackerDepthTests {
+
+    @Autowired
+    private ImpactTracker impactTracker;
+
+    @TempDir
+    Path project;
+
+    @Test
+    void recordsDepthAndPathOfEveryImpactedClass() throws Exception {
+        write("com/acme", "Account.java", """
+                @Entity
+                public class Account {
+                    @Column(name = "account_number")
+                    private String accountNumber;
+                }
+                """);
+        // Entities pass nothing on, so neither of these is impacted through Account
+        write("com/acme", "Customer.java", """
+                @Entity
+                public class Customer {
+                    private Account account;
+                }
+                """);
+        write("com/acme", "CustomerService.java", """
+                @Service
+                public class CustomerService {
+                    private Customer customer;
+                }
+                """);
+        write("com/acme", "AccountRepository.java", """
+                public interface AccountRepository extends JpaRepository<Account, Long> {
+                    List<Account> findByAccountNumber(String accountNumber);
+                }
+                """);
+        // AccountService and AuditService depend on each other
+        write("com/acme", "AccountService.java", """
+                @Service
+                public class AccountService {
+                    private AccountRepository accountRepository;
+                    private AuditService auditService;
+                }
+                """);
+        write("com/acme", "AuditService.java", """
+                @Service
+                public class AuditService {
+                    private AccountService accountService;
+                }
+                """);
+        write("com/acme", "AuditController.java", """
+                @RestController
+                public class AuditController {
+                    private AuditService auditService;
+                }
+                """);
+        // Same simple name, different packages: only the first one uses an impacted class
+        write("com/acme/a", "Helper.java", """
+                @Component
+                public class Helper {
+                    private AccountService accountService;
+                }
+                """);
+        write("com/acme/b", "Helper.java", """
+                @Component
+                public class Helper {
+                    public String help() {
+                        return "help";
+                    }
+                }
+                """);
+
+        ImpactResult result = impactTracker.analyzeColumnsImpact(project.toString(), List.of("account_number"))
+                .get("account_number");
+
+        assertThat(impacted(result)).extracting(ClassInfo::getPackageName, ClassInfo::getClassName,
+                        ClassInfo::getImpactDepth, ClassInfo::getImpactPath)
+                .containsExactlyInAnyOrder(
+                        tuple("com.acme", "Account", 0, List.of("Account")),
+                        tuple("com.acme", "AccountRepository", 0, List.of("AccountRepository")),
+                        tuple("com.acme", "AccountService", 1, List.of("AccountRepository", "AccountService")),
+                        tuple("com.acme", "AuditService", 2,
+                                List.of("AccountRepository", "AccountService", "AuditService")),
+                        tuple("com.acme", "AuditController", 3,
+                                List.of("AccountRepository", "AccountService", "AuditService", "AuditController")),
+                        tuple("com.acme.a", "Helper", 2, List.of("AccountRepository", "AccountService", "Helper")));
+
+        Map<String, String> reasons = impacted(result).stream()
+                .collect(Collectors.toMap(ClassInfo::getClassName, ClassInfo::getImpactReason));
+        assertThat(reasons.get("AccountService")).isEqualTo("Indirect: Uses impacted repository AccountRepository");
+        assertThat(reasons.get("AuditController"))
+                .isEqualTo("Indirect: Uses impacted service AuditService (depth 3)");
+    }
+
+    private static List<ClassInfo> impacted(ImpactResult result) {
+        return Stream.of(result.getEntities(), result.getRepositories(), result.getServices(),
+                result.getControllers(), result.getComponents()).flatMap(List::stream).toList();
+    }
+
+    private void write(String directory, String fileName, String body) throws Exception {
+        Path file = project.resolve("src/main/java").resolve(directory).resolve(fileName);
+        Files.createDirectories(file.getParent());
+        Files.writeString(file, "package " + directory.replace('/', '.') + ";\n\n" + body);
+    }
+}
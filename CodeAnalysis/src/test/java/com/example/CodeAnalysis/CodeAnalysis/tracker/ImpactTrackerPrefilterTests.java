@@ -0,0 +1,236 @@
+package com.example.CodeAnalysis.CodeAnalysis.tracker;
+
+import com.example.CodeAnalysis.CodeAnalysis.index.IdentifierIndex;
+import com.example.CodeAnalysis.CodeAnalysis.model.ClassInfo;
+import com.example.CodeAnalysis.CodeAnalysis.model.ImpactResult;
+import com.example.CodeAnalysis.CodeAnalysis.parser.ProjectScanner;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.beans.BeanUtils;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * A prefiltered analysis must report exactly what a scan of the whole project does,
+ * whether its rounds test file bytes or take files from the identifier index.
+ */
+@SpringBootTest(properties = "code-analysis.cache.enabled=false")
+class ImpactTrackerPrefilterTests {
+
+    @Autowired
+    private ImpactTracker impactTracker;
+
+    @Autowired
+    private IdentifierIndex identifierIndex;
+
+    @Autowired
+    private ProjectScanner projectScanner;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @TempDir
+    Path project;
+
+    @TempDir
+    Path indexDirectory;
+
+    @AfterEach
+    void restoreSettings() {
+        ReflectionTestUtils.setField(impactTracker, "prefilterEnabled", true);
+        ReflectionTestUtils.setField(identifierIndex, "enabled", false);
+        ReflectionTestUtils.setField(projectScanner, "heldBytesBudget", 64L << 20);
+    }
+
+    @Test
+    void prefilterKeepsClassesReachedThroughInterfaces() throws Exception {
+        write("Account.java", """
+                @Entity
+                @Table(name = "account")
+                public class Account {
+                    @Id
+                    private Long id;
+
+                    @Column(name = "account_number")
+                    private String accountNumber;
+                }
+                """);
+        write("AccountRepository.java", """
+                public interface AccountRepository extends JpaRepository<Account, Long> {
+                    Account findByAccountNumber(String accountNumber);
+                }
+                """);
+        write("AccountService.java", """
+                public interface AccountService {
+                    Account find(String number);
+                }
+                """);
+        write("AccountServiceImpl.java", """
+                @Service
+                public class AccountServiceImpl implements AccountService {
+                    private final AccountRepository accountRepository;
+
+                    public AccountServiceImpl(AccountRepository accountRepository) {
+                        this.accountRepository = accountRepository;
+                    }
+
+                    public Account find(String number) {
+                        return accountRepository.findByAccountNumber(number);
+                    }
+                }
+                """);
+        // Only knows the interface, which never names its implementation
+        write("AccountController.java", """
+                @RestController
+                @RequestMapping("/accounts")
+                public class AccountController {
+                    private final AccountService accountService;
+
+                    public AccountController(AccountService accountService) {
+                        this.accountService = accountService;
+                    }
+
+                    @GetMapping("/{number}")
+                    public Account get(@PathVariable String number) {
+                        return accountService.find(number);
+                    }
+                }
+                """);
+        write("PingController.java", """
+                @RestController
+                public class PingController {
+                    @GetMapping("/ping")
+                    public String ping() {
+                        return "pong";
+                    }
+                }
+                """);
+
+        for (boolean indexed : new boolean[]{false, true}) {
+            Map<String, ImpactResult> prefiltered = assertPrefilterChangesNothing(indexed);
+            assertThat(prefiltered.get("account_number").getControllers())
+                    .extracting(ClassInfo::getClassName).containsExactly("AccountController");
+        }
+    }
+
+    @Test
+    void prefilterFollowsChainsAcrossRounds() throws Exception {
+        write("Account.java", """
+                @Entity
+                public class Account {
+                    @Column(name = "account_number")
+                    private String accountNumber;
+                }
+                """);
+        write("AccountRepository.java", """
+                public interface AccountRepository extends JpaRepository<Account, Long> {
+                    List<Account> findByAccountNumber(String accountNumber);
+                }
+                """);
+        write("AccountService.java", """
+                @Service
+                public class AccountService {
+                    private final AccountRepository accountRepository;
+
+                    public AccountService(AccountRepository accountRepository) {
+                        this.accountRepository = accountRepository;
+                    }
+                }
+                """);
+        write("AccountFacade.java", """
+                @Component
+                public class AccountFacade {
+                    private final AccountService accountService;
+
+                    public AccountFacade(AccountService accountService) {
+                        this.accountService = accountService;
+                    }
+                }
+                """);
+        write("AccountController.java", """
+                @RestController
+                public class AccountController {
+                    private final AccountFacade accountFacade;
+
+                    public AccountController(AccountFacade accountFacade) {
+                        this.accountFacade = accountFacade;
+                    }
+                }
+                """);
+        // Large enough to be tested memory-mapped rather than read
+        write("AccountReport.java", """
+                @Component
+                public class AccountReport {
+                    private final AccountFacade accountFacade;
+
+                    public AccountReport(AccountFacade accountFacade) {
+                        this.accountFacade = accountFacade;
+                    }
+                """ + "    // padding\n".repeat(8_000) + "}\n");
+        write("AuditLog.java", """
+                @Component
+                public class AuditLog {
+                    public void record(String message) {
+                    }
+                }
+                """);
+
+        // Without a budget for held bytes, every ruled-out file is read again in later rounds
+        for (long heldBytesBudget : new long[]{64L << 20, 0}) {
+            ReflectionTestUtils.setField(projectScanner, "heldBytesBudget", heldBytesBudget);
+            for (boolean indexed : new boolean[]{false, true}) {
+                Map<String, ImpactResult> prefiltered = assertPrefilterChangesNothing(indexed);
+                assertThat(prefiltered.get("account_number").getControllers())
+                        .extracting(ClassInfo::getClassName).containsExactly("AccountController");
+                assertThat(prefiltered.get("account_number").getComponents())
+                        .extracting(ClassInfo::getClassName).containsExactlyInAnyOrder("AccountFacade", "AccountReport");
+                assertThat(prefiltered.get("account_number").getStats().isSinglePass()).isTrue();
+            }
+        }
+    }
+
+    private Map<String, ImpactResult> assertPrefilterChangesNothing(boolean indexed) throws Exception {
+        ReflectionTestUtils.setField(identifierIndex, "enabled", indexed);
+        ReflectionTestUtils.setField(identifierIndex, "directory", indexDirectory.toString());
+        String full = objectMapper.writeValueAsString(withoutTimings(analyze(false)));
+        Map<String, ImpactResult> prefiltered = analyze(true);
+        assertThat(objectMapper.writeValueAsString(withoutTimings(prefiltered))).as("indexed %s", indexed)
+                .isEqualTo(full);
+        return prefiltered;
+    }
+
+    private Map<String, ImpactResult> analyze(boolean prefilter) {
+        ReflectionTestUtils.setField(impactTracker, "prefilterEnabled", prefilter);
+        return impactTracker.analyzeColumnsImpact(project.toString(), List.of("account_number"));
+    }
+
+    private static Map<String, ImpactResult> withoutTimings(Map<String, ImpactResult> results) {
+        Map<String, ImpactResult> copies = new LinkedHashMap<>();
+        results.forEach((column, result) -> {
+            ImpactResult copy = new ImpactResult();
+            BeanUtils.copyProperties(result, copy);
+            copy.setAnalysisTimeMs(0);
+            copy.setAnalysisDate(null);
+            copy.setStats(null);
+            copies.put(column, copy);
+        });
+        return copies;
+    }
+
+    private void write(String fileName, String body) throws Exception {
+        Path file = project.resolve("src/main/java/com/acme").resolve(fileName);
+        Files.createDirectories(file.getParent());
+        Files.writeString(file, "package com.acme;\n\n" + body);
+    }
+}